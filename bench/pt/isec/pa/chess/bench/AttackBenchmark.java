@@ -0,0 +1,57 @@
+package pt.isec.pa.chess.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.GameResult;
+import pt.isec.pa.chess.model.data.Square;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attack and game-state queries: Board.isSquareUnderAttack over all 64 squares,
+ * ChessGame.isPlayerInCheck and ChessGame.getGameResult.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AttackBenchmark {
+
+    private ChessGame game;
+    private Board board;
+    private Square[] squares;
+
+    @Setup
+    public void setUp(BenchPositions positions) {
+        game = positions.game;
+        board = game.getBoard();
+        squares = new Square[64];
+        for (int i = 0; i < 64; i++) {
+            squares[i] = Square.of(i);
+        }
+    }
+
+    @Benchmark
+    public int isSquareUnderAttack() {
+        int attacked = 0;
+        for (Square square : squares) {
+            if (board.isSquareUnderAttack(square, true)) {
+                attacked++;
+            }
+        }
+        return attacked;
+    }
+
+    @Benchmark
+    public boolean isPlayerInCheck() {
+        return game.isPlayerInCheck(true) | game.isPlayerInCheck(false);
+    }
+
+    @Benchmark
+    public GameResult getGameResult() {
+        return game.getGameResult();
+    }
+}
@@ -0,0 +1,23 @@
+package pt.isec.pa.chess.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of the model hot paths with the GC profiler
+ * (allocation rate per operation is reported as gc.alloc.rate.norm).
+ * Run with: java pt.isec.pa.chess.bench.BenchMain [regex]
+ * e.g. "AttackBenchmark" or "PieceMovesBenchmark.generateMoves"; default runs everything.
+ */
+public class BenchMain {
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "pt\\.isec\\.pa\\.chess\\.bench\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
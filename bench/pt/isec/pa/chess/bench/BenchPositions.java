@@ -0,0 +1,39 @@
+package pt.isec.pa.chess.bench;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pt.isec.pa.chess.model.data.ChessGame;
+
+/**
+ * Fixed opening, middlegame and endgame positions shared by the JMH benchmarks.
+ */
+@State(Scope.Thread)
+public class BenchPositions {
+
+    public static final String OPENING = "rnbqkb1r/pp2pppp/3p1n2/8/3NP3/8/PPP2PPP/RNBQKB1R w KQkq - 1 5";
+    public static final String MIDDLEGAME = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    public static final String ENDGAME = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+
+    @Param({"opening", "middlegame", "endgame"})
+    public String position;
+
+    public ChessGame game;
+
+    @Setup
+    public void setUpPosition() {
+        game = load(position);
+    }
+
+    public static ChessGame load(String name) {
+        ChessGame game = new ChessGame();
+        game.importFen(switch (name) {
+            case "opening" -> OPENING;
+            case "middlegame" -> MIDDLEGAME;
+            case "endgame" -> ENDGAME;
+            default -> throw new IllegalArgumentException("Unknown position: " + name);
+        });
+        return game;
+    }
+}
@@ -0,0 +1,40 @@
+package pt.isec.pa.chess.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.engine.Evaluator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Static evaluation of a leaf: the incremental tapered score kept by the board versus
+ * recomputing the piece-square sums over all 64 squares.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EvaluationBenchmark {
+
+    private Board board;
+
+    @Setup
+    public void setUp(BenchPositions positions) {
+        board = positions.game.getBoard();
+        if (Evaluator.evaluateFull(board) != (board.isWhiteToMove() ? 1 : -1) * Evaluator.evaluate(board)) {
+            throw new IllegalStateException("Incremental and full evaluation disagree");
+        }
+    }
+
+    @Benchmark
+    public int incremental() {
+        return Evaluator.evaluate(board);
+    }
+
+    @Benchmark
+    public int full() {
+        return Evaluator.evaluateFull(board);
+    }
+}
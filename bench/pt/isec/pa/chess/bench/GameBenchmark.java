@@ -0,0 +1,139 @@
+package pt.isec.pa.chess.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pt.isec.pa.chess.model.data.Bitboards;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.MoveGenerator;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Moves;
+import pt.isec.pa.chess.model.data.Square;
+import pt.isec.pa.chess.model.data.UndoInfo;
+import pt.isec.pa.chess.model.data.memento.IMemento;
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-game operations: ChessGame.move, Memento save/restore and CSV export/import.
+ * move() is measured as a cycle of four moves (one quiet piece move per side and back)
+ * that returns to the starting position, so no per-invocation setup is needed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    private ChessGame game;
+    private final Square[] cycle = new Square[8];
+    private String exported;
+
+    @Setup
+    public void setUp(BenchPositions positions) {
+        game = positions.game;
+        if (!findCycle()) {
+            throw new IllegalStateException("No reversible move cycle in " + positions.position);
+        }
+        moveCycle(); // the first cycle sets the moved flags; later ones leave the position unchanged
+        exported = game.exportGame();
+    }
+
+    @Benchmark
+    public boolean move() {
+        return moveCycle();
+    }
+
+    @Benchmark
+    public ChessGame mementoSaveRestore() {
+        IMemento memento = game.save();
+        game.restore(memento);
+        return game;
+    }
+
+    @Benchmark
+    public String exportGame() {
+        return game.exportGame();
+    }
+
+    @Benchmark
+    public ChessGame importGame() {
+        game.importGame(exported);
+        return game;
+    }
+
+    private boolean moveCycle() {
+        boolean ok = true;
+        for (int i = 0; i < cycle.length; i += 2) {
+            ok &= game.move(cycle[i], cycle[i + 1]);
+        }
+        if (!ok) {
+            throw new IllegalStateException("Move cycle failed");
+        }
+        return ok;
+    }
+
+    /**
+     * Looks for quiet non-pawn moves a (side to move) and b (opponent) such that
+     * a, b, a reversed, b reversed are all legal.
+     */
+    private boolean findCycle() {
+        MoveList ours = new MoveList();
+        MoveList theirs = new MoveList();
+        boolean white = game.getBoard().isWhiteToMove();
+        MoveGenerator.generateLegalMoves(game.getBoard(), white, ours);
+        for (int i = 0; i < ours.size(); i++) {
+            int a = ours.get(i);
+            if (!isQuietPieceMove(a)) {
+                continue;
+            }
+            UndoInfo undoA = game.makeMove(a);
+            theirs.clear();
+            MoveGenerator.generateLegalMoves(game.getBoard(), !white, theirs);
+            for (int j = 0; j < theirs.size(); j++) {
+                int b = theirs.get(j);
+                if (isQuietPieceMove(b) && reversible(a, b)) {
+                    game.unmakeMove(undoA);
+                    int[] moves = {a, b, reverse(a), reverse(b)};
+                    for (int k = 0; k < moves.length; k++) {
+                        cycle[2 * k] = Square.of(Moves.from(moves[k]));
+                        cycle[2 * k + 1] = Square.of(Moves.to(moves[k]));
+                    }
+                    return true;
+                }
+            }
+            game.unmakeMove(undoA);
+        }
+        return false;
+    }
+
+    private boolean reversible(int a, int b) {
+        UndoInfo undoB = game.makeMove(b);
+        boolean ok = isLegal(reverse(a));
+        if (ok) {
+            UndoInfo undoBackA = game.makeMove(reverse(a));
+            ok = isLegal(reverse(b));
+            game.unmakeMove(undoBackA);
+        }
+        game.unmakeMove(undoB);
+        return ok;
+    }
+
+    private boolean isLegal(int move) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(game.getBoard(), Moves.from(move), moves);
+        return moves.contains(move);
+    }
+
+    private boolean isQuietPieceMove(int move) {
+        Piece piece = game.getBoard().getPieceAt(Bitboards.column(Moves.from(move)), Bitboards.row(Moves.from(move)));
+        return move == Moves.encode(Moves.from(move), Moves.to(move), Moves.NONE)
+                && piece.getType() != PieceType.PAWN;
+    }
+
+    private static int reverse(int move) {
+        return Moves.encode(Moves.to(move), Moves.from(move), Moves.NONE);
+    }
+}
@@ -0,0 +1,63 @@
+package pt.isec.pa.chess.bench;
+
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.engine.LazySmpSearch;
+import pt.isec.pa.chess.model.engine.SearchLimits;
+import pt.isec.pa.chess.model.perft.PerftSuite;
+
+import java.util.Arrays;
+
+/**
+ * Time-to-depth of the Lazy SMP search for 1, 2, 4, 8 and 16 threads on the perft reference positions,
+ * with per-thread node counts. Each run starts from an empty transposition table.
+ * Run with: java pt.isec.pa.chess.bench.LazySmpBenchmark [depth] [threads,...] [megabytes]
+ */
+public class LazySmpBenchmark {
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        int[] threadCounts = args.length > 1
+                ? Arrays.stream(args[1].split(",")).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1, 2, 4, 8, 16};
+        int megabytes = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        // Warm up the JIT on a shallow search
+        try (LazySmpSearch search = new LazySmpSearch(2, 1)) {
+            for (int i = 0; i < 5; i++) {
+                search.findBestMove(game(PerftSuite.find("kiwipete").fen()), SearchLimits.depth(4));
+            }
+        }
+
+        System.out.printf("%d processors, depth %d%n", Runtime.getRuntime().availableProcessors(), depth);
+        double baseline = 0;
+        for (int threads : threadCounts) {
+            long totalNanos = 0;
+            long totalNodes = 0;
+            for (PerftSuite.Position position : PerftSuite.positions()) {
+                ChessGame game = game(position.fen());
+                try (LazySmpSearch search = new LazySmpSearch(threads, megabytes)) {
+                    long start = System.nanoTime();
+                    search.findBestMove(game, SearchLimits.depth(depth));
+                    long nanos = System.nanoTime() - start;
+                    totalNanos += nanos;
+                    totalNodes += search.getTotalNodes();
+                    System.out.printf("  %2d threads %-10s %8.3f s  %-6s nodes per thread %s%n", threads,
+                            position.name(), nanos / 1e9, search.getLastInfo().bestMove(),
+                            Arrays.toString(search.getThreadNodes()));
+                }
+            }
+            if (baseline == 0) {
+                baseline = totalNanos;
+            }
+            System.out.printf("%2d threads: %8.3f s to depth %d, %,d nodes, %,.0f nps, speedup %.2fx%n%n",
+                    threads, totalNanos / 1e9, depth, totalNodes, totalNodes * 1e9 / totalNanos,
+                    baseline / totalNanos);
+        }
+    }
+
+    private static ChessGame game(String fen) {
+        ChessGame game = new ChessGame();
+        game.importFen(fen);
+        return game;
+    }
+}
@@ -0,0 +1,56 @@
+package pt.isec.pa.chess.bench;
+
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.engine.SearchEngine;
+import pt.isec.pa.chess.model.engine.SearchLimits;
+import pt.isec.pa.chess.model.engine.TranspositionTable;
+import pt.isec.pa.chess.model.perft.PerftSuite;
+
+/**
+ * Nodes needed by the search to reach a fixed depth with and without move ordering
+ * (hash move, MVV-LVA, killers, history) on the perft reference positions, with the first-move cutoff rate.
+ * Run with: java pt.isec.pa.chess.bench.MoveOrderingBenchmark [depth] [megabytes]
+ */
+public class MoveOrderingBenchmark {
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int megabytes = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+
+        // Warm up the JIT on a shallow search
+        for (int i = 0; i < 5; i++) {
+            ChessGame game = new ChessGame();
+            game.importFen(PerftSuite.find("kiwipete").fen());
+            new SearchEngine(new TranspositionTable(1)).findBestMove(game, SearchLimits.depth(3));
+        }
+
+        System.out.printf("%-10s %14s %9s %7s %14s %9s %7s %9s%n", "position",
+                "unordered", "s", "first", "ordered", "s", "first", "reduction");
+        long totalUnordered = 0;
+        long totalOrdered = 0;
+        for (PerftSuite.Position position : PerftSuite.positions()) {
+            ChessGame game = new ChessGame();
+            game.importFen(position.fen());
+
+            SearchEngine unordered = new SearchEngine(new TranspositionTable(megabytes));
+            unordered.setMoveOrdering(false);
+            long start = System.nanoTime();
+            unordered.findBestMove(game, SearchLimits.depth(depth));
+            long unorderedNanos = System.nanoTime() - start;
+
+            SearchEngine ordered = new SearchEngine(new TranspositionTable(megabytes));
+            start = System.nanoTime();
+            ordered.findBestMove(game, SearchLimits.depth(depth));
+            long orderedNanos = System.nanoTime() - start;
+
+            totalUnordered += unordered.getNodes();
+            totalOrdered += ordered.getNodes();
+            System.out.printf("%-10s %,14d %9.3f %6.1f%% %,14d %9.3f %6.1f%% %8.1f%%%n", position.name(),
+                    unordered.getNodes(), unorderedNanos / 1e9, unordered.getFirstMoveCutoffRate() * 100,
+                    ordered.getNodes(), orderedNanos / 1e9, ordered.getFirstMoveCutoffRate() * 100,
+                    100.0 * (1 - (double) ordered.getNodes() / unordered.getNodes()));
+        }
+        System.out.printf("depth %d: %,d -> %,d nodes (%.1f%% fewer)%n", depth, totalUnordered, totalOrdered,
+                100.0 * (1 - (double) totalOrdered / totalUnordered));
+    }
+}
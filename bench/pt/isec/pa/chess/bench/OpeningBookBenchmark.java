@@ -0,0 +1,95 @@
+package pt.isec.pa.chess.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pt.isec.pa.chess.model.book.BookMove;
+import pt.isec.pa.chess.model.book.OpeningBook;
+import pt.isec.pa.chess.model.book.OpeningBookBuilder;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.MoveGenerator;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Moves;
+import pt.isec.pa.chess.model.data.UndoInfo;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opening book lookups on a book of random games: a position in the book (binary search plus
+ * resolving the moves against the legal ones), a key that is not in the book, and opening and closing
+ * the file, which only maps and unmaps it and so does not grow with the book.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OpeningBookBenchmark {
+
+    @Param({"1000", "100000"})
+    public int games;
+
+    private Path file;
+    private OpeningBook book;
+    private Board inBook;
+    private long missingKey;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder text = new StringBuilder();
+        Random random = new Random(42);
+        MoveList moves = new MoveList();
+        UndoInfo undo = new UndoInfo();
+        for (int game = 0; game < games; game++) {
+            Board board = new Board();
+            for (int ply = 0; ply < 16; ply++) {
+                moves.clear();
+                MoveGenerator.generateLegalMoves(board, board.isWhiteToMove(), moves);
+                if (moves.isEmpty()) {
+                    break;
+                }
+                int move = moves.get(random.nextInt(moves.size()));
+                text.append(Moves.toString(move)).append(' ');
+                board.makeMove(move, undo);
+            }
+            text.append('\n');
+        }
+        OpeningBookBuilder builder = new OpeningBookBuilder(16);
+        builder.addGames(new StringReader(text.toString()), true);
+        file = Files.createTempFile("book", ".bin");
+        builder.write(file);
+        book = OpeningBook.open(file);
+        inBook = new Board();
+        missingKey = random.nextLong();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        book.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<BookMove> lookup() {
+        return book.getMoves(inBook);
+    }
+
+    @Benchmark
+    public boolean miss() {
+        return book.contains(missingKey);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int openAndClose() throws IOException {
+        // Closed on every call: an open book keeps its mapping, and the process can only have so many
+        try (OpeningBook opened = OpeningBook.open(file)) {
+            return opened.size();
+        }
+    }
+}
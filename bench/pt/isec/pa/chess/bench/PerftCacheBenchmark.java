@@ -0,0 +1,47 @@
+package pt.isec.pa.chess.bench;
+
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.perft.Perft;
+import pt.isec.pa.chess.model.perft.PerftCache;
+import pt.isec.pa.chess.model.perft.PerftResult;
+import pt.isec.pa.chess.model.perft.PerftSuite;
+
+/**
+ * Compares plain perft against perft with a PerftCache on the bundled reference positions,
+ * reporting the hash hit rate and the speedup.
+ * Run with: java pt.isec.pa.chess.bench.PerftCacheBenchmark [depth] [megabytes]
+ */
+public class PerftCacheBenchmark {
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int megabytes = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+
+        // Warm up the JIT on a small search
+        for (int i = 0; i < 5; i++) {
+            ChessGame game = new ChessGame();
+            game.importFen(PerftSuite.find("kiwipete").fen());
+            new Perft(game).count(3);
+            new Perft(game.getBoard(), new PerftCache(1)).count(3);
+        }
+
+        System.out.printf("%-10s %5s %15s %10s %10s %8s %8s%n",
+                "position", "depth", "nodes", "plain s", "cached s", "hits", "speedup");
+        for (PerftSuite.Position position : PerftSuite.positions()) {
+            int d = Math.min(depth, position.maxDepth());
+            ChessGame game = new ChessGame();
+            game.importFen(position.fen());
+
+            PerftResult plain = new Perft(game).run(d);
+            PerftCache cache = new PerftCache(megabytes);
+            PerftResult cached = new Perft(game.getBoard(), cache).run(d);
+            if (plain.nodes() != cached.nodes() || plain.nodes() != position.expected(d)) {
+                throw new IllegalStateException(position.name() + ": plain " + plain.nodes()
+                        + ", cached " + cached.nodes() + ", expected " + position.expected(d));
+            }
+            System.out.printf("%-10s %5d %,15d %10.3f %10.3f %7.1f%% %7.1fx%n", position.name(), d, plain.nodes(),
+                    plain.nanos() / 1e9, cached.nanos() / 1e9, cache.getHitRate() * 100,
+                    (double) plain.nanos() / cached.nanos());
+        }
+    }
+}
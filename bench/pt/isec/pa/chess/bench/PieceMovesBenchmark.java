@@ -0,0 +1,62 @@
+package pt.isec.pa.chess.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Piece.getMoves (the UI adapter) and Piece.generateMoves (the allocation-free path)
+ * for every piece of one type in the position.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PieceMovesBenchmark {
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    public PieceType type;
+
+    private Board board;
+    private Piece[] pieces;
+    private final MoveList moves = new MoveList();
+
+    @Setup
+    public void setUp(BenchPositions positions) {
+        board = positions.game.getBoard();
+        ArrayList<Piece> found = new ArrayList<>();
+        for (int col = 0; col < 8; col++) {
+            for (int row = 0; row < 8; row++) {
+                Piece piece = board.getPieceAt(col, row);
+                if (piece != null && piece.getType() == type) {
+                    found.add(piece);
+                }
+            }
+        }
+        pieces = found.toArray(new Piece[0]);
+    }
+
+    @Benchmark
+    public void getMoves(Blackhole bh) {
+        for (Piece piece : pieces) {
+            bh.consume(piece.getMoves(board));
+        }
+    }
+
+    @Benchmark
+    public int generateMoves() {
+        moves.clear();
+        for (Piece piece : pieces) {
+            piece.generateMoves(board, moves);
+        }
+        return moves.size();
+    }
+}
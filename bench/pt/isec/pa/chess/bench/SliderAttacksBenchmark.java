@@ -0,0 +1,146 @@
+package pt.isec.pa.chess.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pt.isec.pa.chess.model.data.Bitboards;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Square;
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+import pt.isec.pa.chess.model.data.pieces.SliderAttacks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the magic-bitboard slider attacks against the square-by-square ray walk
+ * that Rook/Bishop/Queen.getMoves used before. Each operation covers every rook, bishop
+ * and queen of three positions (opening, middlegame and a heavy-piece endgame).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SliderAttacksBenchmark {
+
+    private static final String[] POSITIONS = {
+        "WHITE,ra8,nb8,bc8,qd8,ke8,bf8,ng8,rh8,pa7,pb7,pc7,pd7,pe7,pf7,pg7,ph7,"
+            + "Pa2,Pb2,Pc2,Pd2,Pe2,Pf2,Pg2,Ph2,Ra1,Nb1,Bc1,Qd1,Ke1,Bf1,Ng1,Rh1",
+        "WHITE,ra8*,ke8,rh8,pa7,pc7*,pd7,qe7*,pf7,bg7*,ba6*,ne6*,pg6*,pb4*,nf6*,pe4*,ph3*,"
+            + "Pd5*,Pe5*,Nc3*,Qf3*,Pg2,Pa2,Pb2,Pc2,Bd2*,Be2*,Pf2,Ph2,Ra1,Ke1,Rh1",
+        "BLACK,kg8*,rf8*,pf7,pg7,ph7,qd5*,bc6*,Pe4*,Nc3*,Bd3*,Qd2*,Pf2,Pg2,Ph2,Rf1*,Kg1*"
+    };
+
+    private Piece[] sliders;
+    private Board[] boards;
+    private int[] squares;
+
+    @Setup
+    public void setUp() {
+        ArrayList<Piece> pieces = new ArrayList<>();
+        ArrayList<Board> owners = new ArrayList<>();
+        for (String position : POSITIONS) {
+            ChessGame game = new ChessGame();
+            game.importGame(position);
+            Board board = game.getBoard();
+            for (int col = 0; col < 8; col++) {
+                for (int row = 0; row < 8; row++) {
+                    Piece piece = board.getPieceAt(col, row);
+                    if (piece != null && (piece.getType() == PieceType.ROOK
+                            || piece.getType() == PieceType.BISHOP || piece.getType() == PieceType.QUEEN)) {
+                        pieces.add(piece);
+                        owners.add(board);
+                    }
+                }
+            }
+        }
+        sliders = pieces.toArray(new Piece[0]);
+        boards = owners.toArray(new Board[0]);
+        squares = new int[sliders.length];
+        for (int i = 0; i < sliders.length; i++) {
+            squares[i] = Bitboards.index(sliders[i].getPosition().column(), sliders[i].getPosition().row());
+        }
+    }
+
+    // Legacy ray walk: getPieceAt on every square of the rays, collected into Square lists
+    @Benchmark
+    public void rayWalk(Blackhole bh) {
+        for (int i = 0; i < sliders.length; i++) {
+            bh.consume(legacyMoves(sliders[i], boards[i]));
+        }
+    }
+
+    // Piece.getMoves, which now builds its list from the magic attacks
+    @Benchmark
+    public void getMoves(Blackhole bh) {
+        for (int i = 0; i < sliders.length; i++) {
+            bh.consume(sliders[i].getMoves(boards[i]));
+        }
+    }
+
+    // Attack sets only, walking each ray on the bitboard
+    @Benchmark
+    public void rayBitboards(Blackhole bh) {
+        for (int i = 0; i < sliders.length; i++) {
+            int square = squares[i];
+            long occupied = boards[i].occupied();
+            bh.consume(switch (sliders[i].getType()) {
+                case ROOK -> Bitboards.rookRayAttacks(square, occupied);
+                case BISHOP -> Bitboards.bishopRayAttacks(square, occupied);
+                default -> Bitboards.rookRayAttacks(square, occupied) | Bitboards.bishopRayAttacks(square, occupied);
+            });
+        }
+    }
+
+    // Attack sets only, with the magic lookup
+    @Benchmark
+    public void magic(Blackhole bh) {
+        for (int i = 0; i < sliders.length; i++) {
+            int square = squares[i];
+            long occupied = boards[i].occupied();
+            bh.consume(switch (sliders[i].getType()) {
+                case ROOK -> SliderAttacks.rookAttacks(square, occupied);
+                case BISHOP -> SliderAttacks.bishopAttacks(square, occupied);
+                default -> SliderAttacks.queenAttacks(square, occupied);
+            });
+        }
+    }
+
+    // The ray walk previously used by Rook, Bishop and Queen.getMoves
+    private static ArrayList<Square> legacyMoves(Piece piece, Board board) {
+        ArrayList<Square> moves = new ArrayList<>();
+        int[][] directions = switch (piece.getType()) {
+            case ROOK -> new int[][]{{0, 1}, {0, -1}, {1, 0}, {-1, 0}};
+            case BISHOP -> new int[][]{{1, 1}, {-1, 1}, {1, -1}, {-1, -1}};
+            default -> new int[][]{{0, 1}, {0, -1}, {1, 0}, {-1, 0}, {1, 1}, {-1, 1}, {1, -1}, {-1, -1}};
+        };
+        for (int[] dir : directions) {
+            int currentCol = piece.getPosition().column();
+            int currentRow = piece.getPosition().row();
+            while (true) {
+                currentCol += dir[0];
+                currentRow += dir[1];
+                if (!board.isWithinBounds(currentCol, currentRow)) {
+                    break;
+                }
+                try {
+                    Piece pieceAtTarget = board.getPieceAt(currentCol, currentRow);
+                    if (pieceAtTarget == null) {
+                        moves.add(new Square(currentCol, currentRow));
+                    } else {
+                        if (pieceAtTarget.isWhite() != piece.isWhite()) {
+                            moves.add(new Square(currentCol, currentRow));
+                        }
+                        break;
+                    }
+                } catch (ArrayIndexOutOfBoundsException e) {
+                    break;
+                }
+            }
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,34 @@
+package pt.isec.pa.chess;
+
+import pt.isec.pa.chess.model.book.OpeningBook;
+import pt.isec.pa.chess.model.book.OpeningBookBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Construção de um livro de aberturas na linha de comandos.
+ * Uso: BookMain &lt;diretório de partidas&gt; &lt;ficheiro do livro&gt; [plies]
+ *   diretório: ficheiros .pgn ou .txt com as partidas (ver {@link OpeningBookBuilder})
+ *   plies:     número de meias-jogadas de cada partida a incluir (omissão: 24)
+ */
+public class BookMain {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BookMain <games directory> <book file> [plies]");
+            System.exit(1);
+        }
+        int plies = args.length > 2 ? Integer.parseInt(args[2]) : OpeningBookBuilder.DEFAULT_MAX_PLY;
+        OpeningBookBuilder builder = new OpeningBookBuilder(plies);
+
+        long start = System.nanoTime();
+        int games = builder.addDirectory(Path.of(args[0]));
+        int entries = builder.write(Path.of(args[1]));
+        System.out.printf("%,d games (%,d with unreadable moves), %,d positions, %,d entries in %.3f s%n",
+                games, builder.getRejectedGames(), builder.getPositions(), entries,
+                (System.nanoTime() - start) / 1e9);
+        try (OpeningBook book = OpeningBook.open(Path.of(args[1]))) {
+            System.out.println("Book: " + book);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package pt.isec.pa.chess;
+
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.perft.ParallelPerft;
+import pt.isec.pa.chess.model.perft.PerftCache;
+import pt.isec.pa.chess.model.perft.PerftResult;
+import pt.isec.pa.chess.model.perft.PerftSuite;
+
+import java.util.Arrays;
+
+/**
+ * Perft paralelo na linha de comandos.
+ * Uso: PerftMain [--hash=MB] &lt;profundidade&gt; [threads] [posição]
+ *   --hash:  tamanho em MB de uma tabela de transposição partilhada (omissão: sem tabela)
+ *   threads: 0 (omissão) = todos os processadores
+ *   posição: nome de uma posição do conjunto de referência (startpos, kiwipete, position3..6),
+ *            uma posição em FEN ou "suite" para correr todas as posições de referência
+ */
+public class PerftMain {
+    public static void main(String[] args) {
+        PerftCache cache = null;
+        if (args.length > 0 && args[0].startsWith("--hash=")) {
+            cache = new PerftCache(Integer.parseInt(args[0].substring("--hash=".length())));
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        if (args.length < 1) {
+            System.err.println("Usage: PerftMain [--hash=MB] <depth> [threads] [startpos|kiwipete|position3..6|suite|FEN]");
+            System.exit(1);
+        }
+        int depth = Integer.parseInt(args[0]);
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        String position = args.length > 2 ? String.join(" ", Arrays.copyOfRange(args, 2, args.length))
+                : "startpos";
+
+        try (ParallelPerft perft = new ParallelPerft(threads, cache)) {
+            System.out.println("PA Chess perft, " + perft.getParallelism() + " threads"
+                    + (cache != null ? ", hash " + cache.capacity() + " entries" : ""));
+            if (position.equalsIgnoreCase("suite")) {
+                boolean ok = true;
+                for (PerftSuite.Position p : PerftSuite.positions()) {
+                    ok &= run(perft, p.name(), p.fen(), Math.min(depth, p.maxDepth()), p, false);
+                }
+                System.exit(ok ? 0 : 2);
+            }
+            PerftSuite.Position known = PerftSuite.find(position);
+            String fen = known != null ? known.fen() : position;
+            boolean ok = run(perft, known != null ? known.name() : fen, fen, depth, known, true);
+            System.exit(ok ? 0 : 2);
+        }
+    }
+
+    private static boolean run(ParallelPerft perft, String name, String fen, int depth,
+                               PerftSuite.Position expected, boolean divide) {
+        ChessGame game = new ChessGame();
+        game.importFen(fen);
+        PerftResult result = perft.run(game, depth);
+        if (divide) {
+            System.out.println(result);
+        } else {
+            System.out.printf("%s: depth %d: %,d nodes in %.3f s (%,d nps)%n",
+                    name, depth, result.nodes(), result.nanos() / 1e9, result.nodesPerSecond());
+        }
+        if (perft.getCache() != null) {
+            System.out.println("Hash: " + perft.getCache());
+        }
+        if (expected != null && depth <= expected.maxDepth()) {
+            boolean ok = expected.expected(depth) == result.nodes();
+            System.out.println(ok ? "OK" : "MISMATCH: expected " + expected.expected(depth));
+            return ok;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,32 @@
+package pt.isec.pa.chess;
+
+import pt.isec.pa.chess.model.tablebase.Tablebases;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Geração das tabelas de finais na linha de comandos.
+ * Uso: TablebaseMain &lt;diretório&gt; [materiais...]
+ *   materiais: nomes das tabelas (ex: KQK KRK KPK KRKP); omissão ou "all": todas as de 3 e 4 peças.
+ *              As tabelas de que dependem também são geradas; as que já existam no diretório são reutilizadas.
+ */
+public class TablebaseMain {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TablebaseMain <directory> [materials...|all]");
+            System.exit(1);
+        }
+        List<String> materials = args.length == 1 || args[1].equalsIgnoreCase("all")
+                ? Tablebases.standardNames()
+                : Arrays.asList(args).subList(1, args.length);
+
+        long start = System.nanoTime();
+        try (Tablebases tablebases = Tablebases.generate(materials, Path.of(args[0]), System.out::println)) {
+            System.out.printf("%d tables in %.1f s: %s%n", tablebases.size(), (System.nanoTime() - start) / 1e9,
+                    tablebases);
+        }
+    }
+}
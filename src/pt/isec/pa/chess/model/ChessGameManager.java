@@ -9,10 +9,26 @@
 
 package pt.isec.pa.chess.model;
 
+import pt.isec.pa.chess.model.book.BookMove;
+import pt.isec.pa.chess.model.book.OpeningBook;
+import pt.isec.pa.chess.model.data.Board;
 import pt.isec.pa.chess.model.data.ChessGame;
 import pt.isec.pa.chess.model.data.GameResult;
+import pt.isec.pa.chess.model.data.MoveGenerator;
+import pt.isec.pa.chess.model.data.MoveList;
 import pt.isec.pa.chess.model.data.Square;
+import pt.isec.pa.chess.model.data.UndoInfo;
 import pt.isec.pa.chess.model.data.memento.ChessGameCaretaker;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+import pt.isec.pa.chess.model.engine.AnalysisInfo;
+import pt.isec.pa.chess.model.engine.Analyser;
+import pt.isec.pa.chess.model.engine.LazySmpSearch;
+import pt.isec.pa.chess.model.engine.Move;
+import pt.isec.pa.chess.model.engine.Ponder;
+import pt.isec.pa.chess.model.engine.SearchInfo;
+import pt.isec.pa.chess.model.engine.SearchLimits;
+import pt.isec.pa.chess.model.engine.SearchRequest;
+import pt.isec.pa.chess.model.tablebase.Tablebases;
 import pt.isec.pa.chess.ui.Point;
 
 import javafx.scene.control.Alert;
@@ -20,7 +36,15 @@ import javafx.scene.control.ButtonType;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 public class ChessGameManager {
 
@@ -34,7 +58,39 @@ public class ChessGameManager {
     String player1, player2;
     private final ChessGameCaretaker caretaker;
 
-
+    // Adversário computador (joga com as pretas); a pesquisa corre numa thread própria
+    private LazySmpSearch engine;      // created on first use (see getEngine): one engine per thread plus the table
+    private int searchThreads;         // 0 = all available processors
+    private ExecutorService searchExecutor;
+    private Executor eventExecutor = Runnable::run;
+    private SearchLimits computerLimits = SearchLimits.time(1000);
+    private boolean computerOpponent;
+    private boolean computerThinking;
+    private volatile int searchGeneration; // incremented to discard the result of a cancelled search
+    private SearchRequest computerSearch;  // running or queued search of the computer, or null
+
+    // Ponder: while the human thinks, the computer searches the position after the reply it expects
+    private boolean ponderEnabled = true;
+    private Ponder ponder;       // running ponder search, or null
+    private long ponderKey;      // position being pondered
+    private Move ponderMove;     // expected reply of the human
+    private Move ponderBest;     // result of a ponder search that ended before the human moved
+    private SearchInfo ponderInfo;
+
+    // Livro de aberturas (opcional), usado pelo modo de aprendizagem e pelo computador
+    private OpeningBook openingBook;
+    private final Random bookRandom = new Random();
+
+    // Tabelas de finais (opcional), usadas para terminar o jogo e pela pesquisa do computador
+    private Tablebases tablebases;
+
+    // Modo de análise: pesquisa contínua da posição atual, reiniciada a cada mudança do tabuleiro
+    private Analyser analyser;
+    private final PropertyChangeListener analysisRestarter = evt -> {
+        if (analyser != null) {
+            analyser.analyse(game.getBoard());
+        }
+    };
 
     public ChessGameManager(ChessGame game, pt.isec.pa.chess.ui.PromotionHandler handler) {
         this.game = game;
@@ -68,6 +124,7 @@ public class ChessGameManager {
             
             pcs.firePropertyChange(PROP_BOARD_STATE, null,null);
             pcs.firePropertyChange(PROP_CURRENT_PLAYER, player1, player2);
+            restartComputer();
             return true;
         }
         return false;
@@ -80,18 +137,30 @@ public class ChessGameManager {
      * @return true se o movimento foi realizado
      */
     public boolean move(Point from, Point to) {
-        Square fromSquare = new Square(from.x(), from.y());
-        Square toSquare = new Square(to.x(), to.y());
+        if (isComputerTurn()) {
+            return false; // a vez é do computador
+        }
+        if (applyMove(Square.of(from.x(), from.y()), Square.of(to.x(), to.y()), null)) {
+            if (!continuePonder()) {
+                startComputerIfTurn();
+            }
+            return true;
+        }
+        return false;
+    }
 
+    /**
+     * Aplica uma jogada do jogador humano ou do computador, regista-a no log e notifica os observadores.
+     * @param promotion Peça de promoção, ou null para usar o PromotionHandler
+     */
+    private boolean applyMove(Square from, Square to, PieceType promotion) {
         // Verificar se há peça na posição de destino (para registrar captura)
-        String pieceAtTarget = getPieceAt(to.x(), to.y());
-
-        
+        String pieceAtTarget = getPieceAt(to.column(), to.row());
 
-        if (game.move(fromSquare, toSquare)) {
+        if (game.move(from, to, promotion)) {
             // Converter coordenadas para notação de xadrez (ex: e2-e4)
-            String fromNotation = columnToLetter(from.x()) + (8 - from.y());
-            String toNotation = columnToLetter(to.x()) + (8 - to.y());
+            String fromNotation = columnToLetter(from.column()) + (8 - from.row());
+            String toNotation = columnToLetter(to.column()) + (8 - to.row());
             
             // Registrar movimento no log
             if (pieceAtTarget != null) {
@@ -107,28 +176,42 @@ public class ChessGameManager {
             
             // Verificar estado do jogo após movimento
             GameResult result = game.getGameResult();
-            switch (result) {
-                case WHITE_WINS:
-                    ModelLog.getInstance().addEntry("XEQUE-MATE! Brancas (" + player1 + ") vencem.");
-                    pcs.firePropertyChange(PROP_GAME_OVER, null, "Brancas (" + player1 + ") vencem por xeque-mate.");
-                    break;
-                case BLACK_WINS:
-                    ModelLog.getInstance().addEntry("XEQUE-MATE! Pretas (" + player2 + ") vencem.");
-                    pcs.firePropertyChange(PROP_GAME_OVER, null, "Pretas (" + player2 + ") vencem por xeque-mate.");
-                    break;
-                case STALEMATE:
-                    ModelLog.getInstance().addEntry("EMPATE por afogamento (stalemate)!");
-                    pcs.firePropertyChange(PROP_GAME_OVER, null, "Empate por afogamento (stalemate).");
-                    break;
-                case IN_PROGRESS:
-                    // Check for check
-                    if (game.isPlayerInCheck(!isWhitePlaying())) {
-                        ModelLog.getInstance().addEntry("XEQUE! " + 
-                            (isWhitePlaying() ? "Pretas" : "Brancas") + " em xeque.");
-                        pcs.firePropertyChange(PROP_CHECK_STATE, null, 
-                            (isWhitePlaying() ? "Pretas" : "Brancas") + " em xeque.");
-                    }
-                    break;
+            if (result != GameResult.IN_PROGRESS && game.isAdjudicated()) {
+                String message = switch (result) {
+                    case WHITE_WINS -> "Brancas (" + player1 + ") vencem pelas tabelas de finais.";
+                    case BLACK_WINS -> "Pretas (" + player2 + ") vencem pelas tabelas de finais.";
+                    default -> "Empate pelas tabelas de finais.";
+                };
+                ModelLog.getInstance().addEntry("FIM DE JOGO! " + message);
+                pcs.firePropertyChange(PROP_GAME_OVER, null, message);
+            } else {
+                switch (result) {
+                    case WHITE_WINS:
+                        ModelLog.getInstance().addEntry("XEQUE-MATE! Brancas (" + player1 + ") vencem.");
+                        pcs.firePropertyChange(PROP_GAME_OVER, null, "Brancas (" + player1 + ") vencem por xeque-mate.");
+                        break;
+                    case BLACK_WINS:
+                        ModelLog.getInstance().addEntry("XEQUE-MATE! Pretas (" + player2 + ") vencem.");
+                        pcs.firePropertyChange(PROP_GAME_OVER, null, "Pretas (" + player2 + ") vencem por xeque-mate.");
+                        break;
+                    case STALEMATE:
+                        ModelLog.getInstance().addEntry("EMPATE por afogamento (stalemate)!");
+                        pcs.firePropertyChange(PROP_GAME_OVER, null, "Empate por afogamento (stalemate).");
+                        break;
+                    case DRAW:
+                        ModelLog.getInstance().addEntry("EMPATE!");
+                        pcs.firePropertyChange(PROP_GAME_OVER, null, "Empate.");
+                        break;
+                    case IN_PROGRESS:
+                        // Check for check
+                        if (game.isPlayerInCheck(!isWhitePlaying())) {
+                            ModelLog.getInstance().addEntry("XEQUE! " + 
+                                (isWhitePlaying() ? "Pretas" : "Brancas") + " em xeque.");
+                            pcs.firePropertyChange(PROP_CHECK_STATE, null, 
+                                (isWhitePlaying() ? "Pretas" : "Brancas") + " em xeque.");
+                        }
+                        break;
+                }
             }
 
             pcs.firePropertyChange(PROP_BOARD_STATE, null, null);
@@ -151,6 +234,7 @@ public class ChessGameManager {
             }
             
             game.importGame(gameState);
+            cancelComputer();
             
             // Atualizar a vista após importação bem-sucedida
             pcs.firePropertyChange(PROP_BOARD_STATE, null, null);
@@ -158,6 +242,7 @@ public class ChessGameManager {
             
             // Log de sucesso
             ModelLog.getInstance().addEntry("Jogo importado com sucesso.");
+            startComputerIfTurn();
         } catch (IllegalArgumentException e) {
             // Log do erro
             ModelLog.getInstance().addEntry("Erro ao importar jogo: " + e.getMessage());
@@ -208,6 +293,22 @@ public class ChessGameManager {
         return game.getValidMovesAt(col,row);
     }
 
+    /**
+     * Avaliação estática da troca iniciada pela jogada de uma peça (modo de aprendizagem).
+     * @return Saldo material em centipeões para quem joga, ou Integer.MIN_VALUE se a jogada não for legal
+     */
+    public int staticExchange(Point from, Point to) {
+        return game.staticExchange(Square.of(from.x(), from.y()), Square.of(to.x(), to.y()));
+    }
+
+    /**
+     * Peças do adversário que o jogador atual pode ganhar com uma captura (modo de aprendizagem).
+     * @return Lista das posições dessas peças
+     */
+    public ArrayList<Point> getWinnablePieces() {
+        return game.getWinnablePieces();
+    }
+
     public int getBoardSize() {
         return game.getBoardSize();
     }
@@ -230,14 +331,18 @@ public class ChessGameManager {
 
     //memento
     public void undo() {
+        cancelComputer();
         caretaker.undo();
         pcs.firePropertyChange(PROP_BOARD_STATE, null, null);
         pcs.firePropertyChange(PROP_CURRENT_PLAYER, null, null);
+        startComputerIfTurn();
     }
     public void redo() { 
+        cancelComputer();
         caretaker.redo();
         pcs.firePropertyChange(PROP_BOARD_STATE, null, null);
         pcs.firePropertyChange(PROP_CURRENT_PLAYER, null, null);
+        startComputerIfTurn();
     }
     public boolean hasUndo() { return caretaker.hasUndo(); }
     public boolean hasRedo() { return caretaker.hasRedo(); }
@@ -251,11 +356,14 @@ public class ChessGameManager {
                 loaded.setPromotionHandler(new PromotionHandlerAdapter(this.promotionHandler));
             }
             
+            loaded.setTablebases(tablebases);
+            cancelComputer();
             this.game = loaded;
             pcs.firePropertyChange(PROP_BOARD_STATE, null, game.getBoard());
             pcs.firePropertyChange(PROP_CURRENT_PLAYER, null, game.getCurrentPlayer());
             if (game.isGameOver())
                 pcs.firePropertyChange(PROP_GAME_OVER, null, game.getGameStatus());
+            startComputerIfTurn();
         }
     }
 
@@ -288,6 +396,359 @@ public class ChessGameManager {
         }
     }
 
+    /**
+     * Abre um livro de aberturas (ver {@link OpeningBook}), substituindo e fechando o atual.
+     * @throws IOException se o ficheiro não existir ou não for um livro válido (o livro atual mantém-se)
+     */
+    public void loadOpeningBook(String path) throws IOException {
+        OpeningBook book = OpeningBook.open(Path.of(path));
+        // Lookups only run on the caller's thread, so nothing can be reading the old book now
+        if (openingBook != null) {
+            openingBook.close();
+        }
+        openingBook = book;
+        ModelLog.getInstance().addEntry("Livro de aberturas carregado: " + openingBook);
+        pcs.firePropertyChange(PROP_BOARD_STATE, null, null);
+    }
+
+    public boolean hasOpeningBook() {
+        return openingBook != null;
+    }
+
+    /**
+     * Jogadas do livro de aberturas para a posição atual, por peso decrescente (modo de aprendizagem).
+     * @return Lista vazia se não houver livro ou a posição não estiver nele
+     */
+    public List<BookMove> getBookMoves() {
+        return openingBook == null ? List.of() : openingBook.getMoves(game.getBoard());
+    }
+
+    /**
+     * Jogada do livro de aberturas para a posição atual, escolhida ao acaso com probabilidade
+     * proporcional ao peso.
+     * @return Jogada escolhida, ou null se não houver livro ou a posição não estiver nele
+     */
+    public Move getBookMove() {
+        return openingBook == null ? null : openingBook.pickMove(game.getBoard(), bookRandom);
+    }
+
+    /**
+     * Abre as tabelas de finais de uma diretoria (ver {@link Tablebases}), substituindo e fechando as atuais.
+     * Passam a ser usadas para terminar o jogo quando a posição está nas tabelas e pela pesquisa do computador.
+     * @throws IOException se a diretoria não existir ou algum ficheiro não for uma tabela válida (as tabelas
+     *         atuais mantêm-se)
+     */
+    public void loadTablebases(String directory) throws IOException {
+        Tablebases old = tablebases;
+        tablebases = Tablebases.open(Path.of(directory));
+        game.setTablebases(tablebases);
+        if (engine != null) {
+            engine.setTablebases(tablebases);
+        }
+        if (analyser != null) {
+            analyser.setTablebases(tablebases);
+        }
+        // A search still running on the old set sees its tables as missing from here on
+        if (old != null) {
+            old.close();
+        }
+        ModelLog.getInstance().addEntry("Tabelas de finais carregadas: " + tablebases);
+        pcs.firePropertyChange(PROP_BOARD_STATE, null, null);
+    }
+
+    public boolean hasTablebases() {
+        return tablebases != null && tablebases.size() > 0;
+    }
+
+    /**
+     * Inicia a análise contínua da posição atual (ver {@link Analyser}), que recomeça sempre que o tabuleiro
+     * muda ({@link #PROP_BOARD_STATE}). Substitui uma análise já em curso.
+     * @param listener Recebe o resultado de cada iteração, na thread da análise (não na thread da interface)
+     */
+    public void startAnalysis(Consumer<AnalysisInfo> listener) {
+        stopAnalysis();
+        analyser = new Analyser(listener);
+        analyser.setTablebases(tablebases);
+        pcs.addPropertyChangeListener(PROP_BOARD_STATE, analysisRestarter);
+        analyser.analyse(game.getBoard());
+    }
+
+    /**
+     * Termina a análise e a sua thread (sem esperar que a pesquisa em curso termine).
+     */
+    public void stopAnalysis() {
+        if (analyser != null) {
+            pcs.removePropertyChangeListener(PROP_BOARD_STATE, analysisRestarter);
+            analyser.close();
+            analyser = null;
+        }
+    }
+
+    public boolean isAnalysing() {
+        return analyser != null;
+    }
+
+    /**
+     * Ativa ou desativa o computador como adversário (joga com as pretas).
+     * Se for a vez das pretas, o computador começa logo a pensar.
+     */
+    public void setComputerOpponent(boolean enabled) {
+        computerOpponent = enabled;
+        if (enabled) {
+            getEngine();
+            startComputerIfTurn();
+        } else {
+            cancelComputer();
+        }
+    }
+
+    public boolean isComputerOpponent() {
+        return computerOpponent;
+    }
+
+    /**
+     * Ativa ou desativa o ponder: depois de jogar, o computador continua a pensar na posição que resulta
+     * da resposta que espera do jogador. Se o jogador fizer essa jogada, a pesquisa continua sem recomeçar
+     * (com os limites normais contados a partir daí); senão é abandonada.
+     */
+    public void setPondering(boolean enabled) {
+        ponderEnabled = enabled;
+        if (!enabled) {
+            cancelPonder();
+        }
+    }
+
+    public boolean isPondering() {
+        return ponderEnabled;
+    }
+
+    /**
+     * Indica se o computador está a pensar na sua jogada.
+     */
+    public boolean isComputerThinking() {
+        return computerThinking;
+    }
+
+    /**
+     * Limites da pesquisa usados pelo computador em cada jogada.
+     */
+    public void setComputerLimits(SearchLimits limits) {
+        this.computerLimits = limits;
+    }
+
+    /**
+     * Número de threads usadas pela pesquisa do computador (0 = todos os processadores disponíveis).
+     */
+    public void setSearchThreads(int threads) {
+        cancelComputer();
+        searchThreads = threads;
+        LazySmpSearch old = engine;
+        if (old != null) {
+            engine = new LazySmpSearch(threads);
+            engine.setTablebases(tablebases);
+            // The old search may still be finishing on the search thread: release it after that
+            if (searchExecutor != null) {
+                searchExecutor.execute(old::close);
+            } else {
+                old.close();
+            }
+        }
+        startComputerIfTurn();
+    }
+
+    public int getSearchThreads() {
+        return engine != null ? engine.getThreads()
+                : searchThreads > 0 ? searchThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    // The engine and its table are only built once the computer plays (not for games between two people)
+    private LazySmpSearch getEngine() {
+        if (engine == null) {
+            engine = new LazySmpSearch(searchThreads);
+            engine.setTablebases(tablebases);
+        }
+        return engine;
+    }
+
+    /**
+     * Define onde são executados os resultados da pesquisa do computador (jogada e eventos).
+     * A UI deve passar {@code Platform::runLater}; por omissão são executados na thread da pesquisa.
+     */
+    public void setEventExecutor(Executor executor) {
+        this.eventExecutor = executor;
+    }
+
+    private boolean isComputerTurn() {
+        return computerOpponent && !game.isGameOver() && !isWhitePlaying();
+    }
+
+    /**
+     * Lança a pesquisa do computador numa thread de fundo, se for a sua vez (ou joga logo do livro de aberturas).
+     * A pesquisa usa uma cópia do tabuleiro; a jogada é aplicada através do eventExecutor
+     * e descartada se entretanto o jogo tiver mudado (nova geração).
+     */
+    private void startComputerIfTurn() {
+        if (!isComputerTurn() || computerThinking) {
+            return;
+        }
+        if (searchExecutor == null) {
+            searchExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "chess-search");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        int generation = ++searchGeneration;
+        computerThinking = true;
+        Move bookMove = getBookMove();
+        if (bookMove != null) {
+            // Book moves are instant: apply them through the executor like a search result
+            eventExecutor.execute(() -> onComputerMove(generation, bookMove, null));
+            return;
+        }
+        Board position = new Board(game.getBoard());
+        SearchLimits limits = computerLimits;
+        LazySmpSearch search = getEngine();
+        SearchRequest request = new SearchRequest();
+        computerSearch = request;
+        searchExecutor.execute(() -> {
+            if (request.isCancelled()) {
+                return; // cancelled while queued: do not hold up the next search
+            }
+            Move best = search.findBestMove(position, limits, request);
+            SearchInfo info = search.getLastInfo();
+            eventExecutor.execute(() -> onComputerMove(generation, best, info));
+        });
+    }
+
+    /**
+     * Depois da jogada do computador, pesquisa a posição que resulta da resposta esperada do jogador
+     * (a jogada guardada na tabela de transposição), enquanto o jogador pensa.
+     */
+    private void startPonder() {
+        if (!ponderEnabled || !computerOpponent || game.isGameOver() || isComputerTurn()) {
+            return;
+        }
+        Board position = new Board(game.getBoard());
+        Move expected = getEngine().expectedMove(position);
+        if (expected == null) {
+            return;
+        }
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(position, position.isWhiteToMove(), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (expected.matches(moves.get(i))) {
+                position.makeMove(moves.get(i), new UndoInfo());
+                break;
+            }
+        }
+        int generation = ++searchGeneration;
+        Ponder request = new Ponder(computerLimits);
+        ponder = request;
+        ponderKey = position.getZobristKey();
+        ponderMove = expected;
+        ponderBest = null;
+        LazySmpSearch search = engine;
+        searchExecutor.execute(() -> {
+            if (request.isCancelled()) {
+                return;
+            }
+            Move best = search.ponder(position, request);
+            SearchInfo info = search.getLastInfo();
+            eventExecutor.execute(() -> onPonderDone(generation, request, best, info));
+        });
+    }
+
+    private void onPonderDone(int generation, Ponder request, Move best, SearchInfo info) {
+        if (generation != searchGeneration || request.isCancelled()) {
+            return;
+        }
+        if (request.isHit()) {
+            onComputerMove(generation, best, info);
+        } else {
+            // Nothing left to search (e.g. a forced mate): keep the move for the hit
+            ponderBest = best;
+            ponderInfo = info;
+        }
+    }
+
+    /**
+     * Depois da jogada do jogador: se foi a jogada esperada, a pesquisa do ponder passa a ser a pesquisa
+     * do computador para esta jogada; senão é abandonada.
+     * @return true se a pesquisa do ponder continua (não é preciso lançar outra)
+     */
+    private boolean continuePonder() {
+        Ponder request = ponder;
+        if (request == null) {
+            return false;
+        }
+        ponder = null;
+        boolean inBook = openingBook != null && openingBook.contains(game.getBoard().getZobristKey());
+        if (!isComputerTurn() || game.getBoard().getZobristKey() != ponderKey || inBook) {
+            cancelComputer(); // the ponder search aborts within a few nodes
+            return false;
+        }
+        request.hit();
+        computerSearch = request; // now the computer's search, cancelled like any other
+        computerThinking = true;
+        ModelLog.getInstance().addEntry("Computador previu a jogada " + ponderMove + " (ponder)");
+        if (ponderBest != null) {
+            int generation = searchGeneration;
+            Move best = ponderBest;
+            SearchInfo info = ponderInfo;
+            eventExecutor.execute(() -> onComputerMove(generation, best, info));
+        }
+        return true;
+    }
+
+    private void cancelPonder() {
+        if (ponder != null) {
+            ponder.cancel();
+            ponder = null;
+        }
+        ponderBest = null;
+        ponderInfo = null;
+    }
+
+    private void onComputerMove(int generation, Move best, SearchInfo info) {
+        if (generation != searchGeneration) {
+            return; // stale result: the game changed while searching
+        }
+        computerThinking = false;
+        computerSearch = null;
+        if (best == null || !isComputerTurn()) {
+            return;
+        }
+        if (info != null) {
+            ModelLog.getInstance().addEntry(String.format(
+                    "Computador escolheu %s (profundidade %d, %,d nós, %,d nós/s, %d threads)",
+                    best, info.depth(), info.nodes(), info.nodesPerSecond(), engine.getThreads()));
+        } else {
+            ModelLog.getInstance().addEntry("Computador escolheu " + best + " (livro de aberturas)");
+        }
+        if (applyMove(best.from(), best.to(), best.promotion())) {
+            startPonder();
+        }
+    }
+
+    private void cancelComputer() {
+        cancelPonder();
+        if (computerSearch != null) {
+            computerSearch.cancel(); // also reaches a search that has not started yet, unlike stop()
+            computerSearch = null;
+        }
+        searchGeneration++;
+        computerThinking = false;
+        if (engine != null) {
+            engine.stop();
+        }
+    }
+
+    private void restartComputer() {
+        cancelComputer();
+        startComputerIfTurn();
+    }
+
     // Add this inner class at the bottom of ChessGameManager
     private static class PromotionHandlerAdapter implements pt.isec.pa.chess.model.data.PromotionHandler {
         private final pt.isec.pa.chess.ui.PromotionHandler uiHandler;
@@ -0,0 +1,12 @@
+/**
+ * Jogada do livro de aberturas para uma posição.
+ * @param move Jogada (legal na posição consultada)
+ * @param weight Peso relativo (número de partidas em que foi jogada)
+ */
+
+package pt.isec.pa.chess.model.book;
+
+import pt.isec.pa.chess.model.engine.Move;
+
+public record BookMove(Move move, int weight) {
+}
@@ -0,0 +1,204 @@
+/**
+ * Livro de aberturas em formato binário, lido diretamente do ficheiro mapeado em memória.
+ *
+ * <pre>
+ * cabeçalho (16 bytes): magic "PABK", versão, número de entradas, profundidade máxima (plies)
+ * entrada   (12 bytes): chave de Zobrist da posição (8), jogada (2), peso (2, sem sinal)
+ * </pre>
+ * As entradas estão ordenadas pela chave (e, para a mesma chave, por peso decrescente), pelo que
+ * uma consulta é uma pesquisa binária sobre o ficheiro mapeado: não há cópia para o heap e abrir o
+ * livro não depende do seu tamanho (o sistema operativo só lê as páginas consultadas).
+ * A jogada guarda apenas origem, destino e promoção; as flags são recuperadas das jogadas legais
+ * da posição, o que também descarta entradas de outra posição com a mesma chave.
+ *
+ * As consultas só usam leituras absolutas, por isso um livro pode ser partilhado entre threads.
+ * O mapeamento é libertado em {@link #close()} (e não quando o garbage collector o decidir); depois disso
+ * as consultas lançam {@link IllegalStateException}.
+ * Ver {@link OpeningBookBuilder} para criar um livro a partir de partidas.
+ */
+
+package pt.isec.pa.chess.model.book;
+
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.MoveGenerator;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.engine.Move;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+public final class OpeningBook implements Closeable {
+
+    static final int MAGIC = 0x5041424B; // "PABK"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int ENTRY_BYTES = 12;
+    static final int MOVE_MASK = 0x7FFF; // origin, destination and promotion (see Moves)
+
+    // Same big-endian layout as the ByteBuffer used by OpeningBookBuilder
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private final Arena arena;
+    private final MemorySegment entries;
+    private final int size;
+    private final int maxPly;
+
+    private OpeningBook(Arena arena, MemorySegment entries, int size, int maxPly) {
+        this.arena = arena;
+        this.entries = entries;
+        this.size = size;
+        this.maxPly = maxPly;
+    }
+
+    /**
+     * Abre um livro de aberturas. Só o cabeçalho é lido; as entradas são consultadas diretamente no ficheiro.
+     * O livro deve ser fechado com {@link #close()} quando deixar de ser usado.
+     * @throws IOException se o ficheiro não existir ou não for um livro válido
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        // Shared: lookups may come from any thread. The mapping outlives the channel, until the arena is closed
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+                throw new IOException("Invalid opening book size: " + path);
+            }
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, length, arena);
+            if (segment.get(INT, 0) != MAGIC || segment.get(INT, 4) != VERSION) {
+                throw new IOException("Not an opening book: " + path);
+            }
+            int size = segment.get(INT, 8);
+            if (size < 0 || (long) size * ENTRY_BYTES + HEADER_BYTES != length) {
+                throw new IOException("Truncated opening book: " + path);
+            }
+            return new OpeningBook(arena, segment, size, segment.get(INT, 12));
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Liberta o mapeamento do ficheiro. Não pode ser chamado durante uma consulta noutra thread;
+     * chamar mais do que uma vez não tem efeito.
+     */
+    @Override
+    public void close() {
+        if (arena.scope().isAlive()) {
+            arena.close();
+        }
+    }
+
+    /**
+     * Número de entradas (pares posição/jogada).
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Número máximo de meias-jogadas de cada partida usadas para construir o livro.
+     */
+    public int getMaxPly() {
+        return maxPly;
+    }
+
+    /**
+     * Indica se a posição com esta chave está no livro.
+     */
+    public boolean contains(long key) {
+        int index = lowerBound(key);
+        return index < size && key(index) == key;
+    }
+
+    /**
+     * Jogadas do livro para a posição, por peso decrescente (lista vazia se a posição não estiver no livro).
+     */
+    public List<BookMove> getMoves(Board board) {
+        long key = board.getZobristKey();
+        int index = lowerBound(key);
+        if (index == size || key(index) != key) {
+            return List.of();
+        }
+        MoveList legal = new MoveList();
+        MoveGenerator.generateLegalMoves(board, board.isWhiteToMove(), legal);
+        List<BookMove> moves = new ArrayList<>();
+        for (; index < size && key(index) == key; index++) {
+            int stored = move(index);
+            for (int i = 0; i < legal.size(); i++) {
+                if ((legal.get(i) & MOVE_MASK) == stored) {
+                    moves.add(new BookMove(Move.of(legal.get(i)), weight(index)));
+                    break;
+                }
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Escolhe uma jogada do livro ao acaso, com probabilidade proporcional ao peso.
+     * @return Jogada escolhida, ou null se a posição não estiver no livro
+     */
+    public Move pickMove(Board board, RandomGenerator random) {
+        List<BookMove> moves = getMoves(board);
+        int total = 0;
+        for (BookMove move : moves) {
+            total += move.weight();
+        }
+        if (total == 0) {
+            return null;
+        }
+        int target = random.nextInt(total);
+        for (BookMove move : moves) {
+            target -= move.weight();
+            if (target < 0) {
+                return move.move();
+            }
+        }
+        return moves.get(moves.size() - 1).move(); // not reached
+    }
+
+    // First entry whose key is not smaller than the given one (size if there is none)
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private long key(int index) {
+        return entries.get(LONG, HEADER_BYTES + (long) index * ENTRY_BYTES);
+    }
+
+    private int move(int index) {
+        return Short.toUnsignedInt(entries.get(SHORT, HEADER_BYTES + (long) index * ENTRY_BYTES + 8));
+    }
+
+    private int weight(int index) {
+        return Short.toUnsignedInt(entries.get(SHORT, HEADER_BYTES + (long) index * ENTRY_BYTES + 10));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d entries, %d plies", size, maxPly);
+    }
+}
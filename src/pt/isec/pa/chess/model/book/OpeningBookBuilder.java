@@ -0,0 +1,281 @@
+/**
+ * Constrói um {@link OpeningBook} a partir de ficheiros de partidas.
+ *
+ * Aceita PGN (cabeçalhos, números de jogada, comentários, variantes e resultados são ignorados), em que
+ * uma partida termina num resultado, numa linha em branco, num novo cabeçalho ou no fim do ficheiro,
+ * e listas de jogadas em SAN ou em notação de coordenadas, uma partida por linha.
+ * De cada partida são usadas as primeiras {@code maxPly} meias-jogadas; o peso de cada jogada é o número de partidas em que foi jogada
+ * naquela posição (as transposições juntam-se, porque a chave é a da posição).
+ * Numa partida com uma jogada ilegal ou ilegível ficam as jogadas anteriores.
+ */
+
+package pt.isec.pa.chess.model.book;
+
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Moves;
+import pt.isec.pa.chess.model.data.Notation;
+import pt.isec.pa.chess.model.data.UndoInfo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public final class OpeningBookBuilder {
+
+    public static final int DEFAULT_MAX_PLY = 24;
+    private static final int MAX_WEIGHT = 0xFFFF;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+
+    private final int maxPly;
+    // position key -> (move without flags -> number of games)
+    private final Map<Long, Map<Integer, Integer>> counts = new HashMap<>();
+    private final MoveList scratch = new MoveList();
+    private final UndoInfo undo = new UndoInfo();
+    private int games;
+    private int rejectedGames;
+
+    // Game being read
+    private Board board;
+    private int ply;
+    private boolean started;
+    private boolean broken;
+
+    public OpeningBookBuilder() {
+        this(DEFAULT_MAX_PLY);
+    }
+
+    /**
+     * @param maxPly Número de meias-jogadas de cada partida a incluir no livro
+     */
+    public OpeningBookBuilder(int maxPly) {
+        if (maxPly < 1) {
+            throw new IllegalArgumentException("maxPly must be at least 1");
+        }
+        this.maxPly = maxPly;
+    }
+
+    /**
+     * Lê todos os ficheiros {@code .pgn} (PGN) e {@code .txt} (uma partida por linha) do diretório,
+     * sem subdiretórios.
+     * @return Número de partidas lidas
+     */
+    public int addDirectory(Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(Files::isRegularFile)
+                    .filter(p -> {
+                        String name = p.getFileName().toString().toLowerCase();
+                        return name.endsWith(".pgn") || name.endsWith(".txt");
+                    })
+                    .sorted()
+                    .toList();
+        }
+        int read = 0;
+        for (Path file : files) {
+            read += addFile(file);
+        }
+        return read;
+    }
+
+    /**
+     * @return Número de partidas lidas do ficheiro
+     */
+    public int addFile(Path file) throws IOException {
+        boolean pgn = file.getFileName().toString().toLowerCase().endsWith(".pgn");
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1)) {
+            return addGames(reader, !pgn);
+        }
+    }
+
+    /**
+     * Lê as partidas do texto (ver o formato na descrição da classe).
+     * @param gamePerLine true se cada linha for uma partida, false para PGN
+     * @return Número de partidas lidas
+     */
+    public int addGames(Reader source, boolean gamePerLine) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader b ? b : new BufferedReader(source);
+        int before = games;
+        boolean inComment = false;
+        int variationDepth = 0;
+        StringBuilder token = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String trimmed = line.trim();
+            if (!inComment && variationDepth == 0) {
+                if (trimmed.isEmpty() || trimmed.startsWith("[")) {
+                    endGame();
+                    continue;
+                }
+                if (trimmed.startsWith("%")) {
+                    continue; // PGN escape line
+                }
+            }
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (inComment) {
+                    inComment = c != '}';
+                } else if (c == '{') {
+                    flush(token);
+                    inComment = true;
+                } else if (c == ';') {
+                    break; // comment until the end of the line
+                } else if (c == '(') {
+                    flush(token);
+                    variationDepth++;
+                } else if (c == ')') {
+                    flush(token);
+                    variationDepth = Math.max(0, variationDepth - 1);
+                } else if (variationDepth > 0) {
+                    // moves of a variation are not part of the game
+                } else if (Character.isWhitespace(c)) {
+                    flush(token);
+                } else {
+                    token.append(c);
+                }
+            }
+            flush(token);
+            if (gamePerLine) {
+                endGame();
+            }
+        }
+        endGame();
+        return games - before;
+    }
+
+    private void flush(StringBuilder token) {
+        if (!token.isEmpty()) {
+            play(token.toString());
+            token.setLength(0);
+        }
+    }
+
+    private void play(String token) {
+        // Move numbers may be glued to the move: "12.Nf3", "12...Nf3"
+        int start = 0;
+        while (start < token.length() && Character.isDigit(token.charAt(start))) {
+            start++;
+        }
+        if (start < token.length() && token.charAt(start) == '.') {
+            while (start < token.length() && token.charAt(start) == '.') {
+                start++;
+            }
+            token = token.substring(start);
+        }
+        if (token.isEmpty() || token.startsWith("$")) {
+            return;
+        }
+        if (token.equals("1-0") || token.equals("0-1") || token.equals("1/2-1/2") || token.equals("*")) {
+            endGame();
+            return;
+        }
+
+        if (!started) {
+            board = new Board();
+            ply = 0;
+            broken = false;
+            started = true;
+        }
+        if (broken || ply >= maxPly) {
+            return;
+        }
+        int move = Notation.parse(board, token, scratch);
+        if (move == Moves.NONE) {
+            broken = true;
+            return;
+        }
+        counts.computeIfAbsent(board.getZobristKey(), k -> new HashMap<>())
+                .merge(move & OpeningBook.MOVE_MASK, 1, Integer::sum);
+        board.makeMove(move, undo); // never undone: the record is simply reused
+        ply++;
+    }
+
+    private void endGame() {
+        if (started) {
+            games++;
+            if (broken) {
+                rejectedGames++;
+            }
+        }
+        started = false;
+    }
+
+    /**
+     * Número de partidas lidas até agora.
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Número de partidas com uma jogada ilegal ou ilegível (só as jogadas anteriores foram usadas).
+     */
+    public int getRejectedGames() {
+        return rejectedGames;
+    }
+
+    /**
+     * Número de posições distintas recolhidas.
+     */
+    public int getPositions() {
+        return counts.size();
+    }
+
+    /**
+     * Escreve o livro no ficheiro indicado (substituindo-o se existir).
+     * @return Número de entradas escritas
+     */
+    public int write(Path file) throws IOException {
+        long[] keys = new long[counts.size()];
+        int n = 0;
+        int size = 0;
+        for (Map.Entry<Long, Map<Integer, Integer>> position : counts.entrySet()) {
+            keys[n++] = position.getKey();
+            size += position.getValue().size();
+        }
+        Arrays.sort(keys); // same signed order as the binary search in OpeningBook
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+            buffer.putInt(OpeningBook.MAGIC).putInt(OpeningBook.VERSION).putInt(size).putInt(maxPly);
+            for (long key : keys) {
+                List<Map.Entry<Integer, Integer>> moves = new ArrayList<>(counts.get(key).entrySet());
+                moves.sort(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()));
+                int max = moves.get(0).getValue();
+                for (Map.Entry<Integer, Integer> move : moves) {
+                    if (buffer.remaining() < OpeningBook.ENTRY_BYTES) {
+                        drain(channel, buffer);
+                    }
+                    // Scale down positions played more than MAX_WEIGHT times, keeping every move
+                    int weight = max <= MAX_WEIGHT ? move.getValue()
+                            : Math.max(1, (int) ((long) move.getValue() * MAX_WEIGHT / max));
+                    buffer.putLong(key).putShort((short) (int) move.getKey()).putShort((short) weight);
+                }
+            }
+            drain(channel, buffer);
+        }
+        return size;
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
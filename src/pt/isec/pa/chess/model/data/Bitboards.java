@@ -0,0 +1,153 @@
+/**
+ * Utilitários para a representação do tabuleiro em bitboards.
+ * Cada casa corresponde a um bit de um {@code long}, com índice {@code row * 8 + column}
+ * (a8 = 0, h8 = 7, a1 = 56, h1 = 63), seguindo a mesma orientação do array {@code Piece[][]} do {@link Board}.
+ */
+
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.LeaperAttacks;
+import pt.isec.pa.chess.model.data.pieces.SliderAttacks;
+
+public final class Bitboards {
+
+    public static final int SQUARES = 64;
+
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_H = FILE_A << 7;
+    public static final long NOT_FILE_A = ~FILE_A;
+    public static final long NOT_FILE_H = ~FILE_H;
+    public static final long NOT_FILE_AB = ~(FILE_A | (FILE_A << 1));
+    public static final long NOT_FILE_GH = ~(FILE_H | (FILE_H >>> 1));
+
+    private static final int[][] ROOK_DIRECTIONS = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {-1, 1}, {1, -1}, {-1, -1}};
+
+    // BETWEEN[a][b]: casas estritamente entre a e b; LINE[a][b]: linha completa que passa por a e b
+    // (ambos 0 se as casas não estiverem alinhadas em linha, coluna ou diagonal)
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    static {
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                if (a == b) {
+                    continue;
+                }
+                if ((rookRayAttacks(a, 0L) & bit(b)) != 0) {
+                    BETWEEN[a][b] = rookRayAttacks(a, bit(b)) & rookRayAttacks(b, bit(a));
+                    LINE[a][b] = (rookRayAttacks(a, 0L) & rookRayAttacks(b, 0L)) | bit(a) | bit(b);
+                } else if ((bishopRayAttacks(a, 0L) & bit(b)) != 0) {
+                    BETWEEN[a][b] = bishopRayAttacks(a, bit(b)) & bishopRayAttacks(b, bit(a));
+                    LINE[a][b] = (bishopRayAttacks(a, 0L) & bishopRayAttacks(b, 0L)) | bit(a) | bit(b);
+                }
+            }
+        }
+    }
+
+    private Bitboards() {
+    }
+
+    public static int index(int column, int row) {
+        return row * 8 + column;
+    }
+
+    public static int column(int square) {
+        return square & 7;
+    }
+
+    public static int row(int square) {
+        return square >>> 3;
+    }
+
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    public static long bit(int column, int row) {
+        return 1L << index(column, row);
+    }
+
+    /**
+     * Índice da casa menos significativa do bitboard (64 se estiver vazio).
+     */
+    public static int first(long bitboard) {
+        return Long.numberOfTrailingZeros(bitboard);
+    }
+
+    /**
+     * Casas estritamente entre duas casas alinhadas (0 se não estiverem alinhadas).
+     */
+    public static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    /**
+     * Linha, coluna ou diagonal completa que passa pelas duas casas (0 se não estiverem alinhadas).
+     */
+    public static long line(int a, int b) {
+        return LINE[a][b];
+    }
+
+    public static long knightAttacks(int square) {
+        return LeaperAttacks.knightAttacks(square);
+    }
+
+    public static long kingAttacks(int square) {
+        return LeaperAttacks.kingAttacks(square);
+    }
+
+    /**
+     * Casas atacadas por um peão na casa indicada.
+     * As brancas avançam para linhas de índice menor, as pretas para linhas de índice maior.
+     */
+    public static long pawnAttacks(int square, boolean isWhite) {
+        return LeaperAttacks.pawnAttacks(square, isWhite);
+    }
+
+    public static long rookAttacks(int square, long occupied) {
+        return SliderAttacks.rookAttacks(square, occupied);
+    }
+
+    public static long bishopAttacks(int square, long occupied) {
+        return SliderAttacks.bishopAttacks(square, occupied);
+    }
+
+    public static long queenAttacks(int square, long occupied) {
+        return SliderAttacks.queenAttacks(square, occupied);
+    }
+
+    /**
+     * Ataques de torre calculados casa a casa ao longo de cada raio.
+     * Usado para construir as tabelas de {@link SliderAttacks} e como referência.
+     */
+    public static long rookRayAttacks(int square, long occupied) {
+        return slidingAttacks(square, occupied, ROOK_DIRECTIONS);
+    }
+
+    /**
+     * Ataques de bispo calculados casa a casa ao longo de cada raio.
+     * Usado para construir as tabelas de {@link SliderAttacks} e como referência.
+     */
+    public static long bishopRayAttacks(int square, long occupied) {
+        return slidingAttacks(square, occupied, BISHOP_DIRECTIONS);
+    }
+
+    private static long slidingAttacks(int square, long occupied, int[][] directions) {
+        long attacks = 0L;
+        for (int[] dir : directions) {
+            int col = column(square) + dir[0];
+            int row = row(square) + dir[1];
+            while (col >= 0 && col < 8 && row >= 0 && row < 8) {
+                long b = bit(col, row);
+                attacks |= b;
+                if ((occupied & b) != 0) {
+                    break; // ray blocked
+                }
+                col += dir[0];
+                row += dir[1];
+            }
+        }
+        return attacks;
+    }
+}
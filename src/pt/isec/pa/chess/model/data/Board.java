@@ -1,8 +1,9 @@
 package pt.isec.pa.chess.model.data;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serial;
 import java.io.Serializable;
-import java.util.ArrayList;
 
 import pt.isec.pa.chess.model.data.pieces.*;
 import pt.isec.pa.chess.ui.PromotionHandler;
@@ -22,11 +23,83 @@ public class Board implements Serializable {
 
     private Piece[][] board = new Piece[BOARD_SIZE][BOARD_SIZE];
 
+    // Bitboards derivados de board[][] (índice de casa = row * 8 + column, ver Bitboards)
+    // pieceBitboards[cor * 6 + PieceType.ordinal()], cor 0 = brancas, 1 = pretas
+    private transient long[] pieceBitboards = new long[12];
+    private transient long[] colourBitboards = new long[2];
+
+    // Mapas de ataque mantidos incrementalmente por setPiece
+    private transient long[] attacksFrom = new long[64];     // casas atacadas pela peça em cada casa
+    private transient byte[] attackCounts = new byte[128];   // nº de atacantes por [cor * 64 + casa]
+    private transient long[] attackedBy = new long[2];       // casas atacadas por cada cor
+
+    private transient int[] kingSquares = {-1, -1};          // casa do rei de cada cor (-1 se não existir)
+
+    // Hashing de Zobrist (ver Zobrist): peças, lado a jogar, direitos de roque e coluna en passant
+    private boolean whiteToMove = true;
+    private transient long zobristKey;
+    private transient int castlingRights;                    // máscara Zobrist.WHITE_KINGSIDE | ...
+    private transient int enPassantFile = -1;                // coluna do peão capturável en passant, ou -1
+    private transient long pawnKey;                          // chave de Zobrist só com os peões
+
+    // Avaliação peça-casa (ver PieceSquareTables), somada incrementalmente por setPiece: brancas - pretas
+    private transient int midgameScore;
+    private transient int endgameScore;
+    private transient int gamePhase;
+    private transient int[] verifyScores;                    // auxiliar de verifyPieceSquareScores
+
+    // Modo de depuração: recalcula a chave e a avaliação peça-casa de raiz após cada jogada e compara
+    // (-Dchess.debugHash=true)
+    private static boolean hashDebug = Boolean.getBoolean("chess.debugHash");
 
     public Board() {
         this.setupBoard();
     }
 
+    /**
+     * Tabuleiro na posição FEN indicada (ver {@link ChessGame#importFen(String)}).
+     * @throws IllegalArgumentException se o FEN não for válido
+     */
+    public static Board fromFen(String fen) {
+        return ChessGame.fromFen(fen).getBoard();
+    }
+
+    /**
+     * Cópia independente do tabuleiro (peças incluídas), muito mais rápida do que serializar.
+     * Permite que cada thread de uma pesquisa ou perft trabalhe sobre o seu próprio tabuleiro.
+     */
+    public Board(Board other) {
+        this.promotionHandler = other.promotionHandler;
+        for (int col = 0; col < BOARD_SIZE; col++) {
+            for (int row = 0; row < BOARD_SIZE; row++) {
+                Piece piece = other.board[col][row];
+                board[col][row] = piece == null ? null : piece.copy();
+            }
+        }
+        this.lastMoveFrom = other.lastMoveFrom;
+        this.lastMoveTo = other.lastMoveTo;
+        if (other.lastMovedPiece != null) {
+            Piece onTarget = lastMoveTo == null ? null : other.board[lastMoveTo.column()][lastMoveTo.row()];
+            this.lastMovedPiece = onTarget == other.lastMovedPiece
+                    ? board[lastMoveTo.column()][lastMoveTo.row()] : other.lastMovedPiece.copy();
+        }
+        this.whiteToMove = other.whiteToMove;
+
+        this.pieceBitboards = other.pieceBitboards.clone();
+        this.colourBitboards = other.colourBitboards.clone();
+        this.attacksFrom = other.attacksFrom.clone();
+        this.attackCounts = other.attackCounts.clone();
+        this.attackedBy = other.attackedBy.clone();
+        this.kingSquares = other.kingSquares.clone();
+        this.zobristKey = other.zobristKey;
+        this.pawnKey = other.pawnKey;
+        this.midgameScore = other.midgameScore;
+        this.endgameScore = other.endgameScore;
+        this.gamePhase = other.gamePhase;
+        this.castlingRights = other.castlingRights;
+        this.enPassantFile = other.enPassantFile;
+    }
+
     private void setupBoard() {
         // Primeira linha (pretas)
         addPiece(PieceType.ROOK, false, 0, 0);
@@ -61,18 +134,16 @@ public class Board implements Serializable {
 
     public boolean addPiece(PieceType type, boolean isWhite, int column, int row) {
         // será chamado com addPiece (Knight,1,1); com o uso de uma factory de peças
-        Square sq = new Square(column, row);
+        Square sq = Square.of(column, row);
         Piece piece = PieceFactoryType.createPiece(type, isWhite, sq);
         if (board[column][row] != null) {
             return false;
         }
 
-        board[column][row] = piece;
+        setPiece(column, row, piece);
         return true;
     }
 
-
-
     @Override
     public String toString() {
         StringBuilder buffer = new StringBuilder(); // thread safe for multiple games
@@ -96,62 +167,580 @@ public class Board implements Serializable {
 
         Piece piece = switch (type) {
             case 'P' ->
-                new Pawn(isWhite, new Square(col, row));
+                new Pawn(isWhite, Square.of(col, row));
             case 'R' ->
-                new Rook(isWhite, new Square(col, row));
+                new Rook(isWhite, Square.of(col, row));
             case 'N' ->
-                new Knight(isWhite, new Square(col, row));
+                new Knight(isWhite, Square.of(col, row));
             case 'B' ->
-                new Bishop(isWhite, new Square(col, row));
+                new Bishop(isWhite, Square.of(col, row));
             case 'Q' ->
-                new Queen(isWhite, new Square(col, row));
+                new Queen(isWhite, Square.of(col, row));
             case 'K' ->
-                new King(isWhite, new Square(col, row));
+                new King(isWhite, Square.of(col, row));
             default ->
                 throw new IllegalArgumentException("Invalid piece character: " + pieceChar);
         };
 
-        board[col][row] = piece;
+        setPiece(col, row, piece);
     }
 
     public void setPiece(int col, int row, Piece piece) {
         if (isWithinBounds(col, row)) {
+            int square = Bitboards.index(col, row);
+            Piece previous = board[col][row];
+            if (previous != null) {
+                togglePiece(previous, square);
+                setAttacks(square, previous.isWhite(), 0L);
+                if (previous.getType() == PieceType.KING && kingSquares[previous.isWhite() ? 0 : 1] == square) {
+                    kingSquares[previous.isWhite() ? 0 : 1] = -1;
+                }
+            }
             board[col][row] = piece;
+            if (piece != null) {
+                togglePiece(piece, square);
+                setAttacks(square, piece.isWhite(), computeAttacks(piece, square));
+                if (piece.getType() == PieceType.KING) {
+                    kingSquares[piece.isWhite() ? 0 : 1] = square;
+                }
+            }
+            updateSlidersThrough(square);
+            if (affectsCastling(previous) || affectsCastling(piece)) {
+                updateCastlingRights();
+            }
         }
     }
 
-    public boolean isWithinBounds(int col, int row) {
-        return col >= 0 && col < BOARD_SIZE && row >= 0 && row < BOARD_SIZE;
+    private static boolean affectsCastling(Piece piece) {
+        return piece != null && (piece.getType() == PieceType.KING || piece.getType() == PieceType.ROOK);
     }
 
-    public Piece getPieceAt(int col, int row) {
-        if (!isWithinBounds(col, row)) {
-            return null;
+    /**
+     * Aplica uma jogada codificada (ver {@link Moves}), incluindo roque, en passant e promoção,
+     * e passa a vez ao adversário. Não valida a jogada: deve vir do {@link MoveGenerator}.
+     * Não aloca memória (a peça de promoção é reutilizada a partir do registo, quando possível).
+     * @param move Jogada a aplicar
+     * @param undo Registo onde é guardado o necessário para {@link #unmakeMove(UndoInfo)}
+     */
+    public void makeMove(int move, UndoInfo undo) {
+        int from = Moves.from(move);
+        int to = Moves.to(move);
+        Piece piece = pieceAt(from);
+
+        undo.move = move;
+        undo.piece = piece;
+        undo.pieceHadMoved = piece.hasMoved();
+        undo.lastMoveFrom = lastMoveFrom;
+        undo.lastMoveTo = lastMoveTo;
+        undo.lastMovedPiece = lastMovedPiece;
+        undo.zobristKey = zobristKey;
+        undo.rook = null;
+
+        int capturedSquare = Moves.isEnPassant(move) ? Bitboards.index(Bitboards.column(to), Bitboards.row(from)) : to;
+        undo.captured = pieceAt(capturedSquare);
+        undo.capturedSquare = capturedSquare;
+        if (capturedSquare != to && undo.captured != null) {
+            setPiece(Bitboards.column(capturedSquare), Bitboards.row(capturedSquare), null);
         }
-        return board[col][row];
+
+        movePiece(piece, from, to);
+
+        if (Moves.isCastling(move)) {
+            int row = Bitboards.row(from);
+            boolean kingside = to > from;
+            Piece rook = board[kingside ? 7 : 0][row];
+            undo.rook = rook;
+            undo.rookHadMoved = rook.hasMoved();
+            movePiece(rook, Bitboards.index(kingside ? 7 : 0, row), Bitboards.index(kingside ? 5 : 3, row));
+            rook.setHasMoved(true);
+        }
+        piece.setHasMoved(true);
+
+        PieceType promotion = Moves.promotion(move);
+        if (promotion != null) {
+            Piece promoted = undo.promoted;
+            // Só é reutilizada depois de desfeita a promoção para que foi criada (já fora do tabuleiro)
+            if (promoted == null || promoted.getType() != promotion || promoted.isWhite() != piece.isWhite()
+                    || pieceAt(promoted.getPosition().index()) == promoted) {
+                promoted = PieceFactoryType.createPiece(promotion, piece.isWhite(), Square.of(to));
+                undo.promoted = promoted;
+            }
+            promoted.setPosition(Square.of(to));
+            promoted.setHasMoved(false);
+            setPiece(Bitboards.column(to), Bitboards.row(to), promoted);
+        }
+
+        updateCastlingRights();
+        setLastMove(Square.of(from), Square.of(to), piece);
+        setWhiteToMove(!whiteToMove);
+        verifyZobristKey();
+        verifyPieceSquareScores();
     }
 
+    /**
+     * Desfaz a jogada registada em {@code undo}, repondo peças capturadas, torre do roque,
+     * peão capturado en passant, promoção, estado "já moveu", última jogada e vez de jogar.
+     * As jogadas devem ser desfeitas pela ordem inversa à que foram aplicadas.
+     */
+    public void unmakeMove(UndoInfo undo) {
+        int move = undo.move;
+        int from = Moves.from(move);
+        int to = Moves.to(move);
+        Piece piece = undo.piece;
+
+        setWhiteToMove(!whiteToMove);
+        if (Moves.isPromotion(move)) {
+            setPiece(Bitboards.column(to), Bitboards.row(to), piece); // repõe o peão no lugar da peça promovida
+        }
+        movePiece(piece, to, from);
+        piece.setHasMoved(undo.pieceHadMoved);
+
+        if (undo.rook != null) {
+            int row = Bitboards.row(from);
+            boolean kingside = to > from;
+            movePiece(undo.rook, Bitboards.index(kingside ? 5 : 3, row), Bitboards.index(kingside ? 7 : 0, row));
+            undo.rook.setHasMoved(undo.rookHadMoved);
+        }
+
+        if (undo.captured != null) {
+            setPiece(Bitboards.column(undo.capturedSquare), Bitboards.row(undo.capturedSquare), undo.captured);
+        }
 
+        updateCastlingRights();
+        setLastMove(undo.lastMoveFrom, undo.lastMoveTo, undo.lastMovedPiece);
+        if (hashDebug && zobristKey != undo.zobristKey) {
+            throw new IllegalStateException(String.format(
+                    "Zobrist key not restored by unmakeMove: %016x, expected %016x", zobristKey, undo.zobristKey));
+        }
+        verifyZobristKey();
+        verifyPieceSquareScores();
+    }
 
+    private void movePiece(Piece piece, int from, int to) {
+        setPiece(Bitboards.column(to), Bitboards.row(to), piece);
+        setPiece(Bitboards.column(from), Bitboards.row(from), null);
+        piece.setPosition(Square.of(to));
+    }
 
+    private Piece pieceAt(int square) {
+        return board[Bitboards.column(square)][Bitboards.row(square)];
+    }
 
-    public boolean isSquareUnderAttack(Square square, boolean isWhite) {
-        // Check if any opponent's piece can move to this square
+    /**
+     * Recalcula os ataques das peças deslizantes cujos raios passam pela casa alterada.
+     * O conjunto dessas peças não depende da ocupação da própria casa.
+     */
+    private void updateSlidersThrough(int square) {
+        long occupied = occupied();
+        long rookLike = pieceBitboards[PieceType.ROOK.ordinal()] | pieceBitboards[6 + PieceType.ROOK.ordinal()]
+                | pieceBitboards[PieceType.QUEEN.ordinal()] | pieceBitboards[6 + PieceType.QUEEN.ordinal()];
+        long bishopLike = pieceBitboards[PieceType.BISHOP.ordinal()] | pieceBitboards[6 + PieceType.BISHOP.ordinal()]
+                | pieceBitboards[PieceType.QUEEN.ordinal()] | pieceBitboards[6 + PieceType.QUEEN.ordinal()];
+        long sliders = (Bitboards.rookAttacks(square, occupied) & rookLike)
+                | (Bitboards.bishopAttacks(square, occupied) & bishopLike);
+        while (sliders != 0) {
+            int slider = Bitboards.first(sliders);
+            sliders &= sliders - 1;
+            Piece piece = board[Bitboards.column(slider)][Bitboards.row(slider)];
+            setAttacks(slider, piece.isWhite(), computeAttacks(piece, slider));
+        }
+    }
+
+    /**
+     * Substitui o conjunto de casas atacadas a partir de uma casa, atualizando
+     * as contagens de atacantes e o mapa da cor apenas nas casas que mudaram.
+     */
+    private void setAttacks(int square, boolean isWhite, long attacks) {
+        long old = attacksFrom[square];
+        if (old == attacks) {
+            return;
+        }
+        int colour = isWhite ? 0 : 1;
+        int base = colour * 64;
+        long removed = old & ~attacks;
+        while (removed != 0) {
+            int target = Bitboards.first(removed);
+            removed &= removed - 1;
+            if (--attackCounts[base + target] == 0) {
+                attackedBy[colour] &= ~Bitboards.bit(target);
+            }
+        }
+        long added = attacks & ~old;
+        while (added != 0) {
+            int target = Bitboards.first(added);
+            added &= added - 1;
+            if (attackCounts[base + target]++ == 0) {
+                attackedBy[colour] |= Bitboards.bit(target);
+            }
+        }
+        attacksFrom[square] = attacks;
+    }
+
+    private long computeAttacks(Piece piece, int square) {
+        PieceType type = piece.getType();
+        if (type == null) {
+            return 0L;
+        }
+        return switch (type) {
+            case PAWN -> Bitboards.pawnAttacks(square, piece.isWhite());
+            case KNIGHT -> Bitboards.knightAttacks(square);
+            case BISHOP -> Bitboards.bishopAttacks(square, occupied());
+            case ROOK -> Bitboards.rookAttacks(square, occupied());
+            case QUEEN -> Bitboards.queenAttacks(square, occupied());
+            case KING -> Bitboards.kingAttacks(square);
+        };
+    }
+
+    /**
+     * Acrescenta ou retira a peça da casa nos bitboards, na chave de Zobrist e na avaliação peça-casa.
+     */
+    private void togglePiece(Piece piece, int square) {
+        PieceType type = piece.getType();
+        if (type == null) {
+            return;
+        }
+        int index = bitboardIndex(type, piece.isWhite());
+        long bit = Bitboards.bit(square);
+        pieceBitboards[index] ^= bit;
+        colourBitboards[piece.isWhite() ? 0 : 1] ^= bit;
+        zobristKey ^= Zobrist.piece(index, square);
+        if (type == PieceType.PAWN) {
+            pawnKey ^= Zobrist.piece(index, square);
+        }
+
+        int sign = (pieceBitboards[index] & bit) != 0 ? 1 : -1; // peça adicionada ou removida
+        midgameScore += sign * PieceSquareTables.midgame(index, square);
+        endgameScore += sign * PieceSquareTables.endgame(index, square);
+        gamePhase += sign * PieceSquareTables.phase(type);
+    }
+
+    private static int bitboardIndex(PieceType type, boolean isWhite) {
+        return (isWhite ? 0 : 6) + type.ordinal();
+    }
+
+    /**
+     * Reconstrói o estado derivado (bitboards, mapas de ataque e chave de Zobrist) a partir de board[][].
+     */
+    private void rebuildDerivedState() {
+        pieceBitboards = new long[12];
+        colourBitboards = new long[2];
+        attacksFrom = new long[64];
+        attackCounts = new byte[128];
+        attackedBy = new long[2];
+        kingSquares = new int[]{-1, -1};
+        zobristKey = 0L;
+        pawnKey = 0L;
+        midgameScore = 0;
+        endgameScore = 0;
+        gamePhase = 0;
         for (int col = 0; col < BOARD_SIZE; col++) {
             for (int row = 0; row < BOARD_SIZE; row++) {
-                Piece piece = getPieceAt(col, row);
-                if (piece != null && piece.isWhite() != isWhite) {
-                    ArrayList<Square> moves = piece.getMoves(this);
-                    if (moves.contains(square)) {
-                        return true;
+                if (board[col][row] != null) {
+                    togglePiece(board[col][row], Bitboards.index(col, row));
+                    if (board[col][row].getType() == PieceType.KING) {
+                        kingSquares[board[col][row].isWhite() ? 0 : 1] = Bitboards.index(col, row);
                     }
                 }
             }
         }
-        return false;
+        for (int col = 0; col < BOARD_SIZE; col++) {
+            for (int row = 0; row < BOARD_SIZE; row++) {
+                Piece piece = board[col][row];
+                if (piece != null) {
+                    int square = Bitboards.index(col, row);
+                    setAttacks(square, piece.isWhite(), computeAttacks(piece, square));
+                }
+            }
+        }
+        castlingRights = computeCastlingRights();
+        enPassantFile = computeEnPassantFile();
+        zobristKey ^= Zobrist.castling(castlingRights) ^ Zobrist.enPassant(enPassantFile);
+        if (!whiteToMove) {
+            zobristKey ^= Zobrist.blackToMove();
+        }
+    }
+
+    /**
+     * Recalcula os direitos de roque e atualiza a chave se tiverem mudado.
+     * Chamado por setPiece quando entra ou sai um rei ou uma torre, e após cada jogada
+     * (o estado "já moveu" das peças muda depois de serem colocadas no destino).
+     */
+    public void updateCastlingRights() {
+        int rights = computeCastlingRights();
+        if (rights != castlingRights) {
+            zobristKey ^= Zobrist.castling(castlingRights) ^ Zobrist.castling(rights);
+            castlingRights = rights;
+        }
+    }
+
+    /**
+     * Direitos de roque segundo as mesmas condições de King.generateMoves: rei por mover na coluna e
+     * torre da mesma cor por mover no canto da mesma linha (sem contar casas livres nem ataques).
+     */
+    private int computeCastlingRights() {
+        return castlingRights(true) | castlingRights(false);
+    }
+
+    private int castlingRights(boolean isWhite) {
+        int king = kingSquares[isWhite ? 0 : 1];
+        if (king < 0 || Bitboards.column(king) != 4) {
+            return 0;
+        }
+        int row = Bitboards.row(king);
+        Piece piece = board[4][row];
+        if (piece.hasMoved()) {
+            return 0;
+        }
+        int rights = 0;
+        if (isUnmovedRook(board[7][row], isWhite)) {
+            rights |= isWhite ? Zobrist.WHITE_KINGSIDE : Zobrist.BLACK_KINGSIDE;
+        }
+        if (isUnmovedRook(board[0][row], isWhite)) {
+            rights |= isWhite ? Zobrist.WHITE_QUEENSIDE : Zobrist.BLACK_QUEENSIDE;
+        }
+        return rights;
+    }
+
+    private static boolean isUnmovedRook(Piece piece, boolean isWhite) {
+        return piece instanceof Rook && !piece.hasMoved() && piece.isWhite() == isWhite;
+    }
+
+    /**
+     * Atualiza a coluna en passant (e a chave) a partir da última jogada.
+     */
+    private void updateEnPassantFile() {
+        int file = computeEnPassantFile();
+        if (file != enPassantFile) {
+            zobristKey ^= Zobrist.enPassant(enPassantFile) ^ Zobrist.enPassant(file);
+            enPassantFile = file;
+        }
+    }
+
+    /**
+     * Coluna do peão que acabou de avançar duas casas, apenas se houver um peão inimigo ao lado
+     * que o possa capturar (posições sem captura possível ficam com a mesma chave).
+     */
+    private int computeEnPassantFile() {
+        if (!(lastMovedPiece instanceof Pawn) || lastMoveFrom == null || lastMoveTo == null
+                || Math.abs(lastMoveTo.row() - lastMoveFrom.row()) != 2) {
+            return -1;
+        }
+        int to = lastMoveTo.index();
+        long neighbours = ((Bitboards.bit(to) << 1) & Bitboards.NOT_FILE_A)
+                | ((Bitboards.bit(to) >>> 1) & Bitboards.NOT_FILE_H);
+        if ((neighbours & piecesOf(PieceType.PAWN, !lastMovedPiece.isWhite())) == 0) {
+            return -1;
+        }
+        return lastMoveTo.column();
+    }
+
+    /**
+     * Calcula a chave de Zobrist de raiz, sem usar o estado incremental.
+     */
+    public long computeZobristKey() {
+        long key = 0L;
+        for (int col = 0; col < BOARD_SIZE; col++) {
+            for (int row = 0; row < BOARD_SIZE; row++) {
+                Piece piece = board[col][row];
+                if (piece != null && piece.getType() != null) {
+                    key ^= Zobrist.piece(bitboardIndex(piece.getType(), piece.isWhite()), Bitboards.index(col, row));
+                }
+            }
+        }
+        key ^= Zobrist.castling(computeCastlingRights()) ^ Zobrist.enPassant(computeEnPassantFile());
+        return whiteToMove ? key : key ^ Zobrist.blackToMove();
     }
 
+    /**
+     * Calcula a chave de Zobrist dos peões de raiz, sem usar o estado incremental.
+     */
+    public long computePawnKey() {
+        long key = 0L;
+        for (int col = 0; col < BOARD_SIZE; col++) {
+            for (int row = 0; row < BOARD_SIZE; row++) {
+                Piece piece = board[col][row];
+                if (piece != null && piece.getType() == PieceType.PAWN) {
+                    key ^= Zobrist.piece(bitboardIndex(PieceType.PAWN, piece.isWhite()), Bitboards.index(col, row));
+                }
+            }
+        }
+        return key;
+    }
 
+    /**
+     * Em modo de depuração, confirma que as chaves incrementais (posição e peões) são iguais às calculadas de raiz.
+     * @throws IllegalStateException se as chaves forem diferentes
+     */
+    public void verifyZobristKey() {
+        if (!hashDebug) {
+            return;
+        }
+        long expected = computeZobristKey();
+        if (expected != zobristKey) {
+            throw new IllegalStateException(String.format(
+                    "Zobrist key mismatch: incremental %016x, recomputed %016x (%s)", zobristKey, expected, this));
+        }
+        long expectedPawns = computePawnKey();
+        if (expectedPawns != pawnKey) {
+            throw new IllegalStateException(String.format(
+                    "Pawn key mismatch: incremental %016x, recomputed %016x (%s)", pawnKey, expectedPawns, this));
+        }
+    }
+
+    /**
+     * Soma de raiz dos valores peça-casa de meio-jogo e de final e da fase do jogo, sem usar o estado
+     * incremental.
+     * @param scores Array onde são escritos {meio-jogo, final, fase}
+     */
+    public void computePieceSquareScores(int[] scores) {
+        scores[0] = scores[1] = scores[2] = 0;
+        for (int col = 0; col < BOARD_SIZE; col++) {
+            for (int row = 0; row < BOARD_SIZE; row++) {
+                Piece piece = board[col][row];
+                if (piece != null && piece.getType() != null) {
+                    int index = bitboardIndex(piece.getType(), piece.isWhite());
+                    int square = Bitboards.index(col, row);
+                    scores[0] += PieceSquareTables.midgame(index, square);
+                    scores[1] += PieceSquareTables.endgame(index, square);
+                    scores[2] += PieceSquareTables.phase(piece.getType());
+                }
+            }
+        }
+    }
+
+    /**
+     * Em modo de depuração, confirma que a avaliação peça-casa incremental é igual à calculada de raiz.
+     * @throws IllegalStateException se forem diferentes
+     */
+    public void verifyPieceSquareScores() {
+        if (!hashDebug) {
+            return;
+        }
+        if (verifyScores == null) {
+            verifyScores = new int[3];
+        }
+        int[] expected = verifyScores;
+        computePieceSquareScores(expected);
+        if (expected[0] != midgameScore || expected[1] != endgameScore || expected[2] != gamePhase) {
+            throw new IllegalStateException(String.format(
+                    "Piece-square scores mismatch: incremental %d/%d/%d, recomputed %d/%d/%d (%s)",
+                    midgameScore, endgameScore, gamePhase, expected[0], expected[1], expected[2], this));
+        }
+    }
+
+    public static boolean isHashDebug() {
+        return hashDebug;
+    }
+
+    public static void setHashDebug(boolean enabled) {
+        hashDebug = enabled;
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        rebuildDerivedState();
+    }
+
+    public boolean isWithinBounds(int col, int row) {
+        return col >= 0 && col < BOARD_SIZE && row >= 0 && row < BOARD_SIZE;
+    }
+
+    public Piece getPieceAt(int col, int row) {
+        if (!isWithinBounds(col, row)) {
+            return null;
+        }
+        return board[col][row];
+    }
+
+    /**
+     * Bitboard de todas as casas ocupadas.
+     */
+    public long occupied() {
+        return colourBitboards[0] | colourBitboards[1];
+    }
+
+    /**
+     * Bitboard das casas ocupadas por peças da cor indicada.
+     */
+    public long occupied(boolean isWhite) {
+        return colourBitboards[isWhite ? 0 : 1];
+    }
+
+    /**
+     * Bitboard das peças de um tipo e cor.
+     */
+    public long piecesOf(PieceType type, boolean isWhite) {
+        return pieceBitboards[bitboardIndex(type, isWhite)];
+    }
+
+    /**
+     * Casas atacadas pela peça que está na casa indicada (0 se a casa estiver vazia).
+     * @param square Índice da casa (ver {@link Bitboards#index(int, int)})
+     */
+    public long attacks(int square) {
+        return attacksFrom[square];
+    }
+
+    /**
+     * Casa do rei da cor indicada, mantida por {@link #setPiece(int, int, Piece)}.
+     * @return A casa do rei, ou null se não houver rei dessa cor no tabuleiro
+     */
+    public Square getKingSquare(boolean isWhite) {
+        int square = kingSquares[isWhite ? 0 : 1];
+        return square < 0 ? null : Square.of(square);
+    }
+
+    /**
+     * Índice da casa do rei da cor indicada, ou -1 se não houver rei dessa cor.
+     */
+    public int getKingIndex(boolean isWhite) {
+        return kingSquares[isWhite ? 0 : 1];
+    }
+
+    /**
+     * Mapa das casas atacadas por pelo menos uma peça da cor indicada.
+     */
+    public long attackedBy(boolean isWhite) {
+        return attackedBy[isWhite ? 0 : 1];
+    }
+
+    /**
+     * Peças da cor indicada que atacam a casa.
+     * @param square Índice da casa
+     * @param byWhite true para atacantes brancos, false para pretos
+     * @return Bitboard com as casas dos atacantes
+     */
+    public long attackersTo(int square, boolean byWhite) {
+        return attackersTo(square, byWhite, occupied());
+    }
+
+    /**
+     * Peças da cor indicada que atacariam a casa com a ocupação dada
+     * (útil para ver através de peças que vão sair do caminho, ex: o próprio rei).
+     */
+    public long attackersTo(int square, boolean byWhite, long occupied) {
+        long queens = piecesOf(PieceType.QUEEN, byWhite);
+        return (Bitboards.pawnAttacks(square, !byWhite) & piecesOf(PieceType.PAWN, byWhite))
+                | (Bitboards.knightAttacks(square) & piecesOf(PieceType.KNIGHT, byWhite))
+                | (Bitboards.kingAttacks(square) & piecesOf(PieceType.KING, byWhite))
+                | (Bitboards.bishopAttacks(square, occupied) & (piecesOf(PieceType.BISHOP, byWhite) | queens))
+                | (Bitboards.rookAttacks(square, occupied) & (piecesOf(PieceType.ROOK, byWhite) | queens));
+    }
+
+    /**
+     * Indica se a casa é atacada por alguma peça da cor indicada.
+     * @param square Índice da casa
+     * @param byWhite true para atacantes brancos, false para pretos
+     */
+    public boolean isSquareAttacked(int square, boolean byWhite) {
+        return (attackedBy[byWhite ? 0 : 1] & Bitboards.bit(square)) != 0;
+    }
+
+    public boolean isSquareUnderAttack(Square square, boolean isWhite) {
+        // Verifica se alguma peça do adversário ataca esta casa
+        return isSquareAttacked(square.index(), !isWhite);
+    }
 
     public void setPromotionHandler(PromotionHandler handler) {
         this.promotionHandler = handler;
@@ -161,8 +750,65 @@ public class Board implements Serializable {
         return BOARD_SIZE;
     }
 
+    /**
+     * Chave de Zobrist da posição (peças, lado a jogar, direitos de roque e en passant).
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * Chave de Zobrist só com os peões das duas cores, para as tabelas da estrutura de peões.
+     */
+    public long getPawnKey() {
+        return pawnKey;
+    }
+
+    /**
+     * Direitos de roque atuais (máscara de {@link Zobrist#WHITE_KINGSIDE} e restantes).
+     */
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    /**
+     * Coluna do peão que pode ser capturado en passant, ou -1.
+     */
+    public int getEnPassantFile() {
+        return enPassantFile;
+    }
+
+    /**
+     * Soma dos valores peça-casa de meio-jogo (material incluído), brancas menos pretas.
+     */
+    public int getMidgameScore() {
+        return midgameScore;
+    }
+
+    /**
+     * Soma dos valores peça-casa de final (material incluído), brancas menos pretas.
+     */
+    public int getEndgameScore() {
+        return endgameScore;
+    }
 
+    /**
+     * Fase do jogo: {@link PieceSquareTables#MAX_PHASE} com todas as peças, 0 só com reis e peões.
+     */
+    public int getGamePhase() {
+        return gamePhase;
+    }
 
+    public boolean isWhiteToMove() {
+        return whiteToMove;
+    }
+
+    public void setWhiteToMove(boolean whiteToMove) {
+        if (this.whiteToMove != whiteToMove) {
+            this.whiteToMove = whiteToMove;
+            zobristKey ^= Zobrist.blackToMove();
+        }
+    }
 
     public void clearBoard() {
         for (int row = 0; row < getBoardSize(); row++) {
@@ -170,6 +816,7 @@ public class Board implements Serializable {
                 setPiece(col, row, null);
             }
         }
+        setLastMove(null, null, null);
     }
 
     public Square getLastMoveTo() {
@@ -185,13 +832,26 @@ public class Board implements Serializable {
     }
     public void setLastMoveTo(Square lastMoveTo) {
         this.lastMoveTo = lastMoveTo;
+        updateEnPassantFile();
     }
 
     public void setLastMovedPiece(Piece piece) {
         this.lastMovedPiece = piece;
+        updateEnPassantFile();
     }
 
     public void setLastMoveFrom(Square lastMoveFrom) {
         this.lastMoveFrom = lastMoveFrom;
+        updateEnPassantFile();
+    }
+
+    /**
+     * Regista a última jogada (usada para en passant) de uma só vez.
+     */
+    public void setLastMove(Square from, Square to, Piece piece) {
+        this.lastMoveFrom = from;
+        this.lastMoveTo = to;
+        this.lastMovedPiece = piece;
+        updateEnPassantFile();
     }
 }
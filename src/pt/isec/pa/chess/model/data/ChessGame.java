@@ -9,14 +9,18 @@
 
 package pt.isec.pa.chess.model.data;
 
+import pt.isec.pa.chess.model.ModelLog;
 import pt.isec.pa.chess.model.data.memento.IMemento;
 import pt.isec.pa.chess.model.data.memento.IOriginator;
 import pt.isec.pa.chess.model.data.memento.Memento;
 import pt.isec.pa.chess.model.data.pieces.*;
+import pt.isec.pa.chess.model.tablebase.TablebaseResult;
+import pt.isec.pa.chess.model.tablebase.Tablebases;
 import pt.isec.pa.chess.ui.Point;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 //Facade
 public class ChessGame implements Serializable, IOriginator {
@@ -30,6 +34,15 @@ public class ChessGame implements Serializable, IOriginator {
     private boolean promotionPending = false;
     private Square promotionSquare = null;
     private transient PromotionHandler promotionHandler;
+    private transient MoveList moveBuffer; // reused by move generation, see getMoveBuffer()
+    private transient UndoInfo moveUndo;   // scratch record for move(), which is undone through the caretaker
+    private transient UndoInfo[] undoStack; // records handed out by makeMove, one per ply
+    private transient int undoCount;
+    private transient Tablebases tablebases; // endgame adjudication, see getGameResult()
+    private transient Board resultBoard;      // position of the cached result, see updateResult()
+    private transient long resultKey;
+    private transient GameResult result;      // null = not computed yet
+    private transient boolean adjudicated;
 
 
     public ChessGame() {
@@ -78,6 +91,7 @@ public class ChessGame implements Serializable, IOriginator {
         isGameOver = false;
         promotionPending = false;
         promotionSquare = null;
+        undoCount = 0;
         
         // Reset board size reference
         BOARD_SIZE = board.getBoardSize();
@@ -108,115 +122,123 @@ public class ChessGame implements Serializable, IOriginator {
      * @return true se o movimento foi realizado com sucesso
      */
     public boolean move(Square from, Square to) {
+        return move(from, to, null);
+    }
+
+    /**
+     * Tenta mover uma peça, indicando já a peça de promoção (usado pelo motor de pesquisa,
+     * que não deve abrir o diálogo de promoção).
+     * @param promotion Peça de promoção, ou null para perguntar ao {@link PromotionHandler} se for necessária
+     * @return true se o movimento foi realizado com sucesso
+     */
+    public boolean move(Square from, Square to, PieceType promotion) {
         if (isGameOver) return false;
 
         Piece piece = board.getPieceAt(from.column(), from.row());
         if (piece == null || piece.isWhite() != currentPlayer.isWhite()) return false;
 
-        ArrayList<Square> validMoves = piece.getMoves(board);
-        if (!validMoves.contains(to)) return false;
-
-        // Guarda estado atual
-        Square originalPosition = piece.getPosition();
-        Piece targetPiece = board.getPieceAt(to.column(), to.row());
-
-        // En Passant
-        boolean isEnPassantCapture = false;
-        if (piece instanceof Pawn &&
-                from.column() != to.column() &&
-                targetPiece == null) {
-
-            Piece lastMoved = board.getLastMovedPiece();
-            Square lastFrom = board.getLastMoveFrom();
-            Square lastTo = board.getLastMoveTo();
+        int move = findLegalMove(from, to, promotion);
+        if (move == Moves.NONE) return false;
 
-            if (lastMoved instanceof Pawn &&
-                    lastFrom != null && lastTo != null &&
-                    Math.abs(lastTo.row() - lastFrom.row()) == 2 &&
-                    lastTo.column() == to.column() &&
-                    lastTo.row() == from.row()) {
+        // Promoção
+        if (promotion == null && Moves.isPromotion(move)) {
+            PieceType choice = promotionHandler != null ? promotionHandler.getPromotionChoice() : PieceType.QUEEN;
 
-                isEnPassantCapture = true;
-                board.setPiece(lastTo.column(), lastTo.row(), null); // Remove o peão capturado
+            int chosen = findLegalMove(from, to, choice);
+            if (chosen == Moves.NONE) {
+                ModelLog.getInstance().addEntry("Peça de promoção inválida (" + choice + "), promovido a dama");
+                chosen = findLegalMove(from, to, PieceType.QUEEN);
             }
+            move = chosen;
         }
 
+        // Aplica movimento (já validado pelo gerador de jogadas legais), incluindo roque e en passant
+        board.makeMove(move, getMoveUndo());
 
-        // Aplica movimento temporariamente
-        board.setPiece(to.column(), to.row(), piece);
-        board.setPiece(from.column(), from.row(), null);
-        piece.setPosition(to);
-
-        // Verifica se move deixa rei em xeque
-        if (isPlayerInCheck(piece.isWhite())) {
-            // Undo
-            board.setPiece(from.column(), from.row(), piece);
-            board.setPiece(to.column(), to.row(), targetPiece);
-            piece.setPosition(originalPosition);
-            return false;
+        // Verifica fim de jogo
+        GameResult result = getGameResult();
+        if (result != GameResult.IN_PROGRESS) {
+            isGameOver = true;
+            return true;
         }
 
-        // Roque
-        if (piece instanceof King && Math.abs(to.column() - from.column()) == 2) {
-            boolean kingside = to.column() > from.column();
-            int rookFromCol = kingside ? 7 : 0;
-            int rookToCol = kingside ? 5 : 3;
+        // Troca de jogador
+        switchTurn();
+        return true;
+    }
 
-            Piece rook = board.getPieceAt(rookFromCol, from.row());
-            if (rook instanceof Rook) {
-                board.setPiece(rookToCol, from.row(), rook);
-                board.setPiece(rookFromCol, from.row(), null);
-                rook.setPosition(new Square(rookToCol, from.row()));
-                rook.setHasMoved();
-            }
+    /**
+     * Aplica uma jogada codificada (ver {@link Moves}) sem validação nem verificação de fim de jogo,
+     * para uso por pesquisas, perft e validações em massa. Não aloca memória em regime normal.
+     * @param move Jogada legal, obtida do {@link MoveGenerator}
+     * @return Registo a passar a {@link #unmakeMove(UndoInfo)} (reutilizado pelas jogadas seguintes
+     *         depois de desfeita)
+     */
+    public UndoInfo makeMove(int move) {
+        if (undoStack == null) {
+            undoStack = new UndoInfo[16];
+        } else if (undoCount == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoCount * 2);
+        }
+        UndoInfo undo = undoStack[undoCount];
+        if (undo == null) {
+            undo = undoStack[undoCount] = new UndoInfo();
         }
+        undoCount++;
+        board.makeMove(move, undo);
+        currentPlayer = board.isWhiteToMove() ? whitePlayer : blackPlayer;
+        return undo;
+    }
 
-        piece.setHasMoved();
-        board.setLastMoveFrom(from);
-        board.setLastMoveTo(to);
-        board.setLastMovedPiece(piece);
-        // Promoção
-        if (piece instanceof Pawn p &&
-                (p.isWhite() && p.getPosition().row() == 0 || !p.isWhite() && p.getPosition().row() == 7)) {
+    /**
+     * Desfaz a última jogada aplicada com {@link #makeMove(int)}.
+     */
+    public void unmakeMove(UndoInfo undo) {
+        if (undoCount == 0 || undoStack[undoCount - 1] != undo) {
+            throw new IllegalStateException("Moves must be unmade in reverse order");
+        }
+        undoCount--;
+        board.unmakeMove(undo);
+        currentPlayer = board.isWhiteToMove() ? whitePlayer : blackPlayer;
+    }
 
-            PieceType choice = PieceType.QUEEN; // Default fallback
-            
-            if (promotionHandler != null) {
-                System.out.println("Promotion handler found: " + promotionHandler.getClass().getSimpleName());
-                choice = promotionHandler.getPromotionChoice();
-            } else {
-                System.out.println("NO PROMOTION HANDLER SET - defaulting to Queen");
+    /**
+     * Procura entre as jogadas legais da peça em {@code from} a que vai para {@code to}.
+     * @param promotion Peça de promoção pretendida, ou null para aceitar a primeira jogada encontrada
+     * @return A jogada codificada, ou {@link Moves#NONE} se não for legal
+     */
+    private int findLegalMove(Square from, Square to, PieceType promotion) {
+        MoveList moves = getMoveBuffer();
+        moves.clear();
+        MoveGenerator.generateLegalMoves(board, from.index(), moves);
+        int target = to.index();
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (Moves.to(move) == target && (promotion == null || Moves.promotion(move) == promotion)) {
+                return move;
             }
-            
-            char code = switch (choice) {
-                case QUEEN  -> p.isWhite() ? 'Q' : 'q';
-                case ROOK   -> p.isWhite() ? 'R' : 'r';
-                case BISHOP -> p.isWhite() ? 'B' : 'b';
-                case KNIGHT -> p.isWhite() ? 'N' : 'n';
-                default     -> {
-                    System.out.println("Unknown piece type: " + choice + ", defaulting to Queen");
-                    yield p.isWhite() ? 'Q' : 'q';
-                }
-            };
-            
-            System.out.println("Creating piece with code: " + code); // Debug line
-            board.setPieceFromChar(p.getPosition().column(), p.getPosition().row(), code);
         }
+        return Moves.NONE;
+    }
 
-        // Verifica fim de jogo
-        GameResult result = getGameResult();
-        if (result != GameResult.IN_PROGRESS) {
-            isGameOver = true;
-            return true;
+    private UndoInfo getMoveUndo() {
+        if (moveUndo == null) {
+            moveUndo = new UndoInfo();
         }
+        moveUndo.promoted = null; // never unmade, so a piece promoted by an earlier move is still in play
+        return moveUndo;
+    }
 
-        // Troca de jogador
-        switchTurn();
-        return true;
+    private MoveList getMoveBuffer() {
+        if (moveBuffer == null) {
+            moveBuffer = new MoveList();
+        }
+        return moveBuffer;
     }
 
     private void switchTurn() {
         currentPlayer = (currentPlayer == whitePlayer) ? blackPlayer : whitePlayer;
+        board.setWhiteToMove(currentPlayer.isWhite());
     }
 
     public Player getCurrentPlayer() {
@@ -272,6 +294,7 @@ public class ChessGame implements Serializable, IOriginator {
         if (playerTurn == null) {
             throw new IllegalArgumentException("Invalid or missing player turn indicator");
         }
+        board.setWhiteToMove(currentPlayer.isWhite());
         
         // Process each piece starting from after the player indicator
         for (int i = startIndex; i < parts.length; i++) {
@@ -314,7 +337,99 @@ public class ChessGame implements Serializable, IOriginator {
         
         // Reset game state
         isGameOver = false;
+        undoCount = 0;
     }
+    /**
+     * Importa uma posição em notação FEN (ex: posições de referência de perft).
+     * Os direitos de roque são convertidos no estado "já moveu" do rei e das torres, os peões fora
+     * da linha inicial ficam marcados como movidos e a casa en passant é simulada como última jogada.
+     * Os contadores de meias-jogadas e de jogadas são ignorados.
+     * @param fen Posição em FEN
+     */
+    public void importFen(String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        if (fields.length < 2) {
+            throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        String castling = fields.length > 2 ? fields[2] : "-";
+        String enPassant = fields.length > 3 ? fields[3] : "-";
+
+        PromotionHandler currentHandler = this.promotionHandler;
+        board.clearBoard();
+
+        String[] ranks = fields[0].split("/");
+        if (ranks.length != BOARD_SIZE) {
+            throw new IllegalArgumentException("Invalid FEN board: " + fields[0]);
+        }
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            int col = 0;
+            for (char c : ranks[row].toCharArray()) {
+                if (Character.isDigit(c)) {
+                    col += c - '0';
+                    continue;
+                }
+                Piece piece = createPieceFromChar(c, col, row);
+                if (piece == null || !isWithinBounds(col, row)) {
+                    throw new IllegalArgumentException("Invalid FEN board: " + fields[0]);
+                }
+                if (!isUnmovedInFen(piece, castling)) {
+                    piece.setHasMoved();
+                }
+                board.setPiece(col, row, piece);
+                col++;
+            }
+        }
+
+        switch (fields[1]) {
+            case "w" -> currentPlayer = whitePlayer;
+            case "b" -> currentPlayer = blackPlayer;
+            default -> throw new IllegalArgumentException("Invalid FEN side to move: " + fields[1]);
+        }
+        board.setWhiteToMove(currentPlayer.isWhite());
+
+        if (!enPassant.equals("-")) {
+            // The pawn that just moved two squares stands one row beyond the en passant square
+            int col = enPassant.charAt(0) - 'a';
+            int row = 8 - (enPassant.charAt(1) - '0');
+            int direction = currentPlayer.isWhite() ? 1 : -1;
+            Piece pawn = board.getPieceAt(col, row + direction);
+            if (pawn instanceof Pawn) {
+                board.setLastMove(Square.of(col, row - direction), Square.of(col, row + direction), pawn);
+            }
+        }
+
+        whitePlayer.setName("White Player");
+        blackPlayer.setName("Black Player");
+        this.promotionHandler = currentHandler;
+        isGameOver = false;
+        undoCount = 0;
+    }
+
+    /**
+     * Cria um jogo na posição FEN indicada (ver {@link #importFen(String)}).
+     * @throws IllegalArgumentException se o FEN não for válido
+     */
+    public static ChessGame fromFen(String fen) {
+        ChessGame game = new ChessGame();
+        game.importFen(fen);
+        return game;
+    }
+
+    private static boolean isUnmovedInFen(Piece piece, String castling) {
+        int homeRow = piece.isWhite() ? 7 : 0;
+        Square position = piece.getPosition();
+        return switch (piece.getType()) {
+            case PAWN -> position.row() == (piece.isWhite() ? 6 : 1);
+            case KING -> position.row() == homeRow && position.column() == 4
+                    && (castling.indexOf(piece.isWhite() ? 'K' : 'k') >= 0
+                        || castling.indexOf(piece.isWhite() ? 'Q' : 'q') >= 0);
+            case ROOK -> position.row() == homeRow
+                    && (position.column() == 7 && castling.indexOf(piece.isWhite() ? 'K' : 'k') >= 0
+                        || position.column() == 0 && castling.indexOf(piece.isWhite() ? 'Q' : 'q') >= 0);
+            default -> false;
+        };
+    }
+
     /**
      * Exporta o estado atual do jogo para uma string em formato CSV compatível com importGame.
      * @return Representação textual do jogo em formato CSV
@@ -379,6 +494,14 @@ public class ChessGame implements Serializable, IOriginator {
 
     public String getGameStatus() {
         GameResult result = getGameResult();
+        String prefix = isGameOver ? "Game Over - " : "";
+        if (result != GameResult.IN_PROGRESS && isAdjudicated()) {
+            return prefix + switch (result) {
+                case WHITE_WINS -> "White wins (tablebase)";
+                case BLACK_WINS -> "Black wins (tablebase)";
+                default -> "Draw (tablebase)";
+            };
+        }
         if (isGameOver) {
             return switch (result) {
                 case WHITE_WINS ->
@@ -398,6 +521,8 @@ public class ChessGame implements Serializable, IOriginator {
                 "Checkmate! Black wins!";
             case STALEMATE ->
                 "Game drawn by stalemate";
+            case DRAW ->
+                "Game drawn";
             case IN_PROGRESS -> {
                 if (isPlayerInCheck(currentPlayer.isWhite())) {
                     yield "Check! " + (currentPlayer.isWhite() ? "White" : "Black") + " to move";
@@ -501,6 +626,7 @@ public class ChessGame implements Serializable, IOriginator {
             this.BOARD_SIZE = restored.BOARD_SIZE;
             this.promotionPending = restored.promotionPending;
             this.promotionSquare = restored.promotionSquare;
+            this.undoCount = 0;
         }
     
         // Restore the promotion handler (since it's set by the UI layer)
@@ -510,7 +636,7 @@ public class ChessGame implements Serializable, IOriginator {
     private Piece createPieceFromChar(char pieceChar, int col, int row) {
         boolean isWhite = Character.isUpperCase(pieceChar);
         char type = Character.toUpperCase(pieceChar);
-        Square pos = new Square(col, row);
+        Square pos = Square.of(col, row);
         
         return switch (type) {
             case 'P' -> new Pawn(isWhite, pos);
@@ -551,57 +677,101 @@ public class ChessGame implements Serializable, IOriginator {
      * @return true se o jogador está em xeque
      */
     public boolean isPlayerInCheck(boolean isWhite) {
-        Square kingPosition = findKingPosition(isWhite);
-        if (kingPosition == null) {
+        int kingSquare = board.getKingIndex(isWhite);
+        if (kingSquare < 0) {
             return false;
         }
 
-        // Check if any opponent piece can attack the king
-        for (int col = 0; col < BOARD_SIZE; col++) {
-            for (int row = 0; row < BOARD_SIZE; row++) {
-                Piece opponentPiece = board.getPieceAt(col, row);
-                if (opponentPiece != null && opponentPiece.isWhite() != isWhite) {
-                    ArrayList<Square> moves = opponentPiece.getMoves(board);
-                    if (moves.contains(kingPosition)) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
-    }
-
-    private Square findKingPosition(boolean isWhite) {
-        for (int col = 0; col < BOARD_SIZE; col++) {
-            for (int row = 0; row < BOARD_SIZE; row++) {
-                Piece piece = board.getPieceAt(col, row);
-                if (piece instanceof King && piece.isWhite() == isWhite) {
-                    return new Square(col, row);
-                }
-            }
-        }
-        return null;
+        // Check if any opponent piece attacks the king
+        return board.isSquareAttacked(kingSquare, !isWhite);
     }
 
     public Piece getPieceAt(int col, int row) {
         return board.getPieceAt(col,row);
     }
 
+    /**
+     * Casas para onde a peça na posição indicada pode mover legalmente (uma casa por promoção).
+     * @param col Coluna da peça
+     * @param row Linha da peça
+     * @return Lista de destinos (vazia se não houver peça)
+     */
     public ArrayList<Point> getValidMovesAt(int col, int row) {
         ArrayList<Point> validMoves = new ArrayList<>();
-        for (Square square : board.getPieceAt(col, row).getMoves(board)) {
-            validMoves.add(new Point(square.column(), square.row()));
+        MoveList moves = getMoveBuffer();
+        moves.clear();
+        MoveGenerator.generateLegalMoves(board, Bitboards.index(col, row), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (Moves.isPromotion(move) && Moves.promotion(move) != PieceType.QUEEN) {
+                continue;
+            }
+            int to = Moves.to(move);
+            validMoves.add(new Point(Bitboards.column(to), Bitboards.row(to)));
         }
         return validMoves;
     }
 
+    /**
+     * Avaliação estática da troca iniciada pela jogada (ver {@link StaticExchange}): saldo material,
+     * em centipeões, para quem faz a jogada se ambos os lados continuarem a recapturar na casa de destino.
+     * As promoções são avaliadas como promoção a dama.
+     * @return O saldo, ou {@link Integer#MIN_VALUE} se a jogada não for legal
+     */
+    public int staticExchange(Square from, Square to) {
+        int move = findLegalMove(from, to, null);
+        if (move != Moves.NONE && Moves.isPromotion(move)) {
+            move = findLegalMove(from, to, PieceType.QUEEN);
+        }
+        return move == Moves.NONE ? Integer.MIN_VALUE : StaticExchange.evaluate(board, move);
+    }
 
+    /**
+     * Peças do adversário que o jogador atual pode ganhar, isto é, que têm uma captura legal
+     * com saldo positivo segundo a avaliação estática de trocas.
+     * @return Casas dessas peças
+     */
+    public ArrayList<Point> getWinnablePieces() {
+        ArrayList<Point> winnable = new ArrayList<>();
+        MoveList moves = getMoveBuffer();
+        moves.clear();
+        MoveGenerator.generateLegalMoves(board, currentPlayer.isWhite(), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (!Moves.isCapture(move) || StaticExchange.evaluate(board, move) <= 0) {
+                continue;
+            }
+            int to = Moves.to(move);
+            int row = Moves.isEnPassant(move) ? Bitboards.row(Moves.from(move)) : Bitboards.row(to);
+            Point target = new Point(Bitboards.column(to), row);
+            if (!winnable.contains(target)) {
+                winnable.add(target);
+            }
+        }
+        return winnable;
+    }
 
     /**
      * Indica o estado atual do jogo (em progresso, xeque-mate, empate).
+     * Com tabelas de finais ({@link #setTablebases(Tablebases)}), uma posição que esteja nas tabelas
+     * termina logo com o resultado do jogo perfeito.
      * @return Estado do jogo
      */
     public GameResult getGameResult() {
+        updateResult();
+        return result;
+    }
+
+    // The result is computed once per position: after a move the game, the manager and the UI all ask for it
+    private void updateResult() {
+        long key = board.getZobristKey();
+        if (result != null && resultBoard == board && resultKey == key) {
+            return;
+        }
+        resultBoard = board;
+        resultKey = key;
+        adjudicated = false;
+
         boolean whiteInCheck = isPlayerInCheck(true);
         boolean blackInCheck = isPlayerInCheck(false);
 
@@ -610,56 +780,56 @@ public class ChessGame implements Serializable, IOriginator {
         boolean blackHasMoves = hasLegalMoves(false);
 
         if (whiteInCheck && !whiteHasMoves) {
-            return GameResult.BLACK_WINS;
+            result = GameResult.BLACK_WINS;
+        } else if (blackInCheck && !blackHasMoves) {
+            result = GameResult.WHITE_WINS;
+        } else if (!whiteHasMoves || !blackHasMoves) {
+            result = GameResult.STALEMATE;
+        } else {
+            result = adjudicate();
+            adjudicated = result != GameResult.IN_PROGRESS;
         }
-        if (blackInCheck && !blackHasMoves) {
-            return GameResult.WHITE_WINS;
+    }
+
+    private GameResult adjudicate() {
+        if (tablebases == null || !Tablebases.covers(board)) {
+            return GameResult.IN_PROGRESS;
         }
-        if (!whiteHasMoves || !blackHasMoves) {
-            return GameResult.STALEMATE;
+        TablebaseResult probed = tablebases.probe(board);
+        if (probed == null) {
+            return GameResult.IN_PROGRESS;
         }
+        boolean whiteToMove = board.isWhiteToMove();
+        return switch (probed.outcome()) {
+            case WIN -> whiteToMove ? GameResult.WHITE_WINS : GameResult.BLACK_WINS;
+            case LOSS -> whiteToMove ? GameResult.BLACK_WINS : GameResult.WHITE_WINS;
+            case DRAW -> GameResult.DRAW;
+        };
+    }
 
-        return GameResult.IN_PROGRESS;
+    /**
+     * Indica se o resultado do jogo foi decidido pelas tabelas de finais (e não por mate ou afogamento).
+     */
+    public boolean isAdjudicated() {
+        updateResult();
+        return adjudicated;
+    }
+
+    /**
+     * Define as tabelas de finais usadas para terminar o jogo (null para desativar).
+     */
+    public void setTablebases(Tablebases tablebases) {
+        this.tablebases = tablebases;
+        result = null;
+    }
+
+    public Tablebases getTablebases() {
+        return tablebases;
     }
 
 
     private boolean hasLegalMoves(boolean isWhite) {
-        // Get all pieces of the current player
-        for (int col = 0; col < BOARD_SIZE; col++) {
-            for (int row = 0; row < BOARD_SIZE; row++) {
-                Piece piece = board.getPieceAt(col, row);
-                if (piece != null && piece.isWhite() == isWhite) {
-                    // Get all possible moves for this piece
-                    ArrayList<Square> moves = piece.getMoves(board);
-
-                    // Try each move to see if it's legal
-                    for (Square move : moves) {
-                        // Save current state
-                        Square originalPosition = piece.getPosition();
-                        Piece targetPiece = board.getPieceAt(move.column(), move.row());
-
-                        // Try move
-                        board.setPiece(move.column(), move.row(), piece);
-                        board.setPiece(originalPosition.column(), originalPosition.row(), null);
-                        piece.setPosition(move);
-
-                        // Check if move is legal (doesn't leave king in check)
-                        boolean causesCheck = isPlayerInCheck(isWhite);
-
-                        // Restore position
-                        board.setPiece(originalPosition.column(), originalPosition.row(), piece);
-                        board.setPiece(move.column(), move.row(), targetPiece);
-                        piece.setPosition(originalPosition);
-
-                        // If we found a legal move, return true
-                        if (!causesCheck) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-        return false;
+        return MoveGenerator.hasLegalMoves(board, isWhite, getMoveBuffer());
     }
 
     /**
@@ -4,5 +4,6 @@ public enum GameResult {
     IN_PROGRESS,
     WHITE_WINS,
     BLACK_WINS,
-    STALEMATE
+    STALEMATE,
+    DRAW // decided by the endgame tablebases
 }
@@ -0,0 +1,173 @@
+/**
+ * Gerador de jogadas estritamente legais.
+ * Calcula uma única vez por posição as peças que dão xeque e as peças cravadas, e usa-as
+ * para filtrar as jogadas pseudo-legais de cada peça sem aplicar nenhuma jogada ao tabuleiro.
+ *
+ * Trata xeque duplo (só o rei pode mover), capturas en passant que descobrem xeque
+ * e roque (o rei não pode estar, passar ou ficar em xeque).
+ */
+
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+public final class MoveGenerator {
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Acrescenta à lista todas as jogadas legais do jogador indicado.
+     */
+    public static void generateLegalMoves(Board board, boolean isWhite, MoveList moves) {
+        int king = board.getKingIndex(isWhite);
+        long checkers = king < 0 ? 0L : board.attackersTo(king, !isWhite);
+        long evasionMask = evasionMask(king, checkers);
+        long pinned = pinnedPieces(board, king, isWhite);
+
+        long pieces = board.occupied(isWhite);
+        while (pieces != 0) {
+            int square = Bitboards.first(pieces);
+            pieces &= pieces - 1;
+            generatePieceMoves(board, square, isWhite, king, evasionMask, pinned, moves);
+        }
+    }
+
+    /**
+     * Acrescenta à lista as jogadas legais da peça na casa indicada.
+     * @param square Índice da casa da peça (ver {@link Bitboards#index(int, int)})
+     */
+    public static void generateLegalMoves(Board board, int square, MoveList moves) {
+        Piece piece = board.getPieceAt(Bitboards.column(square), Bitboards.row(square));
+        if (piece == null) {
+            return;
+        }
+        boolean isWhite = piece.isWhite();
+        int king = board.getKingIndex(isWhite);
+        long checkers = king < 0 ? 0L : board.attackersTo(king, !isWhite);
+        generatePieceMoves(board, square, isWhite, king, evasionMask(king, checkers),
+                pinnedPieces(board, king, isWhite), moves);
+    }
+
+    /**
+     * Indica se o jogador tem pelo menos uma jogada legal.
+     * @param scratch Lista de trabalho (o conteúdo é descartado)
+     */
+    public static boolean hasLegalMoves(Board board, boolean isWhite, MoveList scratch) {
+        int king = board.getKingIndex(isWhite);
+        long checkers = king < 0 ? 0L : board.attackersTo(king, !isWhite);
+        long evasionMask = evasionMask(king, checkers);
+        long pinned = pinnedPieces(board, king, isWhite);
+
+        // The king first: in double check it is the only piece that can move
+        long pieces = board.occupied(isWhite);
+        if (king >= 0) {
+            scratch.clear();
+            generatePieceMoves(board, king, isWhite, king, evasionMask, pinned, scratch);
+            if (!scratch.isEmpty()) {
+                return true;
+            }
+            if (Long.bitCount(checkers) > 1) {
+                return false;
+            }
+            pieces &= ~Bitboards.bit(king);
+        }
+        while (pieces != 0) {
+            int square = Bitboards.first(pieces);
+            pieces &= pieces - 1;
+            scratch.clear();
+            generatePieceMoves(board, square, isWhite, king, evasionMask, pinned, scratch);
+            if (!scratch.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Casas para onde uma peça que não o rei pode ir: tudo se não houver xeque,
+     * a peça que dá xeque ou as casas entre ela e o rei em xeque simples, nada em xeque duplo.
+     */
+    private static long evasionMask(int king, long checkers) {
+        if (checkers == 0) {
+            return ~0L;
+        }
+        if (Long.bitCount(checkers) > 1) {
+            return 0L;
+        }
+        int checker = Bitboards.first(checkers);
+        return checkers | Bitboards.between(king, checker);
+    }
+
+    /**
+     * Peças do jogador que estão cravadas contra o seu rei por uma peça deslizante inimiga.
+     */
+    public static long pinnedPieces(Board board, int king, boolean isWhite) {
+        if (king < 0) {
+            return 0L;
+        }
+        long occupied = board.occupied();
+        long enemies = board.occupied(!isWhite);
+        long queens = board.piecesOf(PieceType.QUEEN, !isWhite);
+        long snipers = (Bitboards.rookAttacks(king, enemies) & (board.piecesOf(PieceType.ROOK, !isWhite) | queens))
+                | (Bitboards.bishopAttacks(king, enemies) & (board.piecesOf(PieceType.BISHOP, !isWhite) | queens));
+        long pinned = 0L;
+        while (snipers != 0) {
+            int sniper = Bitboards.first(snipers);
+            snipers &= snipers - 1;
+            long blockers = Bitboards.between(king, sniper) & occupied;
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0) {
+                pinned |= blockers & board.occupied(isWhite);
+            }
+        }
+        return pinned;
+    }
+
+    private static void generatePieceMoves(Board board, int square, boolean isWhite, int king,
+                                           long evasionMask, long pinned, MoveList moves) {
+        Piece piece = board.getPieceAt(Bitboards.column(square), Bitboards.row(square));
+        int start = moves.size();
+        piece.generateMoves(board, moves);
+
+        // Compact the list in place, keeping only legal moves
+        int kept = start;
+        for (int i = start; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (isLegal(board, move, isWhite, king, evasionMask, pinned)) {
+                moves.set(kept++, move);
+            }
+        }
+        moves.truncate(kept);
+    }
+
+    private static boolean isLegal(Board board, int move, boolean isWhite, int king, long evasionMask, long pinned) {
+        if (king < 0) {
+            return true; // no king to protect (only in hand-made positions)
+        }
+        int from = Moves.from(move);
+        int to = Moves.to(move);
+
+        if (from == king) {
+            if (Moves.isCastling(move)) {
+                return true; // King.generateMoves already checks the start, crossed and target squares
+            }
+            // The king must not stay on the ray of a slider it is moving away from
+            long occupied = board.occupied() & ~Bitboards.bit(king);
+            return board.attackersTo(to, !isWhite, occupied) == 0;
+        }
+
+        if (Moves.isEnPassant(move)) {
+            // Two pawns leave the rank at once: verify the resulting position directly
+            int captured = Bitboards.index(Bitboards.column(to), Bitboards.row(from));
+            long occupied = (board.occupied() ^ Bitboards.bit(from) ^ Bitboards.bit(captured)) | Bitboards.bit(to);
+            long attackers = board.attackersTo(king, !isWhite, occupied) & ~Bitboards.bit(captured);
+            return attackers == 0;
+        }
+
+        if ((Bitboards.bit(to) & evasionMask) == 0) {
+            return false;
+        }
+        return (pinned & Bitboards.bit(from)) == 0 || (Bitboards.line(king, from) & Bitboards.bit(to)) != 0;
+    }
+}
@@ -0,0 +1,54 @@
+package pt.isec.pa.chess.model.data;
+
+/**
+ * Lista reutilizável de jogadas codificadas (ver {@link Moves}).
+ * Não aloca memória depois de criada: o chamador faz {@link #clear()} e volta a preenchê-la.
+ */
+public class MoveList {
+
+    // Upper bound on the moves of any chess position (the known maximum is 218)
+    public static final int CAPACITY = 256;
+
+    private final int[] moves = new int[CAPACITY];
+    private int size;
+
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        return moves[index];
+    }
+
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Descarta as jogadas a partir da posição indicada.
+     */
+    public void truncate(int newSize) {
+        size = newSize;
+    }
+
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
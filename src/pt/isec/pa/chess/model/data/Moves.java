@@ -0,0 +1,98 @@
+/**
+ * Codificação de jogadas num {@code int}, usada pela geração de jogadas sem alocação.
+ *
+ * <pre>
+ * bits  0-5   casa de origem  (ver {@link Bitboards#index(int, int)})
+ * bits  6-11  casa de destino
+ * bits 12-14  peça de promoção (PieceType.ordinal() + 1, 0 = sem promoção)
+ * bits 15-18  flags (captura, en passant, roque, avanço duplo de peão)
+ * </pre>
+ */
+
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+public final class Moves {
+
+    public static final int NONE = 0;
+
+    public static final int CAPTURE = 1 << 15;
+    public static final int EN_PASSANT = 1 << 16;
+    public static final int CASTLING = 1 << 17;
+    public static final int DOUBLE_PUSH = 1 << 18;
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private Moves() {
+    }
+
+    public static int encode(int from, int to, int flags) {
+        return from | (to << 6) | flags;
+    }
+
+    public static int encode(int from, int to, PieceType promotion, int flags) {
+        return from | (to << 6) | ((promotion.ordinal() + 1) << 12) | flags;
+    }
+
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    /**
+     * @return Tipo da peça de promoção, ou null se a jogada não for uma promoção
+     */
+    public static PieceType promotion(int move) {
+        int code = (move >>> 12) & 0x7;
+        return code == 0 ? null : PIECE_TYPES[code - 1];
+    }
+
+    public static boolean isPromotion(int move) {
+        return (move & (0x7 << 12)) != 0;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE) != 0;
+    }
+
+    public static boolean isEnPassant(int move) {
+        return (move & EN_PASSANT) != 0;
+    }
+
+    public static boolean isCastling(int move) {
+        return (move & CASTLING) != 0;
+    }
+
+    public static boolean isDoublePush(int move) {
+        return (move & DOUBLE_PUSH) != 0;
+    }
+
+    /**
+     * Representação em notação de coordenadas (ex: e2e4, e7e8q).
+     */
+    public static String toString(int move) {
+        StringBuilder sb = new StringBuilder(5);
+        appendSquare(sb, from(move));
+        appendSquare(sb, to(move));
+        PieceType promotion = promotion(move);
+        if (promotion != null) {
+            sb.append(switch (promotion) {
+                case QUEEN -> 'q';
+                case ROOK -> 'r';
+                case BISHOP -> 'b';
+                case KNIGHT -> 'n';
+                default -> '?';
+            });
+        }
+        return sb.toString();
+    }
+
+    private static void appendSquare(StringBuilder sb, int square) {
+        sb.append((char) ('a' + Bitboards.column(square)));
+        sb.append((char) ('8' - Bitboards.row(square)));
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * Leitura de jogadas escritas em notação algébrica (SAN, ex: "Nf3", "exd5", "O-O", "e8=Q+")
+ * ou em notação de coordenadas (ex: "g1f3", "e7e8q").
+ *
+ * A jogada é sempre resolvida contra a lista de jogadas legais da posição, pelo que o resultado
+ * tem as flags corretas (captura, en passant, roque, avanço duplo) e uma jogada ambígua ou ilegal
+ * é rejeitada.
+ */
+
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+public final class Notation {
+
+    private Notation() {
+    }
+
+    /**
+     * Converte o texto numa jogada legal do lado a jogar.
+     * @param scratch Lista de trabalho (o conteúdo é descartado)
+     * @return Jogada codificada (ver {@link Moves}), ou {@link Moves#NONE} se o texto não corresponder
+     *         a exatamente uma jogada legal
+     */
+    public static int parse(Board board, String text, MoveList scratch) {
+        String san = stripAnnotations(text);
+        if (san.isEmpty()) {
+            return Moves.NONE;
+        }
+        scratch.clear();
+        MoveGenerator.generateLegalMoves(board, board.isWhiteToMove(), scratch);
+
+        if (san.equals("O-O") || san.equals("0-0")) {
+            return findCastling(board, scratch, 6);
+        }
+        if (san.equals("O-O-O") || san.equals("0-0-0")) {
+            return findCastling(board, scratch, 2);
+        }
+        if (isCoordinate(san)) {
+            return findCoordinate(san, scratch);
+        }
+        return findSan(board, san, scratch);
+    }
+
+    private static String stripAnnotations(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '+' && c != '#' && c != '!' && c != '?') {
+                sb.append(c);
+            }
+        }
+        return sb.toString().trim();
+    }
+
+    private static int findCastling(Board board, MoveList moves, int kingColumn) {
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (Moves.isCastling(move) && Bitboards.column(Moves.to(move)) == kingColumn) {
+                return move;
+            }
+        }
+        return Moves.NONE;
+    }
+
+    private static boolean isCoordinate(String text) {
+        return (text.length() == 4 || text.length() == 5)
+                && isFile(text.charAt(0)) && isRank(text.charAt(1))
+                && isFile(text.charAt(2)) && isRank(text.charAt(3))
+                && (text.length() == 4 || promotionType(Character.toUpperCase(text.charAt(4))) != null);
+    }
+
+    private static int findCoordinate(String text, MoveList moves) {
+        int from = square(text.charAt(0), text.charAt(1));
+        int to = square(text.charAt(2), text.charAt(3));
+        PieceType promotion = text.length() == 5 ? promotionType(Character.toUpperCase(text.charAt(4))) : null;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (Moves.from(move) == from && Moves.to(move) == to && Moves.promotion(move) == promotion) {
+                return move;
+            }
+        }
+        return Moves.NONE;
+    }
+
+    private static int findSan(Board board, String san, MoveList moves) {
+        PieceType type = PieceType.PAWN;
+        int start = 0;
+        PieceType piece = pieceType(san.charAt(0));
+        if (piece != null) {
+            type = piece;
+            start = 1;
+        }
+
+        // Promotion: "e8=Q" or "e8Q"
+        PieceType promotion = null;
+        int end = san.length();
+        if (type == PieceType.PAWN && end >= 3) {
+            PieceType promoted = promotionType(san.charAt(end - 1));
+            if (promoted != null) {
+                promotion = promoted;
+                end -= san.charAt(end - 2) == '=' ? 2 : 1;
+            }
+        }
+        if (end - start < 2 || !isFile(san.charAt(end - 2)) || !isRank(san.charAt(end - 1))) {
+            return Moves.NONE;
+        }
+        int to = square(san.charAt(end - 2), san.charAt(end - 1));
+
+        // Whatever is left between the piece and the destination is disambiguation (and the capture mark)
+        int fromColumn = -1;
+        int fromRow = -1;
+        for (int i = start; i < end - 2; i++) {
+            char c = san.charAt(i);
+            if (isFile(c)) {
+                fromColumn = c - 'a';
+            } else if (isRank(c)) {
+                fromRow = '8' - c;
+            } else if (c != 'x' && c != ':' && c != '-') {
+                return Moves.NONE;
+            }
+        }
+
+        int found = Moves.NONE;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int from = Moves.from(move);
+            if (Moves.to(move) != to || Moves.promotion(move) != promotion
+                    || (fromColumn >= 0 && Bitboards.column(from) != fromColumn)
+                    || (fromRow >= 0 && Bitboards.row(from) != fromRow)) {
+                continue;
+            }
+            Piece moving = board.getPieceAt(Bitboards.column(from), Bitboards.row(from));
+            if (moving == null || moving.getType() != type) {
+                continue;
+            }
+            if (found != Moves.NONE) {
+                return Moves.NONE; // ambiguous
+            }
+            found = move;
+        }
+        return found;
+    }
+
+    private static PieceType pieceType(char c) {
+        return switch (c) {
+            case 'K' -> PieceType.KING;
+            case 'Q' -> PieceType.QUEEN;
+            case 'R' -> PieceType.ROOK;
+            case 'B' -> PieceType.BISHOP;
+            case 'N' -> PieceType.KNIGHT;
+            default -> null;
+        };
+    }
+
+    private static PieceType promotionType(char c) {
+        PieceType type = pieceType(c);
+        return type == PieceType.KING ? null : type;
+    }
+
+    private static boolean isFile(char c) {
+        return c >= 'a' && c <= 'h';
+    }
+
+    private static boolean isRank(char c) {
+        return c >= '1' && c <= '8';
+    }
+
+    private static int square(char file, char rank) {
+        return Bitboards.index(file - 'a', '8' - rank);
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Tabelas peça-casa para a avaliação "tapered": para cada peça e casa, o valor material mais um bónus
+ * posicional, separados em meio-jogo e final. O {@link Board} soma-as incrementalmente em
+ * {@link Board#setPiece(int, int, Piece)}, junto com a fase do jogo, e a avaliação interpola entre
+ * os dois valores de acordo com o material que resta.
+ *
+ * As tabelas estão escritas do ponto de vista das brancas, com a oitava linha primeiro
+ * (a mesma orientação dos índices de {@link Bitboards}); para as pretas a casa é espelhada verticalmente.
+ */
+
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+public final class PieceSquareTables {
+
+    // Fase máxima (todas as peças em jogo): cavalo e bispo 1, torre 2, dama 4
+    public static final int MAX_PHASE = 24;
+
+    // Indexed by PieceType.ordinal(): KING, QUEEN, BISHOP, KNIGHT, ROOK, PAWN
+    private static final int[] MG_VALUES = {0, 900, 330, 320, 500, 100};
+    private static final int[] EG_VALUES = {0, 950, 320, 300, 540, 120};
+    private static final int[] PHASE = {0, 4, 1, 1, 2, 0};
+
+    private static final int[] KING_MG = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+             20,  20,   0,   0,   0,   0,  20,  20,
+             20,  30,  10,   0,   0,  10,  30,  20};
+    private static final int[] KING_EG = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10,   0,   0, -10, -20, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -30,   0,   0,   0,   0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50};
+    private static final int[] QUEEN = {
+            -20, -10, -10,  -5,  -5, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,   5,   5,   5,   0, -10,
+             -5,   0,   5,   5,   5,   5,   0,  -5,
+              0,   0,   5,   5,   5,   5,   0,  -5,
+            -10,   5,   5,   5,   5,   5,   0, -10,
+            -10,   0,   5,   0,   0,   0,   0, -10,
+            -20, -10, -10,  -5,  -5, -10, -10, -20};
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,  10,  10,   5,   0, -10,
+            -10,   5,   5,  10,  10,   5,   5, -10,
+            -10,   0,  10,  10,  10,  10,   0, -10,
+            -10,  10,  10,  10,  10,  10,  10, -10,
+            -10,   5,   0,   0,   0,   0,   5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20};
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20,   0,   0,   0,   0, -20, -40,
+            -30,   0,  10,  15,  15,  10,   0, -30,
+            -30,   5,  15,  20,  20,  15,   5, -30,
+            -30,   0,  15,  20,  20,  15,   0, -30,
+            -30,   5,  10,  15,  15,  10,   5, -30,
+            -40, -20,   0,   5,   5,   0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50};
+    private static final int[] ROOK = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+              5,  10,  10,  10,  10,  10,  10,   5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+              0,   0,   0,   5,   5,   0,   0,   0};
+    private static final int[] PAWN_MG = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             50,  50,  50,  50,  50,  50,  50,  50,
+             10,  10,  20,  30,  30,  20,  10,  10,
+              5,   5,  10,  25,  25,  10,   5,   5,
+              0,   0,   0,  20,  20,   0,   0,   0,
+              5,  -5, -10,   0,   0, -10,  -5,   5,
+              5,  10,  10, -20, -20,  10,  10,   5,
+              0,   0,   0,   0,   0,   0,   0,   0};
+    private static final int[] PAWN_EG = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             80,  80,  80,  80,  80,  80,  80,  80,
+             50,  50,  50,  50,  50,  50,  50,  50,
+             30,  30,  30,  30,  30,  30,  30,  30,
+             15,  15,  15,  15,  15,  15,  15,  15,
+              5,   5,   5,   5,   5,   5,   5,   5,
+              0,   0,   0,   0,   0,   0,   0,   0,
+              0,   0,   0,   0,   0,   0,   0,   0};
+
+    // [cor * 6 + PieceType.ordinal()][casa], com o sinal da cor (brancas positivas, pretas negativas)
+    private static final int[][] MG = new int[12][64];
+    private static final int[][] EG = new int[12][64];
+
+    static {
+        int[][] mgTables = {KING_MG, QUEEN, BISHOP, KNIGHT, ROOK, PAWN_MG};
+        int[][] egTables = {KING_EG, QUEEN, BISHOP, KNIGHT, ROOK, PAWN_EG};
+        for (int type = 0; type < 6; type++) {
+            for (int square = 0; square < 64; square++) {
+                MG[type][square] = MG_VALUES[type] + mgTables[type][square];
+                EG[type][square] = EG_VALUES[type] + egTables[type][square];
+                MG[6 + type][square] = -(MG_VALUES[type] + mgTables[type][square ^ 56]);
+                EG[6 + type][square] = -(EG_VALUES[type] + egTables[type][square ^ 56]);
+            }
+        }
+    }
+
+    private PieceSquareTables() {
+    }
+
+    /**
+     * Valor de meio-jogo da peça na casa (positivo para as brancas, negativo para as pretas).
+     * @param index Índice da peça, {@code cor * 6 + PieceType.ordinal()} (0 = brancas)
+     */
+    public static int midgame(int index, int square) {
+        return MG[index][square];
+    }
+
+    /**
+     * Valor de final da peça na casa (positivo para as brancas, negativo para as pretas).
+     */
+    public static int endgame(int index, int square) {
+        return EG[index][square];
+    }
+
+    /**
+     * Contribuição da peça para a fase do jogo.
+     */
+    public static int phase(PieceType type) {
+        return PHASE[type.ordinal()];
+    }
+
+    /**
+     * Interpola entre os valores de meio-jogo e de final.
+     * @param phase Fase do jogo (limitada a {@link #MAX_PHASE}; 0 = só reis e peões)
+     */
+    public static int taper(int midgame, int endgame, int phase) {
+        int p = Math.min(phase, MAX_PHASE);
+        return (midgame * p + endgame * (MAX_PHASE - p)) / MAX_PHASE;
+    }
+}
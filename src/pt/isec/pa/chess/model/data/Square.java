@@ -1,6 +1,54 @@
 package pt.isec.pa.chess.model.data;
 
 
+import java.io.Serial;
 import java.io.Serializable;
 
-public record Square(int column, int row) implements Serializable {}
+/**
+ * Casa do tabuleiro (coluna 0..7 = a..h, linha 0..7 = 8..1).
+ * Só existem 64 casas distintas: use {@link #of(int, int)} ou {@link #of(int)} para obter
+ * as instâncias canónicas partilhadas em vez de criar novas.
+ */
+public record Square(int column, int row) implements Serializable {
+
+    private static final Square[] SQUARES = new Square[64];
+
+    static {
+        for (int index = 0; index < SQUARES.length; index++) {
+            SQUARES[index] = new Square(index & 7, index >>> 3);
+        }
+    }
+
+    /**
+     * Instância canónica da casa com as coordenadas indicadas.
+     * @throws IllegalArgumentException se as coordenadas estiverem fora do tabuleiro
+     */
+    public static Square of(int column, int row) {
+        if (column < 0 || column > 7 || row < 0 || row > 7) {
+            throw new IllegalArgumentException("Square out of bounds: " + column + "," + row);
+        }
+        return SQUARES[row * 8 + column];
+    }
+
+    /**
+     * Instância canónica da casa com o índice indicado (ver {@link Bitboards#index(int, int)}).
+     */
+    public static Square of(int index) {
+        return SQUARES[index];
+    }
+
+    /**
+     * Índice 0..63 da casa ({@code row * 8 + column}).
+     */
+    public int index() {
+        return row * 8 + column;
+    }
+
+    @Serial
+    private Object readResolve() {
+        if (column < 0 || column > 7 || row < 0 || row > 7) {
+            return this;
+        }
+        return SQUARES[index()];
+    }
+}
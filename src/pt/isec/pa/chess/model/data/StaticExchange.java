@@ -0,0 +1,102 @@
+/**
+ * Avaliação estática de trocas (SEE): saldo material de uma captura quando ambos os lados continuam
+ * a recapturar na mesma casa, sempre com a peça menos valiosa e podendo parar quando já não compensa.
+ *
+ * Usa apenas as consultas de ataques do {@link Board} (incluindo os raios descobertos quando uma peça
+ * deslizante sai do caminho), sem aplicar nenhuma jogada ao tabuleiro. Não considera cravações.
+ */
+
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+public final class StaticExchange {
+
+    // Indexed by PieceType.ordinal(): KING, QUEEN, BISHOP, KNIGHT, ROOK, PAWN
+    private static final int[] VALUES = {20000, 900, 330, 320, 500, 100};
+    // Cheapest attacker first
+    private static final PieceType[] ATTACKER_ORDER = {
+            PieceType.PAWN, PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN, PieceType.KING};
+    public static final int MAX_EXCHANGES = 32;
+
+    private StaticExchange() {
+    }
+
+    public static int value(PieceType type) {
+        return VALUES[type.ordinal()];
+    }
+
+    /**
+     * Saldo material da jogada, em centipeões, para o lado que a faz (0 para jogadas calmas que não
+     * deixam a peça desprotegida, negativo se a peça se perde).
+     * @param move Jogada codificada (ver {@link Moves})
+     */
+    public static int evaluate(Board board, int move) {
+        return evaluate(board, move, new int[MAX_EXCHANGES]);
+    }
+
+    /**
+     * Como {@link #evaluate(Board, int)}, usando um array de trabalho do chamador (sem alocar memória).
+     * @param gain Array de trabalho com pelo menos {@link #MAX_EXCHANGES} posições
+     */
+    public static int evaluate(Board board, int move, int[] gain) {
+        int from = Moves.from(move);
+        int to = Moves.to(move);
+        Piece mover = pieceAt(board, from);
+        boolean side = !mover.isWhite();
+
+        long occupied = board.occupied() ^ Bitboards.bit(from);
+        if (Moves.isEnPassant(move)) {
+            gain[0] = value(PieceType.PAWN);
+            occupied ^= Bitboards.bit(Bitboards.index(Bitboards.column(to), Bitboards.row(from)));
+        } else {
+            Piece victim = pieceAt(board, to);
+            gain[0] = victim == null ? 0 : value(victim.getType());
+        }
+        int onSquare = value(mover.getType()); // value of the piece that can be captured next
+        PieceType promotion = Moves.promotion(move);
+        if (promotion != null) {
+            gain[0] += value(promotion) - value(PieceType.PAWN);
+            onSquare = value(promotion);
+        }
+
+        int depth = 0;
+        while (depth < MAX_EXCHANGES - 1) {
+            long attackers = board.attackersTo(to, side, occupied) & occupied;
+            if (attackers == 0) {
+                break;
+            }
+            PieceType type = null;
+            long attacker = 0;
+            for (PieceType t : ATTACKER_ORDER) {
+                long candidates = attackers & board.piecesOf(t, side);
+                if (candidates != 0) {
+                    type = t;
+                    attacker = candidates & -candidates;
+                    break;
+                }
+            }
+            // The king can only recapture if the square is no longer defended
+            if (type == PieceType.KING
+                    && (board.attackersTo(to, !side, occupied ^ attacker) & (occupied ^ attacker)) != 0) {
+                break;
+            }
+            depth++;
+            gain[depth] = onSquare - gain[depth - 1];
+            occupied ^= attacker;
+            onSquare = value(type);
+            side = !side;
+        }
+        // Each side may stop capturing when continuing would lose material
+        while (depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+
+    private static Piece pieceAt(Board board, int square) {
+        return board.getPieceAt(Bitboards.column(square), Bitboards.row(square));
+    }
+}
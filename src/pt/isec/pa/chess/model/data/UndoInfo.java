@@ -0,0 +1,38 @@
+/**
+ * Registo do estado necessário para desfazer uma jogada aplicada com
+ * {@link Board#makeMove(int, UndoInfo)}.
+ * Os registos são reutilizáveis: cada chamada a makeMove escreve por cima do conteúdo anterior,
+ * por isso uma pesquisa pode pré-alocar um registo por nível e não alocar nada depois.
+ */
+
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.Piece;
+
+public final class UndoInfo {
+
+    int move;
+    Piece piece;                // peça movida (o peão, no caso de promoção)
+    boolean pieceHadMoved;
+    Piece captured;             // peça capturada, ou null
+    int capturedSquare;         // difere do destino apenas em capturas en passant
+    Piece rook;                 // torre deslocada pelo roque, ou null
+    boolean rookHadMoved;
+    Piece promoted;             // peça de promoção, reutilizada na próxima promoção igual depois de desfeita
+    Square lastMoveFrom;
+    Square lastMoveTo;
+    Piece lastMovedPiece;
+    long zobristKey;            // chave antes da jogada
+
+    public int getMove() {
+        return move;
+    }
+
+    public Piece getCapturedPiece() {
+        return captured;
+    }
+
+    public long getZobristKey() {
+        return zobristKey;
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Chaves aleatórias para o hashing de Zobrist das posições.
+ * Geradas com uma semente fixa, por isso a mesma posição tem sempre a mesma chave
+ * (também entre execuções, o que permite guardar chaves em ficheiro).
+ */
+
+package pt.isec.pa.chess.model.data;
+
+public final class Zobrist {
+
+    // CASTLING[mask]: bits 0..3 = roque pequeno/grande das brancas, roque pequeno/grande das pretas
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+
+    private static final long[][] PIECES = new long[12][64];
+    private static final long[] CASTLING = new long[16];
+    private static final long[] EN_PASSANT_FILE = new long[8];
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        long state = 0x9E3779B97F4A7C15L;
+        for (long[] table : PIECES) {
+            for (int square = 0; square < 64; square++) {
+                state = next(state);
+                table[square] = mix(state);
+            }
+        }
+        long[] rights = new long[4];
+        for (int i = 0; i < rights.length; i++) {
+            state = next(state);
+            rights[i] = mix(state);
+        }
+        // Each combination of rights is the XOR of its individual keys
+        for (int mask = 0; mask < CASTLING.length; mask++) {
+            for (int i = 0; i < rights.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    CASTLING[mask] ^= rights[i];
+                }
+            }
+        }
+        for (int file = 0; file < EN_PASSANT_FILE.length; file++) {
+            state = next(state);
+            EN_PASSANT_FILE[file] = mix(state);
+        }
+        state = next(state);
+        BLACK_TO_MOVE = mix(state);
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * @param pieceIndex Índice da peça ({@code cor * 6 + PieceType.ordinal()}, cor 0 = brancas)
+     * @param square Índice da casa
+     */
+    public static long piece(int pieceIndex, int square) {
+        return PIECES[pieceIndex][square];
+    }
+
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * @param file Coluna do peão que pode ser capturado en passant, ou -1 se não houver
+     */
+    public static long enPassant(int file) {
+        return file < 0 ? 0L : EN_PASSANT_FILE[file];
+    }
+
+    public static long blackToMove() {
+        return BLACK_TO_MOVE;
+    }
+
+    private static long next(long state) {
+        return state + 0x9E3779B97F4A7C15L; // splitmix64 increment
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
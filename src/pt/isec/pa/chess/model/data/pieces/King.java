@@ -1,68 +1,46 @@
 package pt.isec.pa.chess.model.data.pieces;
 
 import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Moves;
 import pt.isec.pa.chess.model.data.Square;
 
-import java.util.ArrayList;
-
 public class King extends Piece {
 
     private boolean hasMoved = false;
 
-    private static final int[][] directions = {
-        {0, 1}, // Up
-        {0, -1}, // Down
-        {1, 0}, // Right
-        {-1, 0}, // Left
-        {1, 1}, // Up-Right
-        {-1, 1}, // Up-Left
-        {1, -1}, // Down-Right
-        {-1, -1} // Down-Left
-    };
-
     public King(boolean isWhite, Square position) {
         super(position, isWhite);
     }
 
+    @Override
+    public PieceType getType() {
+        return PieceType.KING;
+    }
+
     public boolean hasMoved() {
         return hasMoved;
     }
 
     @Override
-    public ArrayList<Square> getMoves(Board board) {
-        ArrayList<Square> moves = new ArrayList<>();
-        int currentCol = this.position.column();
-        int currentRow = this.position.row();
+    public void generateMoves(Board board, MoveList moves) {
+        int from = square();
 
         // Regular moves
-        for (int[] dir : directions) {
-            int targetCol = currentCol + dir[0];
-            int targetRow = currentRow + dir[1];
-
-            if (!board.isWithinBounds(targetCol, targetRow)) {
-                continue;
-            }
+        addMoves(board, from, LeaperAttacks.kingAttacks(from) & ~board.occupied(isWhite()), moves);
 
-            Piece pieceAtTarget = board.getPieceAt(targetCol, targetRow);
-            if (pieceAtTarget == null || pieceAtTarget.isWhite() != this.isWhite()) {
-                moves.add(new Square(targetCol, targetRow));
-            }
-        }
-
-        // Castling moves
-        if (!hasMoved) {
+        // Castling moves (the king must still be on its starting column)
+        if (!hasMoved && position.column() == 4) {
             // Kingside castling
             if (canCastleKingside(board)) {
-                moves.add(new Square(currentCol + 2, currentRow));
+                moves.add(Moves.encode(from, from + 2, Moves.CASTLING));
             }
 
             // Queenside castling
             if (canCastleQueenside(board)) {
-                moves.add(new Square(currentCol - 2, currentRow));
+                moves.add(Moves.encode(from, from - 2, Moves.CASTLING));
             }
         }
-
-        return moves;
     }
 
     private boolean canCastleKingside(Board board) {
@@ -71,7 +49,7 @@ public class King extends Piece {
 
         // Check if rook is present and hasn't moved
         Piece rook = board.getPieceAt(7, row);
-        if (!(rook instanceof Rook) || ((Rook) rook).hasMoved()) {
+        if (!(rook instanceof Rook) || ((Rook) rook).hasMoved() || rook.isWhite() != isWhite()) {
             return false;
         }
 
@@ -83,9 +61,10 @@ public class King extends Piece {
         }
 
         // Check if king is not in check and doesn't pass through check
-        return !board.isSquareUnderAttack(position, isWhite())
-                && !board.isSquareUnderAttack(new Square(col + 1, row), isWhite())
-                && !board.isSquareUnderAttack(new Square(col + 2, row), isWhite());
+        int square = square();
+        return !board.isSquareAttacked(square, !isWhite())
+                && !board.isSquareAttacked(square + 1, !isWhite())
+                && !board.isSquareAttacked(square + 2, !isWhite());
     }
 
     private boolean canCastleQueenside(Board board) {
@@ -94,7 +73,7 @@ public class King extends Piece {
 
         // Check if rook is present and hasn't moved
         Piece rook = board.getPieceAt(0, row);
-        if (!(rook instanceof Rook) || ((Rook) rook).hasMoved()) {
+        if (!(rook instanceof Rook) || ((Rook) rook).hasMoved() || rook.isWhite() != isWhite()) {
             return false;
         }
 
@@ -106,15 +85,21 @@ public class King extends Piece {
         }
 
         // Check if king is not in check and doesn't pass through check
-        return !board.isSquareUnderAttack(position, isWhite())
-                && !board.isSquareUnderAttack(new Square(col - 1, row), isWhite())
-                && !board.isSquareUnderAttack(new Square(col - 2, row), isWhite());
+        int square = square();
+        return !board.isSquareAttacked(square, !isWhite())
+                && !board.isSquareAttacked(square - 1, !isWhite())
+                && !board.isSquareAttacked(square - 2, !isWhite());
     }
 
     public void setHasMoved() {
         this.hasMoved = true;
     }
 
+    @Override
+    public void setHasMoved(boolean hasMoved) {
+        this.hasMoved = hasMoved;
+    }
+
     @Override
     public String toString() {
         return isWhite() ? "k" : "K";
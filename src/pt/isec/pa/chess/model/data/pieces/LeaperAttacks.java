@@ -0,0 +1,48 @@
+package pt.isec.pa.chess.model.data.pieces;
+
+import pt.isec.pa.chess.model.data.Bitboards;
+
+/**
+ * Tabelas de ataque pré-calculadas para as peças de salto: cavalo, rei e peão (por cor).
+ * Indexadas pela casa (ver {@link Bitboards#index(int, int)}), construídas no carregamento da classe.
+ */
+public final class LeaperAttacks {
+
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    private static final long[] WHITE_PAWN = new long[64];
+    private static final long[] BLACK_PAWN = new long[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            long b = Bitboards.bit(square);
+            KNIGHT[square] = ((b << 17) & Bitboards.NOT_FILE_A) | ((b << 15) & Bitboards.NOT_FILE_H)
+                    | ((b << 10) & Bitboards.NOT_FILE_AB) | ((b << 6) & Bitboards.NOT_FILE_GH)
+                    | ((b >>> 17) & Bitboards.NOT_FILE_H) | ((b >>> 15) & Bitboards.NOT_FILE_A)
+                    | ((b >>> 10) & Bitboards.NOT_FILE_GH) | ((b >>> 6) & Bitboards.NOT_FILE_AB);
+
+            long sides = ((b << 1) & Bitboards.NOT_FILE_A) | ((b >>> 1) & Bitboards.NOT_FILE_H);
+            long row = b | sides;
+            KING[square] = sides | (row << 8) | (row >>> 8);
+
+            // White pawns move towards row 0, black pawns towards row 7
+            WHITE_PAWN[square] = ((b >>> 9) & Bitboards.NOT_FILE_H) | ((b >>> 7) & Bitboards.NOT_FILE_A);
+            BLACK_PAWN[square] = ((b << 7) & Bitboards.NOT_FILE_H) | ((b << 9) & Bitboards.NOT_FILE_A);
+        }
+    }
+
+    private LeaperAttacks() {
+    }
+
+    public static long knightAttacks(int square) {
+        return KNIGHT[square];
+    }
+
+    public static long kingAttacks(int square) {
+        return KING[square];
+    }
+
+    public static long pawnAttacks(int square, boolean isWhite) {
+        return isWhite ? WHITE_PAWN[square] : BLACK_PAWN[square];
+    }
+}
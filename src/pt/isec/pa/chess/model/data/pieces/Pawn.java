@@ -1,10 +1,11 @@
 package pt.isec.pa.chess.model.data.pieces;
 
+import pt.isec.pa.chess.model.data.Bitboards;
 import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Moves;
 import pt.isec.pa.chess.model.data.Square;
 
-import java.util.ArrayList;
-
 public class Pawn extends Piece {
 
     boolean hasMoved = false;
@@ -15,35 +16,35 @@ public class Pawn extends Piece {
     }
 
     @Override
-    public ArrayList<Square> getMoves(Board board) {
-        ArrayList<Square> moves = new ArrayList<>();
+    public PieceType getType() {
+        return PieceType.PAWN;
+    }
+
+    @Override
+    public void generateMoves(Board board, MoveList moves) {
         int currentCol = position.column();
         int currentRow = position.row();
         int direction = isWhite() ? -1 : 1;
+        int from = square();
 
         // Forward moves
         if (board.isWithinBounds(currentCol, currentRow + direction)) {
             if (board.getPieceAt(currentCol, currentRow + direction) == null) {
-                moves.add(new Square(currentCol, currentRow + direction));
+                addPawnMove(from, from + 8 * direction, Moves.NONE, moves);
 
                 // Two-square first move
                 if (!hasMoved && board.isWithinBounds(currentCol, currentRow + 2 * direction)
                         && board.getPieceAt(currentCol, currentRow + 2 * direction) == null) {
-                    moves.add(new Square(currentCol, currentRow + 2 * direction));
+                    moves.add(Moves.encode(from, from + 16 * direction, Moves.DOUBLE_PUSH));
                 }
             }
         }
 
         // Diagonal captures only if there's an enemy piece
-        int[] captureColumns = {currentCol - 1, currentCol + 1};
-        for (int col : captureColumns) {
-            if (board.isWithinBounds(col, currentRow + direction)) {
-                Piece target = board.getPieceAt(col, currentRow + direction);
-                // Only add diagonal move if there's an enemy piece to capture
-                if (target != null && target.isWhite() != isWhite()) {
-                    moves.add(new Square(col, currentRow + direction));
-                }
-            }
+        long captures = LeaperAttacks.pawnAttacks(from, isWhite()) & board.occupied(!isWhite());
+        while (captures != 0) {
+            addPawnMove(from, Bitboards.first(captures), Moves.CAPTURE, moves);
+            captures &= captures - 1;
         }
 
         // En passant (only when conditions are met)
@@ -62,16 +63,27 @@ public class Pawn extends Piece {
                         && board.getPieceAt(lastMoveCol, currentRow) != null
                         && board.getPieceAt(lastMoveCol, currentRow).isWhite() != isWhite()) {
 
-                    Square enPassantTarget = new Square(lastMoveCol, currentRow + direction);
-                    if (board.isWithinBounds(enPassantTarget.column(), enPassantTarget.row())
-                        && board.getPieceAt(enPassantTarget.column(), enPassantTarget.row()) == null) {
-                        moves.add(enPassantTarget);
+                    int targetRow = currentRow + direction;
+                    if (board.isWithinBounds(lastMoveCol, targetRow)
+                        && board.getPieceAt(lastMoveCol, targetRow) == null) {
+                        moves.add(Moves.encode(from, Bitboards.index(lastMoveCol, targetRow),
+                                Moves.CAPTURE | Moves.EN_PASSANT));
                     }
                 }
             }
         }
+    }
 
-        return moves;
+    private void addPawnMove(int from, int to, int flags, MoveList moves) {
+        int row = Bitboards.row(to);
+        if (row == 0 || row == 7) {
+            moves.add(Moves.encode(from, to, PieceType.QUEEN, flags));
+            moves.add(Moves.encode(from, to, PieceType.ROOK, flags));
+            moves.add(Moves.encode(from, to, PieceType.BISHOP, flags));
+            moves.add(Moves.encode(from, to, PieceType.KNIGHT, flags));
+        } else {
+            moves.add(Moves.encode(from, to, flags));
+        }
     }
 
     /**
@@ -110,4 +122,9 @@ public class Pawn extends Piece {
     public void setHasMoved() {
         hasMoved = true;
     }
+
+    @Override
+    public void setHasMoved(boolean hasMoved) {
+        this.hasMoved = hasMoved;
+    }
 }
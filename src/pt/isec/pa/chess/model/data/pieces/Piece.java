@@ -1,6 +1,9 @@
 package pt.isec.pa.chess.model.data.pieces;
 
+import pt.isec.pa.chess.model.data.Bitboards;
 import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Moves;
 import pt.isec.pa.chess.model.data.Square;
 
 import java.io.Serial;
@@ -41,13 +44,75 @@ public class Piece implements Serializable {
         this.hasMoved = true;
     }
 
+    /**
+     * Repõe o estado de movimento da peça (usado ao desfazer jogadas).
+     */
+    public void setHasMoved(boolean hasMoved) {
+        this.hasMoved = hasMoved;
+    }
+
+    /**
+     * Nova peça do mesmo tipo, cor, posição e estado de movimento.
+     */
+    public Piece copy() {
+        Piece copy = PieceFactoryType.createPiece(getType(), isWhite, position);
+        copy.setHasMoved(hasMoved());
+        return copy;
+    }
+
     public boolean isKing() {
         return false; // Override na class King
     }
 
-    public ArrayList<Square> getMoves(Board board) {
+    public PieceType getType() {
+        return null; // Override in specific piece classes
+    }
+
+    /**
+     * Escreve as jogadas pseudo-legais da peça na lista indicada, sem alocar memória.
+     * @param board Tabuleiro onde a peça se encontra
+     * @param moves Lista onde as jogadas codificadas (ver {@link Moves}) são acrescentadas
+     */
+    public void generateMoves(Board board, MoveList moves) {
         // Override in specific piece classes (e.g., Pawn, Rook, etc.)
-        return new ArrayList<>();
+    }
+
+    /**
+     * Casas de destino das jogadas pseudo-legais da peça (uma casa por promoção).
+     * Adaptador sobre {@link #generateMoves(Board, MoveList)} para a interface gráfica.
+     */
+    public ArrayList<Square> getMoves(Board board) {
+        MoveList moves = new MoveList();
+        generateMoves(board, moves);
+        ArrayList<Square> squares = new ArrayList<>(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            PieceType promotion = Moves.promotion(move);
+            if (promotion != null && promotion != PieceType.QUEEN) {
+                continue; // only one entry per promotion square
+            }
+            squares.add(Square.of(Moves.to(move)));
+        }
+        return squares;
+    }
+
+    /**
+     * Índice da casa atual da peça (ver {@link Bitboards#index(int, int)}).
+     */
+    protected int square() {
+        return position.index();
+    }
+
+    /**
+     * Acrescenta uma jogada por cada casa de destino do bitboard, marcando as capturas.
+     */
+    protected void addMoves(Board board, int from, long targets, MoveList moves) {
+        long enemies = board.occupied(!isWhite());
+        while (targets != 0) {
+            int to = Bitboards.first(targets);
+            moves.add(Moves.encode(from, to, (enemies & Bitboards.bit(to)) != 0 ? Moves.CAPTURE : Moves.NONE));
+            targets &= targets - 1;
+        }
     }
 
 }
@@ -1,10 +1,9 @@
 package pt.isec.pa.chess.model.data.pieces;
 
 import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.MoveList;
 import pt.isec.pa.chess.model.data.Square;
 
-import java.util.ArrayList;
-
 public class Rook extends Piece {
 
     private boolean hasMoved = false;
@@ -13,52 +12,19 @@ public class Rook extends Piece {
         super(position, isWhite);
     }
 
+    @Override
+    public PieceType getType() {
+        return PieceType.ROOK;
+    }
+
     public boolean hasMoved() {
         return hasMoved;
     }
 
     @Override
-    public ArrayList<Square> getMoves(Board board) {
-        ArrayList<Square> moves = new ArrayList<>();
-
-        int[][] directions = {
-            {0, 1}, // Up
-            {0, -1}, // Down
-            {1, 0}, // Right
-            {-1, 0} // Left
-        };
-
-        for (int[] dir : directions) {
-            int currentCol = this.position.column();
-            int currentRow = this.position.row();
-
-            while (true) {
-                currentCol += dir[0];
-                currentRow += dir[1];
-
-                // Check bounds before accessing board
-                if (!board.isWithinBounds(currentCol, currentRow)) {
-                    break;
-                }
-
-                try {
-                    Piece pieceAtTarget = board.getPieceAt(currentCol, currentRow);
-
-                    if (pieceAtTarget == null) {
-                        moves.add(new Square(currentCol, currentRow));
-                    } else {
-                        if (pieceAtTarget.isWhite() != this.isWhite()) {
-                            moves.add(new Square(currentCol, currentRow)); // Can capture
-                        }
-                        break; // Stop this direction if we hit any piece
-                    }
-                } catch (ArrayIndexOutOfBoundsException e) {
-                    break; // Stop if we hit array bounds
-                }
-            }
-        }
-
-        return moves;
+    public void generateMoves(Board board, MoveList moves) {
+        int from = square();
+        addMoves(board, from, SliderAttacks.rookAttacks(from, board.occupied()) & ~board.occupied(isWhite()), moves);
     }
 
     @Override
@@ -69,4 +35,9 @@ public class Rook extends Piece {
     public void setHasMoved() {
         this.hasMoved = true;
     }
+
+    @Override
+    public void setHasMoved(boolean hasMoved) {
+        this.hasMoved = hasMoved;
+    }
 }
@@ -0,0 +1,131 @@
+package pt.isec.pa.chess.model.data.pieces;
+
+import pt.isec.pa.chess.model.data.Bitboards;
+
+/**
+ * Tabelas de ataque pré-calculadas (magic bitboards) para torre, bispo e rainha.
+ * As tabelas são construídas uma única vez no carregamento da classe; cada consulta
+ * é uma multiplicação, um shift e um acesso a array.
+ */
+public final class SliderAttacks {
+
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final long[] ROOK_MAGICS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] ROOK_OFFSETS = new int[64];
+    private static final long[] ROOK_TABLE;
+
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final long[] BISHOP_MAGICS = new long[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final int[] BISHOP_OFFSETS = new int[64];
+    private static final long[] BISHOP_TABLE;
+
+    private static long randomState = SEED;
+
+    static {
+        ROOK_TABLE = new long[initMasks(true, ROOK_MASKS, ROOK_SHIFTS, ROOK_OFFSETS)];
+        BISHOP_TABLE = new long[initMasks(false, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_OFFSETS)];
+        for (int square = 0; square < 64; square++) {
+            ROOK_MAGICS[square] = findMagic(square, true, ROOK_MASKS[square], ROOK_SHIFTS[square],
+                    ROOK_TABLE, ROOK_OFFSETS[square]);
+            BISHOP_MAGICS[square] = findMagic(square, false, BISHOP_MASKS[square], BISHOP_SHIFTS[square],
+                    BISHOP_TABLE, BISHOP_OFFSETS[square]);
+        }
+    }
+
+    private SliderAttacks() {
+    }
+
+    public static long rookAttacks(int square, long occupied) {
+        return ROOK_TABLE[ROOK_OFFSETS[square]
+                + (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+    }
+
+    public static long bishopAttacks(int square, long occupied) {
+        return BISHOP_TABLE[BISHOP_OFFSETS[square]
+                + (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+    }
+
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    /**
+     * Calcula as máscaras de ocupação relevante (sem as casas da borda) e o deslocamento
+     * de cada casa na tabela partilhada.
+     * @return Tamanho total da tabela
+     */
+    private static int initMasks(boolean rook, long[] masks, int[] shifts, int[] offsets) {
+        int size = 0;
+        for (int square = 0; square < 64; square++) {
+            masks[square] = relevantMask(square, rook);
+            int bits = Long.bitCount(masks[square]);
+            shifts[square] = 64 - bits;
+            offsets[square] = size;
+            size += 1 << bits;
+        }
+        return size;
+    }
+
+    private static long relevantMask(int square, boolean rook) {
+        long attacks = rook ? Bitboards.rookRayAttacks(square, 0L) : Bitboards.bishopRayAttacks(square, 0L);
+        int col = Bitboards.column(square);
+        int row = Bitboards.row(square);
+        long edges = 0L;
+        if (col != 0) edges |= Bitboards.FILE_A;
+        if (col != 7) edges |= Bitboards.FILE_H;
+        if (row != 0) edges |= 0xFFL;
+        if (row != 7) edges |= 0xFFL << 56;
+        return attacks & ~edges;
+    }
+
+    /**
+     * Procura (com uma semente fixa) um número mágico sem colisões destrutivas para a casa
+     * e preenche a respetiva secção da tabela.
+     */
+    private static long findMagic(int square, boolean rook, long mask, int shift, long[] table, int offset) {
+        int size = 1 << (64 - shift);
+        long[] occupancies = new long[size];
+        long[] attacks = new long[size];
+        long subset = 0L;
+        int count = 0;
+        do { // enumerate all subsets of the mask (carry-rippler)
+            occupancies[count] = subset;
+            attacks[count] = rook ? Bitboards.rookRayAttacks(square, subset) : Bitboards.bishopRayAttacks(square, subset);
+            count++;
+            subset = (subset - mask) & mask;
+        } while (subset != 0);
+
+        int[] epoch = new int[size];
+        for (int attempt = 1; ; attempt++) {
+            long magic = nextRandom() & nextRandom() & nextRandom();
+            if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+                continue;
+            }
+            boolean ok = true;
+            for (int i = 0; i < count && ok; i++) {
+                int index = (int) ((occupancies[i] * magic) >>> shift);
+                if (epoch[index] != attempt) {
+                    epoch[index] = attempt;
+                    table[offset + index] = attacks[i];
+                } else if (table[offset + index] != attacks[i]) {
+                    ok = false;
+                }
+            }
+            if (ok) {
+                return magic;
+            }
+        }
+    }
+
+    private static long nextRandom() {
+        // xorshift64*
+        randomState ^= randomState >>> 12;
+        randomState ^= randomState << 25;
+        randomState ^= randomState >>> 27;
+        return randomState * 0x2545F4914F6CDD1DL;
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Análise contínua de uma posição numa thread virtual própria, para o modo de análise da interface.
+ *
+ * A pesquisa é o {@link SearchEngine} alfa-beta, sem limites: só termina quando a posição muda
+ * ({@link #analyse(Board)}), quando é parada ({@link #stop()}) ou ao fechar o analisador. Cada iteração
+ * completa é entregue ao listener (na thread da análise) com a chave da posição analisada.
+ *
+ * Há uma única thread por analisador, que espera pela próxima posição entre pesquisas: mudar de posição
+ * apenas publica a nova posição e pede a paragem da pesquisa atual, sem esperar por ela, por isso pode ser
+ * chamado da thread da interface. A tabela de transposição é mantida entre posições, o que acelera a
+ * análise da posição seguinte de uma partida.
+ */
+
+package pt.isec.pa.chess.model.engine;
+
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.tablebase.Tablebases;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+public final class Analyser implements AutoCloseable {
+
+    private final TranspositionTable table;
+    private final SearchEngine engine;
+    private final Consumer<AnalysisInfo> listener;
+    private final Thread thread;
+
+    // A lock rather than synchronized: a virtual thread waiting on a monitor would pin its carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition positionAvailable = lock.newCondition();
+    private Board pending;          // next position to analyse (guarded by lock)
+    private boolean closed;         // guarded by lock
+    private volatile int generation; // incremented on every change, to drop results of a replaced position
+    private int searching;          // generation of the running search (analysis thread only)
+    private long searchingKey;
+    private boolean searchingWhite;
+
+    /**
+     * Cria o analisador e a sua thread, que fica à espera da primeira posição.
+     * @param listener Recebe o resultado de cada iteração completa, na thread da análise
+     */
+    public Analyser(Consumer<AnalysisInfo> listener) {
+        this.table = new TranspositionTable(SearchEngine.DEFAULT_TABLE_MB);
+        this.engine = new SearchEngine(table);
+        this.listener = listener;
+        engine.setInfoListener(this::onIteration);
+        this.thread = Thread.ofVirtual().name("chess-analysis").start(this::run);
+    }
+
+    /**
+     * Passa a analisar a posição indicada, abandonando a análise atual. Não bloqueia.
+     * @param position Posição a analisar (é copiada)
+     */
+    public void analyse(Board position) {
+        Board copy = new Board(position);
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            pending = copy;
+            generation++;
+            engine.stop();
+            positionAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Para a análise atual (a thread fica à espera de uma nova posição). Não bloqueia.
+     */
+    public void stop() {
+        lock.lock();
+        try {
+            pending = null;
+            generation++;
+            engine.stop();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tabelas de finais usadas pela pesquisa (null para desativar); aplica-se a partir da próxima posição.
+     */
+    public void setTablebases(Tablebases tablebases) {
+        lock.lock();
+        try {
+            engine.setTablebases(tablebases);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Indica se a thread da análise ainda está a correr (termina pouco depois de {@link #close()}).
+     */
+    public boolean isAlive() {
+        return thread.isAlive();
+    }
+
+    /**
+     * Termina a análise e a thread. Não bloqueia.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            pending = null;
+            generation++;
+            engine.stop();
+            positionAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            Board position;
+            lock.lock();
+            try {
+                while (pending == null && !closed) {
+                    positionAvailable.awaitUninterruptibly();
+                }
+                if (closed) {
+                    return;
+                }
+                position = pending;
+                pending = null;
+                searching = generation;
+                // Cleared under the lock, so a stop() for a newer position cannot be lost
+                engine.clearStop();
+            } finally {
+                lock.unlock();
+            }
+            searchingKey = position.getZobristKey();
+            searchingWhite = position.isWhiteToMove();
+            table.newSearch();
+            engine.search(position, SearchLimits.infinite());
+        }
+    }
+
+    private void onIteration(SearchInfo info) {
+        if (searching == generation) {
+            listener.accept(new AnalysisInfo(searchingKey, searchingWhite, info));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * Resultado parcial da análise contínua de uma posição (ver {@link Analyser}).
+ * @param positionKey Chave de Zobrist da posição analisada, para descartar resultados de outra posição
+ * @param whiteToMove Lado a jogar na posição analisada
+ * @param search Estado da pesquisa no fim da última iteração completa
+ */
+
+package pt.isec.pa.chess.model.engine;
+
+public record AnalysisInfo(long positionKey, boolean whiteToMove, SearchInfo search) {
+
+    /**
+     * Avaliação em centipeões do ponto de vista das brancas.
+     */
+    public int whiteScore() {
+        return whiteToMove ? search.score() : -search.score();
+    }
+
+    @Override
+    public String toString() {
+        String eval = search.isMate()
+                ? "mate " + (whiteToMove ? search.mateIn() : -search.mateIn())
+                : String.format("%+.2f", whiteScore() / 100.0);
+        return String.format("depth %d  %s  %s", search.depth(), eval, search.bestMove());
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Avaliação estática de uma posição, em centipeões, do ponto de vista do lado a jogar.
+ *
+ * Material e tabelas peça-casa de meio-jogo e de final ({@link PieceSquareTables}), interpolados pela fase
+ * do jogo, a estrutura de peões ({@link PawnStructure}) e um pequeno termo de mobilidade. As somas
+ * peça-casa são mantidas incrementalmente pelo {@link Board} e os termos de peões podem vir de uma
+ * {@link PawnHashTable}, pelo que avaliar uma folha custa apenas algumas somas; {@link #evaluateFull(Board)}
+ * calcula o mesmo valor de raiz e serve de referência.
+ */
+
+package pt.isec.pa.chess.model.engine;
+
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.PieceSquareTables;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+public final class Evaluator {
+
+    // Indexed by PieceType.ordinal(): KING, QUEEN, BISHOP, KNIGHT, ROOK, PAWN
+    static final int[] PIECE_VALUES = {0, 900, 330, 320, 500, 100};
+    private static final int MOBILITY_WEIGHT = 2;
+
+    private Evaluator() {
+    }
+
+    public static int evaluate(Board board) {
+        return evaluate(board, null);
+    }
+
+    /**
+     * @param pawnTable Cache dos termos de estrutura de peões ({@code null} para os calcular sempre)
+     */
+    public static int evaluate(Board board, PawnHashTable pawnTable) {
+        long pawns = pawnTable != null ? pawnTable.evaluate(board) : PawnStructure.evaluate(board);
+        int midgame = board.getMidgameScore() + PawnStructure.midgame(pawns) + PawnStructure.kingShield(board);
+        int endgame = board.getEndgameScore() + PawnStructure.endgame(pawns);
+        int score = PieceSquareTables.taper(midgame, endgame, board.getGamePhase()) + mobility(board);
+        if (Board.isHashDebug()) {
+            int full = evaluateFull(board);
+            if (full != score) {
+                throw new IllegalStateException("Incremental evaluation " + score + " differs from full " + full);
+            }
+        }
+        return board.isWhiteToMove() ? score : -score;
+    }
+
+    /**
+     * A mesma avaliação calculada de raiz (sem o estado incremental), do ponto de vista das brancas.
+     */
+    public static int evaluateFull(Board board) {
+        int[] scores = new int[3];
+        board.computePieceSquareScores(scores);
+        long pawns = PawnStructure.evaluate(board);
+        int midgame = scores[0] + PawnStructure.midgame(pawns) + PawnStructure.kingShield(board);
+        int endgame = scores[1] + PawnStructure.endgame(pawns);
+        return PieceSquareTables.taper(midgame, endgame, scores[2]) + mobility(board);
+    }
+
+    public static int pieceValue(PieceType type) {
+        return PIECE_VALUES[type.ordinal()];
+    }
+
+    // Squares attacked by each side (the attack maps are also kept up to date by the board)
+    private static int mobility(Board board) {
+        return (Long.bitCount(board.attackedBy(true)) - Long.bitCount(board.attackedBy(false))) * MOBILITY_WEIGHT;
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * Pesquisa multi-thread "Lazy SMP": todas as threads pesquisam a mesma raiz com o {@link SearchEngine}
+ * sequencial e partilham uma única {@link TranspositionTable}, sem outra sincronização.
+ * As threads auxiliares começam em jogadas da raiz e profundidades diferentes, pelo que preenchem
+ * a tabela com resultados que a thread principal aproveita. O resultado devolvido (jogada, avaliação,
+ * profundidade) é sempre o da thread principal, que corre na thread que chama {@link #findBestMove}.
+ */
+
+package pt.isec.pa.chess.model.engine;
+
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.MoveGenerator;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.tablebase.Tablebases;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+public class LazySmpSearch implements AutoCloseable {
+
+    private final SearchEngine[] engines;
+    private final TranspositionTable table;
+    private final ExecutorService helpers;
+    private volatile SearchInfo lastInfo;
+
+    /**
+     * @param threads Número de threads, incluindo a principal (0 ou menos = todos os processadores disponíveis)
+     * @param tableMegabytes Tamanho da tabela de transposição partilhada
+     */
+    public LazySmpSearch(int threads, int tableMegabytes) {
+        int count = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.table = new TranspositionTable(tableMegabytes);
+        this.engines = new SearchEngine[count];
+        for (int i = 0; i < count; i++) {
+            engines[i] = new SearchEngine(table);
+            engines[i].setThreadIndex(i);
+        }
+        this.helpers = count > 1 ? Executors.newFixedThreadPool(count - 1, r -> {
+            Thread t = new Thread(r, "chess-search-helper");
+            t.setDaemon(true);
+            return t;
+        }) : null;
+    }
+
+    public LazySmpSearch(int threads) {
+        this(threads, SearchEngine.DEFAULT_TABLE_MB);
+    }
+
+    /**
+     * Listener chamado (na thread principal da pesquisa) no fim de cada iteração completa.
+     */
+    public void setInfoListener(Consumer<SearchInfo> listener) {
+        engines[0].setInfoListener(listener);
+    }
+
+    /**
+     * Tabelas de finais consultadas por todas as threads (null para desativar).
+     */
+    public void setTablebases(Tablebases tablebases) {
+        for (SearchEngine engine : engines) {
+            engine.setTablebases(tablebases);
+        }
+    }
+
+    public Move findBestMove(ChessGame game, SearchLimits limits) {
+        return findBestMove(game.getBoard(), limits);
+    }
+
+    /**
+     * Procura a melhor jogada com todas as threads. Só termina depois de as auxiliares pararem.
+     * @return A jogada da thread principal, ou null se não houver jogadas legais
+     */
+    public Move findBestMove(Board position, SearchLimits limits) {
+        return run(position, limits, null);
+    }
+
+    /**
+     * Como {@link #findBestMove(Board, SearchLimits)}, mas termina quando o pedido for cancelado, mesmo que
+     * isso aconteça antes de a pesquisa começar (ex: enquanto espera na fila da thread de pesquisa).
+     * @return A jogada da thread principal, ou null se o pedido já estava cancelado (a ignorar se foi cancelado)
+     */
+    public Move findBestMove(Board position, SearchLimits limits, SearchRequest request) {
+        return run(position, limits, request);
+    }
+
+    /**
+     * Pesquisa "ponder" com todas as threads (ver {@link Ponder}): a thread principal segue o pedido e as
+     * auxiliares param quando ela terminar.
+     * @return A jogada da thread principal (a ignorar se o pedido foi cancelado)
+     */
+    public Move ponder(Board position, Ponder request) {
+        return run(position, request.getLimits(), request);
+    }
+
+    private Move run(Board position, SearchLimits limits, SearchRequest request) {
+        lastInfo = null;
+        if (request != null && request.isCancelled()) {
+            return null;
+        }
+        table.newSearch();
+        for (SearchEngine engine : engines) {
+            engine.clearStop();
+        }
+
+        // Helpers only stop when the main thread is done (or on stop())
+        SearchLimits helperLimits = SearchLimits.depth(request instanceof Ponder ? SearchLimits.MAX_DEPTH : limits.maxDepth());
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 1; i < engines.length; i++) {
+            SearchEngine helper = engines[i];
+            Board copy = new Board(position);
+            futures.add(helpers.submit(() -> helper.search(copy, helperLimits)));
+        }
+
+        Move best;
+        try {
+            best = engines[0].search(position, limits, request);
+        } finally {
+            for (int i = 1; i < engines.length; i++) {
+                engines[i].stop();
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Search helper failed", e.getCause());
+                }
+            }
+        }
+
+        SearchInfo main = engines[0].getLastInfo();
+        if (main != null) {
+            lastInfo = new SearchInfo(main.depth(), main.score(), main.bestMove(), getTotalNodes(), main.nanos());
+        }
+        return best;
+    }
+
+    /**
+     * Jogada guardada na tabela de transposição para a posição (ex: a resposta esperada do adversário
+     * depois da jogada escolhida), se for legal.
+     * @return A jogada, ou null se a posição não estiver na tabela
+     */
+    public Move expectedMove(Board position) {
+        long entry = table.probe(position.getZobristKey());
+        if (entry == 0) {
+            return null;
+        }
+        int stored = TranspositionTable.move(entry);
+        MoveList legal = new MoveList();
+        MoveGenerator.generateLegalMoves(position, position.isWhiteToMove(), legal);
+        return legal.contains(stored) ? Move.of(stored) : null;
+    }
+
+    /**
+     * Pede a todas as threads que terminem assim que possível.
+     */
+    public void stop() {
+        for (SearchEngine engine : engines) {
+            engine.stop();
+        }
+    }
+
+    /**
+     * Informação da última iteração concluída pela thread principal, com o total de nós de todas as threads.
+     */
+    public SearchInfo getLastInfo() {
+        return lastInfo;
+    }
+
+    /**
+     * Nós visitados por cada thread na última pesquisa (índice 0 = thread principal).
+     */
+    public long[] getThreadNodes() {
+        long[] nodes = new long[engines.length];
+        for (int i = 0; i < engines.length; i++) {
+            nodes[i] = engines[i].getNodes();
+        }
+        return nodes;
+    }
+
+    public long getTotalNodes() {
+        long total = 0;
+        for (SearchEngine engine : engines) {
+            total += engine.getNodes();
+        }
+        return total;
+    }
+
+    public int getThreads() {
+        return engines.length;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    @Override
+    public void close() {
+        stop();
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+}
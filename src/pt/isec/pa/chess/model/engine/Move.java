@@ -0,0 +1,49 @@
+/**
+ * Jogada escolhida pelo motor, na forma usada pelo resto do modelo (casas e peça de promoção).
+ * @param from Casa de origem
+ * @param to Casa de destino
+ * @param promotion Peça de promoção, ou null
+ */
+
+package pt.isec.pa.chess.model.engine;
+
+import pt.isec.pa.chess.model.data.Moves;
+import pt.isec.pa.chess.model.data.Square;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+public record Move(Square from, Square to, PieceType promotion) {
+
+    /**
+     * Converte uma jogada codificada (ver {@link Moves}).
+     */
+    public static Move of(int move) {
+        return new Move(Square.of(Moves.from(move)), Square.of(Moves.to(move)), Moves.promotion(move));
+    }
+
+    /**
+     * Indica se corresponde à jogada codificada (origem, destino e promoção).
+     */
+    public boolean matches(int move) {
+        return from.index() == Moves.from(move) && to.index() == Moves.to(move) && promotion == Moves.promotion(move);
+    }
+
+    /**
+     * Notação de coordenadas (ex: "e2e4", "e7e8q").
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder()
+                .append((char) ('a' + from.column())).append(8 - from.row())
+                .append((char) ('a' + to.column())).append(8 - to.row());
+        if (promotion != null) {
+            sb.append(switch (promotion) {
+                case QUEEN -> 'q';
+                case ROOK -> 'r';
+                case BISHOP -> 'b';
+                case KNIGHT -> 'n';
+                default -> '?';
+            });
+        }
+        return sb.toString();
+    }
+}
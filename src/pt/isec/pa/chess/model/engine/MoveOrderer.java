@@ -0,0 +1,153 @@
+/**
+ * Ordenação das jogadas para a pesquisa alfa-beta. As jogadas com mais hipóteses de provocar um corte
+ * são pesquisadas primeiro:
+ * 1. a jogada da tabela de transposição;
+ * 2. capturas (e promoções), pela vítima mais valiosa e, em caso de empate, pelo atacante menos valioso (MVV-LVA);
+ * 3. as duas jogadas "killer" do nível, jogadas calmas que provocaram cortes noutros ramos ao mesmo nível;
+ * 4. as restantes jogadas calmas, pela tabela de histórico (origem x destino, por cor).
+ *
+ * As jogadas são escolhidas uma a uma com {@link #pickNext(MoveList, int, int)}, pelo que depois de
+ * um corte as restantes nem chegam a ser ordenadas. Uma instância pertence a um único motor (não é thread-safe).
+ */
+
+package pt.isec.pa.chess.model.engine;
+
+import pt.isec.pa.chess.model.data.Bitboards;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Moves;
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+public final class MoveOrderer {
+
+    private static final int HASH_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_BASE = 1 << 24;
+    private static final int KILLER_1_SCORE = CAPTURE_BASE - 1;
+    private static final int KILLER_2_SCORE = CAPTURE_BASE - 2;
+    private static final int HISTORY_MAX = CAPTURE_BASE / 2; // keeps quiet moves below the killers
+
+    private final int[][] scores;
+    private final int[][] killers;
+    private final int[][] history = new int[2][64 * 64]; // butterfly table [colour][from * 64 + to]
+
+    public MoveOrderer(int maxPly) {
+        scores = new int[maxPly][MoveList.CAPACITY];
+        killers = new int[maxPly][2];
+    }
+
+    /**
+     * Prepara uma nova pesquisa: esquece as killers e reduz o histórico a metade,
+     * para que a informação da posição anterior conte menos.
+     */
+    public void newSearch() {
+        for (int[] k : killers) {
+            k[0] = k[1] = Moves.NONE;
+        }
+        ageHistory();
+    }
+
+    /**
+     * Calcula a prioridade de cada jogada da lista (deve ser chamado antes de {@link #pickNext}).
+     * @param hashMove Jogada da tabela de transposição, ou {@link Moves#NONE}
+     */
+    public void score(Board board, MoveList moves, int hashMove, int ply) {
+        int[] s = scores[ply];
+        int[] k = killers[ply];
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (move == hashMove) {
+                s[i] = HASH_MOVE_SCORE;
+            } else if (Moves.isCapture(move) || Moves.isPromotion(move)) {
+                s[i] = CAPTURE_BASE + mvvLva(board, move);
+            } else if (move == k[0]) {
+                s[i] = KILLER_1_SCORE;
+            } else if (move == k[1]) {
+                s[i] = KILLER_2_SCORE;
+            } else {
+                s[i] = history[colour(board, move)][butterfly(move)];
+            }
+        }
+    }
+
+    /**
+     * Coloca na posição {@code index} a jogada de maior prioridade entre as ainda não pesquisadas.
+     * @return A jogada escolhida
+     */
+    public int pickNext(MoveList moves, int index, int ply) {
+        int[] s = scores[ply];
+        int best = index;
+        for (int i = index + 1; i < moves.size(); i++) {
+            if (s[i] > s[best]) {
+                best = i;
+            }
+        }
+        if (best != index) {
+            int move = moves.get(best);
+            moves.set(best, moves.get(index));
+            moves.set(index, move);
+            int score = s[best];
+            s[best] = s[index];
+            s[index] = score;
+        }
+        return moves.get(index);
+    }
+
+    /**
+     * Regista uma jogada que provocou um corte beta. Só as jogadas calmas atualizam as killers e o histórico
+     * (as capturas já são bem ordenadas pelo MVV-LVA).
+     */
+    public void onCutoff(Board board, int move, int ply, int depth) {
+        if (Moves.isCapture(move) || Moves.isPromotion(move)) {
+            return;
+        }
+        int[] k = killers[ply];
+        if (k[0] != move) {
+            k[1] = k[0];
+            k[0] = move;
+        }
+        int[] h = history[colour(board, move)];
+        int index = butterfly(move);
+        h[index] += depth * depth;
+        if (h[index] >= HISTORY_MAX) {
+            ageHistory();
+        }
+    }
+
+    private void ageHistory() {
+        for (int[] h : history) {
+            for (int i = 0; i < h.length; i++) {
+                h[i] >>= 1;
+            }
+        }
+    }
+
+    private static int mvvLva(Board board, int move) {
+        Piece attacker = pieceAt(board, Moves.from(move));
+        int victimValue;
+        if (Moves.isEnPassant(move)) {
+            victimValue = Evaluator.pieceValue(PieceType.PAWN);
+        } else {
+            Piece victim = pieceAt(board, Moves.to(move));
+            victimValue = victim == null ? 0 : Evaluator.pieceValue(victim.getType());
+        }
+        PieceType promotion = Moves.promotion(move);
+        if (promotion != null) {
+            victimValue += Evaluator.pieceValue(promotion);
+        }
+        return victimValue * 10 - Evaluator.pieceValue(attacker.getType()) / 10;
+    }
+
+    // Ordering happens before the move is made, so the moving piece is still on its origin square
+    private static int colour(Board board, int move) {
+        return pieceAt(board, Moves.from(move)).isWhite() ? 0 : 1;
+    }
+
+    private static int butterfly(int move) {
+        return Moves.from(move) * 64 + Moves.to(move);
+    }
+
+    private static Piece pieceAt(Board board, int square) {
+        return board.getPieceAt(Bitboards.column(square), Bitboards.row(square));
+    }
+}
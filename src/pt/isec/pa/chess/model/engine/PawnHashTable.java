@@ -0,0 +1,98 @@
+/**
+ * Cache dos termos de {@link PawnStructure}, indexada pela chave dos peões ({@link Board#getPawnKey()}).
+ * A estrutura de peões muda raramente durante uma pesquisa, pelo que a grande maioria das avaliações
+ * encontra o resultado já calculado.
+ *
+ * Tamanho fixo, definido em megabytes; cada posição da tabela tem uma só entrada, substituída sempre.
+ * Não é thread-safe: cada {@link SearchEngine} tem a sua.
+ */
+
+package pt.isec.pa.chess.model.engine;
+
+import pt.isec.pa.chess.model.data.Board;
+
+import java.util.Arrays;
+
+public final class PawnHashTable {
+
+    private static final int ENTRY_BYTES = 2 * Long.BYTES; // key + packed score
+    private static final long MAX_ENTRIES = 1L << 28;
+
+    // An empty slot (key 0, score 0) is also the correct entry for a position without pawns
+    private final long[] keys;
+    private final long[] scores;
+    private final int mask;
+    private long probes;
+    private long hits;
+
+    /**
+     * @param megabytes Memória máxima a usar (arredondada para baixo para uma potência de 2 de entradas)
+     */
+    public PawnHashTable(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Table size must be at least 1 MB");
+        }
+        long entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / ENTRY_BYTES);
+        entries = Math.min(entries, MAX_ENTRIES);
+        keys = new long[(int) entries];
+        scores = new long[(int) entries];
+        mask = (int) entries - 1;
+    }
+
+    /**
+     * Termos de estrutura de peões da posição, calculados apenas se não estiverem na tabela.
+     * @return Meio-jogo e final juntos (ver {@link PawnStructure#pack(int, int)})
+     */
+    public long evaluate(Board board) {
+        long key = board.getPawnKey();
+        int index = (int) key & mask;
+        probes++;
+        if (keys[index] == key) {
+            hits++;
+            return scores[index];
+        }
+        long score = PawnStructure.evaluate(board);
+        keys[index] = key;
+        scores[index] = score;
+        return score;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(scores, 0L);
+        probes = 0;
+        hits = 0;
+    }
+
+    /**
+     * Número de entradas da tabela.
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    public long getProbes() {
+        return probes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public double getHitRate() {
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    /**
+     * Reinicia os contadores (sem apagar as entradas).
+     */
+    public void resetStats() {
+        probes = 0;
+        hits = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d entries, %,d probes, %.1f%% hits", capacity(), getProbes(), getHitRate() * 100);
+    }
+}
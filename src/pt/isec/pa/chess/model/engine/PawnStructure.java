@@ -0,0 +1,164 @@
+/**
+ * Avaliação da estrutura de peões: peões dobrados, isolados, passados e atrasados, e o escudo de peões
+ * à frente de cada rei.
+ *
+ * Os termos de estrutura só dependem dos peões, por isso podem ser guardados numa {@link PawnHashTable}
+ * indexada pela chave dos peões ({@link Board#getPawnKey()}). O escudo do rei depende também da casa do
+ * rei e é calculado sempre, mas custa apenas algumas operações sobre bitboards.
+ * Os valores são devolvidos do ponto de vista das brancas, com meio-jogo e final juntos num {@code long}
+ * (ver {@link #pack(int, int)}).
+ */
+
+package pt.isec.pa.chess.model.engine;
+
+import pt.isec.pa.chess.model.data.Bitboards;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+public final class PawnStructure {
+
+    private static final int DOUBLED_MG = -10, DOUBLED_EG = -20;
+    private static final int ISOLATED_MG = -10, ISOLATED_EG = -15;
+    private static final int BACKWARD_MG = -8, BACKWARD_EG = -10;
+    // Indexed by the rank relative to the pawn's side (1 = start rank, 6 = one step from promotion)
+    private static final int[] PASSED_MG = {0, 5, 10, 15, 25, 40, 60, 0};
+    private static final int[] PASSED_EG = {0, 10, 20, 35, 60, 90, 130, 0};
+    private static final int SHIELD_MG = 10;
+
+    private static final long[] FILES = new long[8];
+    private static final long[] ADJACENT_FILES = new long[8];
+    // [cor][casa]: casas à frente na mesma coluna / na mesma coluna e nas adjacentes (0 = brancas)
+    private static final long[][] FRONT = new long[2][64];
+    private static final long[][] PASSED_SPAN = new long[2][64];
+    // [cor][casa]: casas das colunas adjacentes na mesma linha e atrás (peões que ainda podem apoiar este)
+    private static final long[][] SUPPORT_SPAN = new long[2][64];
+    // [cor][casa]: as duas linhas à frente do rei, na coluna do rei e nas adjacentes
+    private static final long[][] SHIELD = new long[2][64];
+
+    static {
+        for (int file = 0; file < 8; file++) {
+            FILES[file] = Bitboards.FILE_A << file;
+        }
+        for (int file = 0; file < 8; file++) {
+            ADJACENT_FILES[file] = (file > 0 ? FILES[file - 1] : 0L) | (file < 7 ? FILES[file + 1] : 0L);
+        }
+        for (int square = 0; square < 64; square++) {
+            int file = Bitboards.column(square);
+            int row = Bitboards.row(square);
+            for (int r = 0; r < 8; r++) {
+                long rank = 0xFFL << (r * 8);
+                // White moves towards row 0, black towards row 7
+                if (r < row) {
+                    FRONT[0][square] |= rank & FILES[file];
+                    PASSED_SPAN[0][square] |= rank & (FILES[file] | ADJACENT_FILES[file]);
+                } else {
+                    SUPPORT_SPAN[0][square] |= rank & ADJACENT_FILES[file];
+                }
+                if (r > row) {
+                    FRONT[1][square] |= rank & FILES[file];
+                    PASSED_SPAN[1][square] |= rank & (FILES[file] | ADJACENT_FILES[file]);
+                } else {
+                    SUPPORT_SPAN[1][square] |= rank & ADJACENT_FILES[file];
+                }
+                if (r == row - 1 || r == row - 2) {
+                    SHIELD[0][square] |= rank & (FILES[file] | ADJACENT_FILES[file]);
+                }
+                if (r == row + 1 || r == row + 2) {
+                    SHIELD[1][square] |= rank & (FILES[file] | ADJACENT_FILES[file]);
+                }
+            }
+        }
+    }
+
+    private PawnStructure() {
+    }
+
+    /**
+     * Termos de estrutura de peões (sem o escudo do rei), brancas menos pretas.
+     * @return Meio-jogo e final juntos (ver {@link #midgame(long)} e {@link #endgame(long)})
+     */
+    public static long evaluate(Board board) {
+        long white = board.piecesOf(PieceType.PAWN, true);
+        long black = board.piecesOf(PieceType.PAWN, false);
+        long w = evaluateSide(white, black, true);
+        long b = evaluateSide(black, white, false);
+        return pack(midgame(w) - midgame(b), endgame(w) - endgame(b));
+    }
+
+    private static long evaluateSide(long own, long enemy, boolean isWhite) {
+        int colour = isWhite ? 0 : 1;
+        long enemyAttacks = isWhite ? blackPawnAttacks(enemy) : whitePawnAttacks(enemy);
+        int mg = 0;
+        int eg = 0;
+
+        for (int file = 0; file < 8; file++) {
+            int count = Long.bitCount(own & FILES[file]);
+            if (count > 1) {
+                mg += (count - 1) * DOUBLED_MG;
+                eg += (count - 1) * DOUBLED_EG;
+            }
+        }
+
+        long pawns = own;
+        while (pawns != 0) {
+            int square = Bitboards.first(pawns);
+            pawns &= pawns - 1;
+            int file = Bitboards.column(square);
+
+            if ((own & ADJACENT_FILES[file]) == 0) {
+                mg += ISOLATED_MG;
+                eg += ISOLATED_EG;
+            } else if ((own & SUPPORT_SPAN[colour][square]) == 0) {
+                // Neighbours have all advanced: backward if the stop square is controlled by an enemy pawn
+                int stop = isWhite ? square - 8 : square + 8;
+                if ((enemyAttacks & Bitboards.bit(stop)) != 0) {
+                    mg += BACKWARD_MG;
+                    eg += BACKWARD_EG;
+                }
+            }
+
+            // Passed: no enemy pawn in front on this or the adjacent files, and not behind a friendly pawn
+            if ((enemy & PASSED_SPAN[colour][square]) == 0 && (own & FRONT[colour][square]) == 0) {
+                int rank = isWhite ? 7 - Bitboards.row(square) : Bitboards.row(square);
+                mg += PASSED_MG[rank];
+                eg += PASSED_EG[rank];
+            }
+        }
+        return pack(mg, eg);
+    }
+
+    /**
+     * Bónus de meio-jogo pelos peões à frente de cada rei, brancas menos pretas.
+     */
+    public static int kingShield(Board board) {
+        return shield(board, true) - shield(board, false);
+    }
+
+    private static int shield(Board board, boolean isWhite) {
+        int king = board.getKingIndex(isWhite);
+        if (king < 0) {
+            return 0;
+        }
+        return Long.bitCount(board.piecesOf(PieceType.PAWN, isWhite) & SHIELD[isWhite ? 0 : 1][king]) * SHIELD_MG;
+    }
+
+    public static long pack(int midgame, int endgame) {
+        return ((long) midgame << 32) | (endgame & 0xFFFFFFFFL);
+    }
+
+    public static int midgame(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int endgame(long packed) {
+        return (int) packed;
+    }
+
+    private static long whitePawnAttacks(long pawns) {
+        return ((pawns & Bitboards.NOT_FILE_A) >>> 9) | ((pawns & Bitboards.NOT_FILE_H) >>> 7);
+    }
+
+    private static long blackPawnAttacks(long pawns) {
+        return ((pawns & Bitboards.NOT_FILE_A) << 7) | ((pawns & Bitboards.NOT_FILE_H) << 9);
+    }
+}
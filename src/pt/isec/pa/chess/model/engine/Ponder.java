@@ -0,0 +1,48 @@
+/**
+ * Pedido de pesquisa "ponder": enquanto o adversário pensa, o motor pesquisa a posição depois da jogada
+ * que espera que ele faça, sem limite de tempo.
+ *
+ * Se o adversário fizer a jogada esperada ({@link #hit()}), a mesma pesquisa continua, com a árvore e a
+ * tabela de transposição que já construiu, mas passa a respeitar os limites do pedido, contados a partir
+ * desse momento. Se fizer outra jogada, o pedido é cancelado ({@link #cancel()}, ver {@link SearchRequest})
+ * e a pesquisa termina.
+ *
+ * Cada pesquisa tem o seu próprio pedido, pelo que um cancelamento ou um hit feitos antes de a pesquisa
+ * começar não se perdem nem afetam a pesquisa seguinte. Os métodos podem ser chamados de qualquer thread.
+ */
+
+package pt.isec.pa.chess.model.engine;
+
+public final class Ponder extends SearchRequest {
+
+    private final SearchLimits limits;
+    private volatile TimeManager hitTime; // null while still pondering
+
+    /**
+     * @param limits Limites da pesquisa a partir do momento do hit
+     */
+    public Ponder(SearchLimits limits) {
+        this.limits = limits;
+    }
+
+    public SearchLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * O adversário fez a jogada esperada: a pesquisa passa a ter os limites do pedido, contados a partir de agora.
+     */
+    public void hit() {
+        if (hitTime == null) {
+            hitTime = TimeManager.start(limits);
+        }
+    }
+
+    public boolean isHit() {
+        return hitTime != null;
+    }
+
+    TimeManager getHitTime() {
+        return hitTime;
+    }
+}
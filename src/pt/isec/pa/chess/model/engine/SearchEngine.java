@@ -0,0 +1,484 @@
+/**
+ * Motor de pesquisa: negamax com cortes alfa-beta e aprofundamento iterativo sobre o gerador de
+ * jogadas legais e {@link Board#makeMove(int, UndoInfo)}.
+ *
+ * A pesquisa decorre sobre uma cópia do tabuleiro, por isso pode correr noutra thread enquanto o
+ * jogo continua a ser mostrado. Cada iteração completa é comunicada ao listener (se existir) e a
+ * jogada devolvida é sempre a melhor da última iteração concluída.
+ *
+ * O tempo é controlado por um {@link TimeManager}: não se começa uma iteração depois do prazo suave e
+ * a pesquisa é abortada no prazo rígido. O pedido de paragem e o relógio são verificados a cada
+ * {@value #CHECK_INTERVAL} nós, o que mantém a latência da paragem bem abaixo de um milissegundo.
+ *
+ * Nas folhas, uma pesquisa de quiescência continua apenas com capturas e promoções até a posição ficar
+ * calma, ignorando as capturas que perdem material segundo a {@link StaticExchange}.
+ *
+ * As jogadas de cada nó são pesquisadas pela ordem do {@link MoveOrderer} (jogada da tabela, capturas por
+ * MVV-LVA, killers e histórico); a taxa de cortes na primeira jogada mede a qualidade dessa ordenação.
+ *
+ * Com tabelas de finais ({@link #setTablebases(Tablebases)}), as posições com poucas peças não são
+ * pesquisadas: valem o resultado exato das tabelas.
+ *
+ * Uma pesquisa "ponder" ({@link #ponder(Board, Ponder)}) corre sem limites enquanto o adversário pensa e,
+ * se ele fizer a jogada esperada, continua sem recomeçar, já com os limites normais.
+ *
+ * Os resultados de cada nó são guardados numa {@link TranspositionTable}, que pode ser partilhada
+ * por vários motores a pesquisar a mesma posição em threads diferentes (ver {@link LazySmpSearch}).
+ * Uma instância só pode executar uma pesquisa de cada vez; {@link #stop()} pode ser chamado de outra thread.
+ */
+
+package pt.isec.pa.chess.model.engine;
+
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.MoveGenerator;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Moves;
+import pt.isec.pa.chess.model.data.StaticExchange;
+import pt.isec.pa.chess.model.data.UndoInfo;
+import pt.isec.pa.chess.model.tablebase.Material;
+import pt.isec.pa.chess.model.tablebase.TablebaseResult;
+import pt.isec.pa.chess.model.tablebase.Tablebases;
+
+import java.util.function.Consumer;
+
+public class SearchEngine {
+
+    public static final int MATE = 100_000;
+    public static final int DEFAULT_TABLE_MB = 16;
+    public static final int DEFAULT_PAWN_TABLE_MB = 1;
+    private static final int INFINITY = MATE + 1;
+    private static final int MAX_PLY = SearchLimits.MAX_DEPTH * 2; // room for the quiescence search
+    private static final int MATE_BOUND = MATE - MAX_PLY;
+    static final int CHECK_INTERVAL = 1024; // nodes between time/stop checks (power of 2)
+
+    private final MoveList[] moveLists = new MoveList[MAX_PLY];
+    private final UndoInfo[] undos = new UndoInfo[MAX_PLY];
+    private final TranspositionTable table;
+    private final MoveOrderer orderer = new MoveOrderer(MAX_PLY);
+    private final PawnHashTable pawnTable = new PawnHashTable(DEFAULT_PAWN_TABLE_MB); // one per thread
+    private final int[] seeGain = new int[StaticExchange.MAX_EXCHANGES];
+    private boolean moveOrdering = true;
+
+    private Board board;
+    private volatile boolean stopRequested;
+    private boolean aborted;
+    private long nodes;
+    private long cutoffs;
+    private long firstMoveCutoffs;
+    private TimeManager timeManager;
+    private long maxNodes;
+    private int maxDepth;
+    private SearchRequest request; // null if the search can only be stopped with stop()
+    private Ponder ponder;         // null unless this is a ponder search
+    private boolean pondering; // ponder search still waiting for its hit
+    private int rootBestMove;
+    private int threadIndex; // 0 = main search, > 0 = Lazy SMP helper
+    private volatile SearchInfo lastInfo;
+    private Consumer<SearchInfo> infoListener;
+    private Tablebases tablebases;
+
+    public SearchEngine() {
+        this(new TranspositionTable(DEFAULT_TABLE_MB));
+    }
+
+    /**
+     * @param table Tabela de transposição (pode ser partilhada com outros motores)
+     */
+    public SearchEngine(TranspositionTable table) {
+        this.table = table;
+        for (int i = 0; i < MAX_PLY; i++) {
+            moveLists[i] = new MoveList();
+            undos[i] = new UndoInfo();
+        }
+    }
+
+    /**
+     * Listener chamado (na thread da pesquisa) no fim de cada iteração completa.
+     */
+    public void setInfoListener(Consumer<SearchInfo> listener) {
+        this.infoListener = listener;
+    }
+
+    /**
+     * Tabelas de finais (null para desativar): as posições que estão nas tabelas não são pesquisadas
+     * e valem o resultado exato, com a distância até ao mate.
+     */
+    public void setTablebases(Tablebases tablebases) {
+        this.tablebases = tablebases;
+    }
+
+    public Move findBestMove(ChessGame game, SearchLimits limits) {
+        return findBestMove(game.getBoard(), limits);
+    }
+
+    /**
+     * Procura a melhor jogada para o lado a jogar no tabuleiro, que não é alterado.
+     * @return A melhor jogada da última iteração concluída, ou null se não houver jogadas legais
+     */
+    public Move findBestMove(Board position, SearchLimits limits) {
+        stopRequested = false;
+        table.newSearch();
+        return search(position, limits);
+    }
+
+    /**
+     * Pesquisa sem limpar o pedido de paragem nem mudar a geração da tabela (usado pelas threads
+     * auxiliares da {@link LazySmpSearch}, que podem ser paradas antes de começarem).
+     */
+    Move search(Board position, SearchLimits limits) {
+        return search(position, limits, null);
+    }
+
+    /**
+     * Pesquisa "ponder" (ver {@link Ponder}): sem limites até ao hit, depois com os limites do pedido.
+     * Termina se o pedido for cancelado, mesmo antes de começar.
+     * @return A melhor jogada da última iteração concluída (a ignorar se o pedido foi cancelado)
+     */
+    public Move ponder(Board position, Ponder request) {
+        stopRequested = false;
+        table.newSearch();
+        return search(position, request.getLimits(), request);
+    }
+
+    Move search(Board position, SearchLimits limits, SearchRequest request) {
+        board = new Board(position);
+        aborted = false;
+        nodes = 0;
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+        lastInfo = null;
+        orderer.newSearch();
+        this.request = request;
+        ponder = request instanceof Ponder p ? p : null;
+        pondering = ponder != null;
+        timeManager = TimeManager.start(pondering ? SearchLimits.infinite() : limits);
+        long startNanos = timeManager.getStartNanos(); // a ponder hit replaces the time manager
+        maxNodes = pondering ? 0 : limits.maxNodes();
+        maxDepth = pondering ? SearchLimits.MAX_DEPTH : limits.maxDepth();
+        updateRequest(); // the hit or the cancellation may have come before the search started
+
+        MoveList rootMoves = moveLists[0];
+        rootMoves.clear();
+        MoveGenerator.generateLegalMoves(board, board.isWhiteToMove(), rootMoves);
+        if (rootMoves.isEmpty()) {
+            return null;
+        }
+        if (moveOrdering) {
+            orderer.score(board, rootMoves, Moves.NONE, 0);
+            for (int i = 0; i < rootMoves.size(); i++) {
+                orderer.pickNext(rootMoves, i, 0);
+            }
+        }
+        if (threadIndex > 0) {
+            rotate(rootMoves, threadIndex % rootMoves.size()); // helpers start from different root moves
+        }
+
+        int best = rootMoves.get(0);
+        // Odd helpers skip the first iteration so that threads reach each depth at different times
+        for (int depth = 1 + (threadIndex & 1); depth <= maxDepth; depth++) {
+            int score = searchRoot(depth, best);
+            updateRequest();
+            if (aborted) {
+                break;
+            }
+            best = rootBestMove;
+            long now = System.nanoTime();
+            SearchInfo info = new SearchInfo(depth, score, Move.of(best), nodes, now - startNanos);
+            lastInfo = info;
+            if (infoListener != null) {
+                infoListener.accept(info);
+            }
+            if ((info.isMate() && !pondering) || (rootMoves.size() == 1 && timeManager.isLimited())) {
+                break; // nothing to gain from searching deeper
+            }
+            if (!timeManager.canStartIteration(now)) {
+                break;
+            }
+        }
+        return Move.of(best);
+    }
+
+    /**
+     * Pede à pesquisa em curso que termine assim que possível.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Informação da última iteração concluída (null antes da primeira).
+     */
+    public SearchInfo getLastInfo() {
+        return lastInfo;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Número de cortes beta na última pesquisa.
+     */
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    /**
+     * Fração dos cortes beta provocados pela primeira jogada pesquisada (perto de 1 = boa ordenação).
+     */
+    public double getFirstMoveCutoffRate() {
+        return cutoffs == 0 ? 0.0 : (double) firstMoveCutoffs / cutoffs;
+    }
+
+    /**
+     * Ativa ou desativa a ordenação de jogadas (ativa por omissão; desativar só serve para medir o seu efeito).
+     */
+    public void setMoveOrdering(boolean enabled) {
+        this.moveOrdering = enabled;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    public PawnHashTable getPawnTable() {
+        return pawnTable;
+    }
+
+    void setThreadIndex(int threadIndex) {
+        this.threadIndex = threadIndex;
+    }
+
+    void clearStop() {
+        stopRequested = false;
+    }
+
+    private int searchRoot(int depth, int previousBest) {
+        MoveList moves = moveLists[0];
+        moveToFront(moves, previousBest); // search the previous iteration's best move first
+
+        int alpha = -INFINITY;
+        rootBestMove = moves.get(0);
+        UndoInfo undo = undos[0];
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            board.makeMove(move, undo);
+            int score = -negamax(depth - 1, 1, -INFINITY, -alpha);
+            board.unmakeMove(undo);
+            if (aborted) {
+                return alpha;
+            }
+            if (score > alpha) {
+                alpha = score;
+                rootBestMove = move;
+            }
+        }
+        table.store(board.getZobristKey(), rootBestMove, toTable(alpha, 0), depth, TranspositionTable.EXACT);
+        return alpha;
+    }
+
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        if (tablebases != null && Long.bitCount(board.occupied()) <= Material.MAX_PIECES) {
+            TablebaseResult result = tablebases.probe(board);
+            if (result != null) {
+                return switch (result.outcome()) {
+                    case WIN -> MATE - ply - result.pliesToMate();
+                    case LOSS -> -MATE + ply + result.pliesToMate();
+                    case DRAW -> 0;
+                };
+            }
+        }
+        if (depth == 0) {
+            return quiescence(ply, alpha, beta);
+        }
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0) {
+            checkLimits();
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        long key = board.getZobristKey();
+        long entry = table.probe(key);
+        int hashMove = Moves.NONE;
+        if (entry != 0) {
+            hashMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        MoveGenerator.generateLegalMoves(board, board.isWhiteToMove(), moves);
+        if (moves.isEmpty()) {
+            return isInCheck() ? -MATE + ply : 0; // checkmate or stalemate
+        }
+        if (moveOrdering) {
+            orderer.score(board, moves, hashMove, ply);
+        }
+
+        int originalAlpha = alpha;
+        int bestMove = moves.get(0);
+        UndoInfo undo = undos[ply];
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moveOrdering ? orderer.pickNext(moves, i, ply) : moves.get(i);
+            board.makeMove(move, undo);
+            int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            board.unmakeMove(undo);
+            if (aborted) {
+                return 0;
+            }
+            if (score >= beta) {
+                cutoffs++;
+                if (i == 0) {
+                    firstMoveCutoffs++;
+                }
+                if (moveOrdering) {
+                    orderer.onCutoff(board, move, ply, depth);
+                }
+                table.store(key, move, toTable(beta, ply), depth, TranspositionTable.LOWER);
+                return beta;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+            }
+        }
+        table.store(key, bestMove, toTable(alpha, ply), depth,
+                alpha > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER);
+        return alpha;
+    }
+
+    /**
+     * Pesquisa só capturas e promoções a partir de uma folha. O lado a jogar pode sempre ficar pela
+     * avaliação estática ("stand pat"), por isso só se pesquisam as jogadas que a podem melhorar.
+     */
+    private int quiescence(int ply, int alpha, int beta) {
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0) {
+            checkLimits();
+        }
+        if (aborted) {
+            return 0;
+        }
+        int standPat = Evaluator.evaluate(board, pawnTable);
+        if (standPat >= beta || ply >= MAX_PLY - 1) {
+            return Math.min(standPat, beta);
+        }
+        if (standPat > alpha) {
+            alpha = standPat;
+        }
+
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        MoveGenerator.generateLegalMoves(board, board.isWhiteToMove(), moves);
+        // Keep captures and promotions that do not lose material
+        int kept = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if ((Moves.isCapture(move) || Moves.isPromotion(move))
+                    && StaticExchange.evaluate(board, move, seeGain) >= 0) {
+                moves.set(kept++, move);
+            }
+        }
+        moves.truncate(kept);
+        if (moveOrdering) {
+            orderer.score(board, moves, Moves.NONE, ply);
+        }
+
+        UndoInfo undo = undos[ply];
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moveOrdering ? orderer.pickNext(moves, i, ply) : moves.get(i);
+            board.makeMove(move, undo);
+            int score = -quiescence(ply + 1, -beta, -alpha);
+            board.unmakeMove(undo);
+            if (aborted) {
+                return 0;
+            }
+            if (score >= beta) {
+                return beta;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+        }
+        return alpha;
+    }
+
+    private boolean isInCheck() {
+        int king = board.getKingIndex(board.isWhiteToMove());
+        return king >= 0 && board.isSquareAttacked(king, !board.isWhiteToMove());
+    }
+
+    // A cancelled request aborts; a ponder search that got its hit continues as a normal search, timed from the hit
+    private void updateRequest() {
+        if (request == null) {
+            return;
+        }
+        if (request.isCancelled()) {
+            aborted = true;
+        } else if (pondering && ponder.isHit()) {
+            pondering = false;
+            timeManager = ponder.getHitTime();
+            maxNodes = ponder.getLimits().maxNodes();
+            maxDepth = ponder.getLimits().maxDepth();
+        }
+    }
+
+    private void checkLimits() {
+        updateRequest();
+        if (stopRequested
+                || timeManager.isHardExpired(System.nanoTime())
+                || (maxNodes != 0 && nodes >= maxNodes)) {
+            aborted = true;
+        }
+    }
+
+    // Mate scores are stored relative to the node, not to the root, so they stay valid at any ply
+    private static int toTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score + ply;
+        }
+        if (score <= -MATE_BOUND) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score - ply;
+        }
+        if (score <= -MATE_BOUND) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    private static void moveToFront(MoveList moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                moves.set(i, moves.get(0));
+                moves.set(0, move);
+                return;
+            }
+        }
+    }
+
+    private static void rotate(MoveList moves, int by) {
+        for (int r = 0; r < by; r++) {
+            int first = moves.get(0);
+            for (int i = 1; i < moves.size(); i++) {
+                moves.set(i - 1, moves.get(i));
+            }
+            moves.set(moves.size() - 1, first);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Estado de uma pesquisa no fim de uma iteração completa.
+ * @param depth Profundidade concluída
+ * @param score Avaliação em centipeões do ponto de vista do lado a jogar
+ *              (perto de ±{@link SearchEngine#MATE} indica mate)
+ * @param bestMove Melhor jogada encontrada
+ * @param nodes Nós visitados desde o início da pesquisa
+ * @param nanos Tempo decorrido desde o início da pesquisa
+ */
+
+package pt.isec.pa.chess.model.engine;
+
+public record SearchInfo(int depth, int score, Move bestMove, long nodes, long nanos) {
+
+    public long nodesPerSecond() {
+        return nanos == 0 ? 0 : (long) (nodes * 1e9 / nanos);
+    }
+
+    public boolean isMate() {
+        return Math.abs(score) >= SearchEngine.MATE - SearchLimits.MAX_DEPTH * 2;
+    }
+
+    /**
+     * Número de jogadas até ao mate (positivo se o lado a jogar dá mate), ou 0 se não for mate.
+     */
+    public int mateIn() {
+        if (!isMate()) {
+            return 0;
+        }
+        int plies = SearchEngine.MATE - Math.abs(score);
+        return (score > 0 ? 1 : -1) * (plies + 1) / 2;
+    }
+
+    @Override
+    public String toString() {
+        String eval = isMate() ? "mate " + mateIn() : String.format("%+.2f", score / 100.0);
+        return String.format("depth %d, %s, %s, %,d nodes, %,d nps", depth, bestMove, eval, nodes, nodesPerSecond());
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Limites de uma pesquisa. A pesquisa termina quando qualquer um deles é atingido.
+ * O tempo pode ser dado como tempo fixo por jogada ou como relógio (tempo restante e incremento),
+ * caso em que o {@link TimeManager} calcula o orçamento da jogada.
+ * @param maxDepth Profundidade máxima (em meias-jogadas)
+ * @param timeMillis Tempo fixo por jogada em milissegundos (0 = sem limite de tempo)
+ * @param maxNodes Número máximo de nós (0 = sem limite)
+ * @param clockMillis Tempo restante no relógio do lado a jogar (0 = sem relógio)
+ * @param incrementMillis Incremento por jogada do relógio
+ */
+
+package pt.isec.pa.chess.model.engine;
+
+public record SearchLimits(int maxDepth, long timeMillis, long maxNodes, long clockMillis, long incrementMillis) {
+
+    public static final int MAX_DEPTH = 64;
+
+    public SearchLimits {
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + MAX_DEPTH);
+        }
+        if (timeMillis < 0 || maxNodes < 0 || clockMillis < 0 || incrementMillis < 0) {
+            throw new IllegalArgumentException("Limits cannot be negative");
+        }
+    }
+
+    public SearchLimits(int maxDepth, long timeMillis, long maxNodes) {
+        this(maxDepth, timeMillis, maxNodes, 0, 0);
+    }
+
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0, 0);
+    }
+
+    /**
+     * Tempo fixo por jogada: a jogada é devolvida antes de passarem {@code millis} milissegundos.
+     */
+    public static SearchLimits time(long millis) {
+        return new SearchLimits(MAX_DEPTH, millis, 0);
+    }
+
+    /**
+     * Relógio: o orçamento da jogada é calculado a partir do tempo restante e do incremento.
+     */
+    public static SearchLimits clock(long remainingMillis, long incrementMillis) {
+        if (remainingMillis == 0) {
+            throw new IllegalArgumentException("No time left on the clock");
+        }
+        return new SearchLimits(MAX_DEPTH, 0, 0, remainingMillis, incrementMillis);
+    }
+
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits(MAX_DEPTH, 0, nodes);
+    }
+
+    /**
+     * Sem limites: a pesquisa só termina quando for parada (ex: modo de análise).
+     */
+    public static SearchLimits infinite() {
+        return new SearchLimits(MAX_DEPTH, 0, 0);
+    }
+
+    public boolean hasTimeLimit() {
+        return timeMillis > 0 || clockMillis > 0;
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * Pedido de pesquisa que pode ser cancelado de qualquer thread.
+ *
+ * Ao contrário de {@link SearchEngine#stop()}, que é limpo quando a pesquisa seguinte começa, o cancelamento
+ * pertence a uma única pesquisa: um pedido cancelado enquanto espera numa fila já não chega a pesquisar, e um
+ * pedido cancelado durante a pesquisa termina-a assim que possível, sem afetar a pesquisa seguinte.
+ * Ver {@link Ponder} para os pedidos das pesquisas feitas no tempo do adversário.
+ */
+
+package pt.isec.pa.chess.model.engine;
+
+public class SearchRequest {
+
+    private volatile boolean cancelled;
+
+    /**
+     * A pesquisa termina assim que possível (ou nem começa) e o resultado deve ser ignorado.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Gestão do tempo de uma pesquisa com aprofundamento iterativo.
+ *
+ * Define dois prazos a partir do início da pesquisa:
+ * - suave: depois dele não se começa uma nova iteração (que dificilmente terminaria a tempo);
+ * - rígido: a pesquisa em curso é abortada e devolve-se a jogada da última iteração concluída.
+ *
+ * O prazo rígido já desconta uma margem ({@link #MOVE_OVERHEAD_MILLIS}) para a latência da paragem
+ * e para devolver a jogada, de modo a nunca ultrapassar o tempo por jogada nem o relógio.
+ */
+
+package pt.isec.pa.chess.model.engine;
+
+public final class TimeManager {
+
+    public static final long MOVE_OVERHEAD_MILLIS = 20;
+    // Assumed number of moves still to play when only the remaining clock time is known
+    private static final int MOVES_TO_GO = 30;
+    // The hard budget may exceed the soft one by this factor when the clock allows it
+    private static final int HARD_FACTOR = 4;
+
+    private final long startNanos;
+    private final long softNanos;
+    private final long hardNanos;
+
+    private TimeManager(long startNanos, long softMillis, long hardMillis) {
+        this.startNanos = startNanos;
+        this.softNanos = softMillis == Long.MAX_VALUE ? Long.MAX_VALUE : softMillis * 1_000_000;
+        this.hardNanos = hardMillis == Long.MAX_VALUE ? Long.MAX_VALUE : hardMillis * 1_000_000;
+    }
+
+    /**
+     * Cria o gestor para os limites dados, com a contagem a começar agora.
+     */
+    public static TimeManager start(SearchLimits limits) {
+        long now = System.nanoTime();
+        if (limits.clockMillis() > 0) {
+            return clock(now, limits.clockMillis(), limits.incrementMillis());
+        }
+        if (limits.timeMillis() > 0) {
+            return fixed(now, limits.timeMillis());
+        }
+        return new TimeManager(now, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    static TimeManager fixed(long startNanos, long moveMillis) {
+        long overhead = Math.min(MOVE_OVERHEAD_MILLIS, moveMillis / 10);
+        long hard = Math.max(1, moveMillis - overhead);
+        return new TimeManager(startNanos, Math.max(1, hard / 2), hard);
+    }
+
+    static TimeManager clock(long startNanos, long remainingMillis, long incrementMillis) {
+        long usable = Math.max(1, remainingMillis - MOVE_OVERHEAD_MILLIS);
+        long soft = Math.min(usable, usable / MOVES_TO_GO + incrementMillis * 3 / 4);
+        long hard = Math.min(usable, soft * HARD_FACTOR);
+        return new TimeManager(startNanos, Math.max(1, soft), Math.max(1, hard));
+    }
+
+    /**
+     * Indica se ainda vale a pena começar outra iteração.
+     */
+    public boolean canStartIteration(long now) {
+        return now - startNanos < softNanos;
+    }
+
+    /**
+     * Indica se o prazo rígido foi atingido e a pesquisa tem de parar.
+     */
+    public boolean isHardExpired(long now) {
+        return now - startNanos >= hardNanos;
+    }
+
+    public boolean isLimited() {
+        return hardNanos != Long.MAX_VALUE;
+    }
+
+    public long getSoftMillis() {
+        return softNanos == Long.MAX_VALUE ? Long.MAX_VALUE : softNanos / 1_000_000;
+    }
+
+    public long getHardMillis() {
+        return hardNanos == Long.MAX_VALUE ? Long.MAX_VALUE : hardNanos / 1_000_000;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Tabela de transposição da pesquisa: guarda, para cada posição (chave de Zobrist), a melhor jogada,
+ * a avaliação, a profundidade pesquisada e o tipo de limite da avaliação (exata, inferior ou superior).
+ *
+ * Segue o mesmo esquema da {@link pt.isec.pa.chess.model.perft.PerftCache}: tamanho fixo em megabytes,
+ * baldes com uma entrada preferida por profundidade e outra substituída sempre, e partilha entre threads
+ * sem locks (chave XOR dados). É a estrutura partilhada pelas threads da {@link LazySmpSearch}.
+ *
+ * Cada entrada é um {@code long}:
+ * <pre>
+ * bits  0-18  jogada (ver {@link pt.isec.pa.chess.model.data.Moves})
+ * bits 19-20  limite (1 = superior, 2 = inferior, 3 = exato; 0 = entrada vazia)
+ * bits 21-28  profundidade
+ * bits 29-48  avaliação (com sinal, 20 bits)
+ * bits 49-56  geração da pesquisa que a escreveu
+ * </pre>
+ */
+
+package pt.isec.pa.chess.model.engine;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class TranspositionTable {
+
+    public static final int UPPER = 1;
+    public static final int LOWER = 2;
+    public static final int EXACT = 3;
+
+    private static final int BUCKET_LONGS = 4;   // (check, data) x 2 entries
+    private static final int BUCKET_BYTES = BUCKET_LONGS * Long.BYTES;
+    private static final long MAX_BUCKETS = 1L << 28;
+
+    private static final int MOVE_BITS = 19;
+    private static final int BOUND_SHIFT = 19;
+    private static final int DEPTH_SHIFT = 21;
+    private static final int SCORE_SHIFT = 29;
+    private static final int SCORE_BITS = 20;
+    private static final int AGE_SHIFT = 49;
+
+    private final AtomicLongArray table;
+    private final int bucketMask;
+    private volatile int age;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * @param megabytes Memória máxima a usar (arredondada para baixo para uma potência de 2 de baldes)
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Table size must be at least 1 MB");
+        }
+        long buckets = Long.highestOneBit((long) megabytes * 1024 * 1024 / BUCKET_BYTES);
+        buckets = Math.min(buckets, MAX_BUCKETS);
+        this.table = new AtomicLongArray((int) buckets * BUCKET_LONGS);
+        this.bucketMask = (int) buckets - 1;
+    }
+
+    /**
+     * @return A entrada da posição, ou 0 se não existir (ver {@link #move(long)}, {@link #score(long)}...)
+     */
+    public long probe(long key) {
+        probes.increment();
+        int base = (int) (key & bucketMask) * BUCKET_LONGS;
+        for (int slot = base; slot < base + BUCKET_LONGS; slot += 2) {
+            long data = table.getOpaque(slot + 1);
+            if (data != 0 && (table.getOpaque(slot) ^ data) == key) {
+                hits.increment();
+                return data;
+            }
+        }
+        return 0;
+    }
+
+    public void store(long key, int move, int score, int depth, int bound) {
+        int base = (int) (key & bucketMask) * BUCKET_LONGS;
+        long data = (move & ((1L << MOVE_BITS) - 1))
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) depth << DEPTH_SHIFT)
+                | ((score & ((1L << SCORE_BITS) - 1)) << SCORE_SHIFT)
+                | ((long) (age & 0xFF) << AGE_SHIFT);
+        // The depth-preferred slot keeps deeper results of the current search; stale ones are replaced
+        long stored = table.getOpaque(base + 1);
+        boolean replace = depth(stored) <= depth || age(stored) != (age & 0xFF)
+                || (table.getOpaque(base) ^ stored) == key;
+        int slot = replace ? base : base + 2;
+        table.setOpaque(slot, key ^ data);
+        table.setOpaque(slot + 1, data);
+    }
+
+    /**
+     * Marca o início de uma nova pesquisa, para que as entradas antigas possam ser substituídas.
+     */
+    public void newSearch() {
+        age++;
+    }
+
+    public void clear() {
+        for (int i = 0; i < table.length(); i++) {
+            table.setOpaque(i, 0L);
+        }
+        probes.reset();
+        hits.reset();
+    }
+
+    public static int move(long entry) {
+        return (int) (entry & ((1L << MOVE_BITS) - 1));
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int score(long entry) {
+        // Sign-extend the 20-bit field
+        return (int) (entry << (64 - SCORE_SHIFT - SCORE_BITS) >> (64 - SCORE_BITS));
+    }
+
+    private static int age(long entry) {
+        return (int) (entry >>> AGE_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Número de entradas da tabela.
+     */
+    public int capacity() {
+        return table.length() / 2;
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public double getHitRate() {
+        long total = probes.sum();
+        return total == 0 ? 0.0 : (double) hits.sum() / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d entries, %,d probes, %.1f%% hits", capacity(), getProbes(), getHitRate() * 100);
+    }
+}
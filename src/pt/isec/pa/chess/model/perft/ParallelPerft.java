@@ -0,0 +1,135 @@
+/**
+ * Perft paralelo sobre um {@link ForkJoinPool}.
+ * A raiz (e, opcionalmente, o nível seguinte) é dividida em tarefas, uma por jogada; cada tarefa
+ * trabalha sobre a sua própria cópia do tabuleiro ({@link Board#Board(Board)}) e conta as folhas
+ * com um {@link Perft} sequencial. Os totais são somados no fim.
+ */
+
+package pt.isec.pa.chess.model.perft;
+
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.MoveGenerator;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Moves;
+import pt.isec.pa.chess.model.data.UndoInfo;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class ParallelPerft implements AutoCloseable {
+
+    private final ForkJoinPool pool;
+    private final int splitPlies;
+    private final PerftCache cache;
+
+    /**
+     * @param threads Número de threads (0 ou menos = todos os processadores disponíveis)
+     * @param splitPlies Níveis divididos em tarefas: 1 = só a raiz, 2 = raiz e nível seguinte
+     *                   (mais tarefas, melhor distribuição quando há poucas jogadas na raiz)
+     * @param cache Tabela de transposição partilhada por todas as threads, ou null
+     */
+    public ParallelPerft(int threads, int splitPlies, PerftCache cache) {
+        this.pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        this.splitPlies = Math.max(1, splitPlies);
+        this.cache = cache;
+    }
+
+    public ParallelPerft(int threads, PerftCache cache) {
+        this(threads, 2, cache);
+    }
+
+    public ParallelPerft(int threads) {
+        this(threads, 2, null);
+    }
+
+    public PerftCache getCache() {
+        return cache;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public PerftResult run(ChessGame game, int depth) {
+        return run(game.getBoard(), depth);
+    }
+
+    /**
+     * Conta as folhas até à profundidade indicada, com o total por jogada da raiz.
+     * O tabuleiro recebido não é alterado.
+     */
+    public PerftResult run(Board board, int depth) {
+        if (depth < 2) {
+            return new Perft(new Board(board)).divide(depth);
+        }
+        long start = System.nanoTime();
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(board, board.isWhiteToMove(), moves);
+        List<PerftTask> tasks = new ArrayList<>(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            tasks.add(new PerftTask(board, moves.get(i), depth - 1, splitPlies - 1));
+        }
+        for (PerftTask task : tasks) {
+            pool.execute(task);
+        }
+
+        Map<String, Long> perMove = new LinkedHashMap<>();
+        long nodes = 0;
+        for (PerftTask task : tasks) {
+            long count = task.join();
+            perMove.put(Moves.toString(task.move), count);
+            nodes += count;
+        }
+        return new PerftResult(depth, nodes, System.nanoTime() - start, perMove);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Folhas abaixo de uma jogada, contadas numa cópia do tabuleiro onde a jogada já foi aplicada.
+     */
+    private final class PerftTask extends RecursiveTask<Long> {
+        @Serial
+        private static final long serialVersionUID = 100L;
+
+        private final Board board;
+        private final int move;
+        private final int depth;
+        private final int splitPlies;
+
+        PerftTask(Board parent, int move, int depth, int splitPlies) {
+            this.board = new Board(parent);
+            this.move = move;
+            this.depth = depth;
+            this.splitPlies = splitPlies;
+            board.makeMove(move, new UndoInfo());
+        }
+
+        @Override
+        protected Long compute() {
+            if (splitPlies <= 0 || depth < 3) {
+                return new Perft(board, cache).count(depth);
+            }
+            MoveList moves = new MoveList();
+            MoveGenerator.generateLegalMoves(board, board.isWhiteToMove(), moves);
+            List<PerftTask> children = new ArrayList<>(moves.size());
+            for (int i = 0; i < moves.size(); i++) {
+                children.add(new PerftTask(board, moves.get(i), depth - 1, splitPlies - 1));
+            }
+            long nodes = 0;
+            for (PerftTask child : invokeAll(children)) {
+                nodes += child.join();
+            }
+            return nodes;
+        }
+    }
+}
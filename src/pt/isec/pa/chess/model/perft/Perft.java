@@ -0,0 +1,133 @@
+/**
+ * Contagem de nós folha da árvore de jogadas legais até uma profundidade fixa (perft).
+ * Serve para validar o gerador de jogadas contra contagens de referência conhecidas
+ * e para medir o seu desempenho em nós por segundo.
+ *
+ * Usa {@link Board#makeMove(int, UndoInfo)} / {@link Board#unmakeMove(UndoInfo)} sobre listas e
+ * registos pré-alocados por nível, por isso a contagem não aloca memória.
+ * Uma instância não é thread-safe: usar uma por thread, cada uma com o seu tabuleiro
+ * (a {@link PerftCache} opcional pode ser partilhada).
+ */
+
+package pt.isec.pa.chess.model.perft;
+
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.MoveGenerator;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Moves;
+import pt.isec.pa.chess.model.data.UndoInfo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class Perft {
+
+    private final Board board;
+    private final PerftCache cache;
+    private MoveList[] moveLists = new MoveList[0];
+    private UndoInfo[] undos = new UndoInfo[0];
+
+    public Perft(Board board) {
+        this(board, null);
+    }
+
+    /**
+     * @param cache Tabela de transposição (pode ser partilhada com outras instâncias), ou null
+     */
+    public Perft(Board board, PerftCache cache) {
+        this.board = board;
+        this.cache = cache;
+    }
+
+    public Perft(ChessGame game) {
+        this(game.getBoard());
+    }
+
+    /**
+     * Conta as folhas até à profundidade indicada, medindo o tempo.
+     */
+    public PerftResult run(int depth) {
+        long start = System.nanoTime();
+        long nodes = count(depth);
+        return new PerftResult(depth, nodes, System.nanoTime() - start, Map.of());
+    }
+
+    /**
+     * Como {@link #run(int)}, mas também indica as folhas abaixo de cada jogada da raiz
+     * (em notação de coordenadas, ex: "e2e4"), para comparar com outro motor e localizar diferenças.
+     */
+    public PerftResult divide(int depth) {
+        if (depth < 1) {
+            return run(depth);
+        }
+        ensureCapacity(depth);
+        long start = System.nanoTime();
+        Map<String, Long> perMove = new LinkedHashMap<>();
+        MoveList moves = moveLists[depth - 1];
+        moves.clear();
+        MoveGenerator.generateLegalMoves(board, board.isWhiteToMove(), moves);
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            board.makeMove(move, undos[depth - 1]);
+            long count = depth == 1 ? 1 : perft(depth - 1);
+            board.unmakeMove(undos[depth - 1]);
+            perMove.put(Moves.toString(move), count);
+            nodes += count;
+        }
+        return new PerftResult(depth, nodes, System.nanoTime() - start, perMove);
+    }
+
+    /**
+     * Número de folhas até à profundidade indicada (1 para profundidade 0).
+     */
+    public long count(int depth) {
+        if (depth < 1) {
+            return 1;
+        }
+        ensureCapacity(depth);
+        return perft(depth);
+    }
+
+    private long perft(int depth) {
+        long key = board.getZobristKey();
+        if (cache != null && depth > 1) {
+            long cached = cache.probe(key, depth);
+            if (cached >= 0) {
+                return cached;
+            }
+        }
+        MoveList moves = moveLists[depth - 1];
+        moves.clear();
+        MoveGenerator.generateLegalMoves(board, board.isWhiteToMove(), moves);
+        if (depth == 1) {
+            return moves.size(); // bulk counting: the leaves do not need to be played
+        }
+        UndoInfo undo = undos[depth - 1];
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i), undo);
+            nodes += perft(depth - 1);
+            board.unmakeMove(undo);
+        }
+        if (cache != null) {
+            cache.store(key, depth, nodes);
+        }
+        return nodes;
+    }
+
+    private void ensureCapacity(int depth) {
+        if (moveLists.length >= depth) {
+            return;
+        }
+        MoveList[] lists = new MoveList[depth];
+        UndoInfo[] records = new UndoInfo[depth];
+        for (int i = 0; i < depth; i++) {
+            lists[i] = i < moveLists.length ? moveLists[i] : new MoveList();
+            records[i] = i < undos.length ? undos[i] : new UndoInfo();
+        }
+        moveLists = lists;
+        undos = records;
+    }
+}
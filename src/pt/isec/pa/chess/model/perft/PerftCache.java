@@ -0,0 +1,100 @@
+/**
+ * Tabela de transposição para perft: guarda o número de folhas de cada (posição, profundidade),
+ * indexada pela chave de Zobrist do tabuleiro.
+ *
+ * Tamanho fixo, definido em megabytes. Cada balde tem duas entradas: uma preferida por profundidade
+ * (só é substituída por resultados de profundidade igual ou maior, que poupam mais trabalho) e uma
+ * substituída sempre. Pode ser partilhada por várias threads sem locks: cada entrada ocupa dois
+ * {@code long} (chave XOR dados, dados) e uma leitura só é aceite se a chave reconstruída coincidir,
+ * pelo que escritas concorrentes intercaladas são detetadas e tratadas como falha.
+ */
+
+package pt.isec.pa.chess.model.perft;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class PerftCache {
+
+    private static final int BUCKET_LONGS = 4;   // (check, data) x 2 entries
+    private static final int BUCKET_BYTES = BUCKET_LONGS * Long.BYTES;
+    private static final int DEPTH_BITS = 8;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+    private static final long MAX_BUCKETS = 1L << 28;  // 8 GB, the largest AtomicLongArray we can index
+
+    private final AtomicLongArray table;
+    private final int bucketMask;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * @param megabytes Memória máxima a usar (arredondada para baixo para uma potência de 2 de baldes)
+     */
+    public PerftCache(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1 MB");
+        }
+        long buckets = Long.highestOneBit((long) megabytes * 1024 * 1024 / BUCKET_BYTES);
+        buckets = Math.min(buckets, MAX_BUCKETS);
+        this.table = new AtomicLongArray((int) buckets * BUCKET_LONGS);
+        this.bucketMask = (int) buckets - 1;
+    }
+
+    /**
+     * @return Número de folhas guardado para a posição e profundidade, ou -1 se não existir
+     */
+    public long probe(long key, int depth) {
+        probes.increment();
+        int base = (int) (key & bucketMask) * BUCKET_LONGS;
+        for (int slot = base; slot < base + BUCKET_LONGS; slot += 2) {
+            long data = table.getOpaque(slot + 1);
+            if ((table.getOpaque(slot) ^ data) == key && (data & DEPTH_MASK) == depth) {
+                hits.increment();
+                return data >>> DEPTH_BITS;
+            }
+        }
+        return -1;
+    }
+
+    public void store(long key, int depth, long nodes) {
+        int base = (int) (key & bucketMask) * BUCKET_LONGS;
+        long data = (nodes << DEPTH_BITS) | depth;
+        long storedDepth = table.getOpaque(base + 1) & DEPTH_MASK;
+        int slot = depth >= storedDepth ? base : base + 2;
+        table.setOpaque(slot, key ^ data);
+        table.setOpaque(slot + 1, data);
+    }
+
+    public void clear() {
+        for (int i = 0; i < table.length(); i++) {
+            table.setOpaque(i, 0L);
+        }
+        probes.reset();
+        hits.reset();
+    }
+
+    /**
+     * Número de entradas da tabela.
+     */
+    public int capacity() {
+        return table.length() / 2;
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public double getHitRate() {
+        long total = probes.sum();
+        return total == 0 ? 0.0 : (double) hits.sum() / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d entries, %,d probes, %.1f%% hits", capacity(), getProbes(), getHitRate() * 100);
+    }
+}
@@ -0,0 +1,26 @@
+package pt.isec.pa.chess.model.perft;
+
+import java.util.Map;
+
+/**
+ * Resultado de uma contagem perft.
+ * @param depth Profundidade
+ * @param nodes Número de folhas
+ * @param nanos Tempo gasto, em nanossegundos
+ * @param divide Folhas por jogada da raiz (vazio se não foi pedido)
+ */
+public record PerftResult(int depth, long nodes, long nanos, Map<String, Long> divide) {
+
+    public long nodesPerSecond() {
+        return nanos == 0 ? 0 : (long) (nodes * 1e9 / nanos);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        divide.forEach((move, count) -> sb.append(move).append(": ").append(count).append('\n'));
+        sb.append(String.format("depth %d: %,d nodes in %.3f s (%,d nps)",
+                depth, nodes, nanos / 1e9, nodesPerSecond()));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,80 @@
+package pt.isec.pa.chess.model.perft;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Conjunto de posições de referência para perft, incluído no programa ({@code perft-suite.txt}).
+ * Cada linha tem o nome, a posição em FEN e o número de folhas esperado para cada profundidade.
+ */
+public final class PerftSuite {
+
+    private static final String RESOURCE = "perft-suite.txt";
+
+    /**
+     * @param name Nome da posição
+     * @param fen Posição em FEN (ver {@link pt.isec.pa.chess.model.data.ChessGame#importFen(String)})
+     * @param expected expected[d - 1] = folhas à profundidade d
+     */
+    public record Position(String name, String fen, long[] expected) {
+
+        public int maxDepth() {
+            return expected.length;
+        }
+
+        public long expected(int depth) {
+            return expected[depth - 1];
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private PerftSuite() {
+    }
+
+    public static List<Position> positions() {
+        try (InputStream in = PerftSuite.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing resource " + RESOURCE);
+            }
+            return parse(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Posição do conjunto com o nome indicado, ou null se não existir.
+     */
+    public static Position find(String name) {
+        return positions().stream().filter(p -> p.name().equalsIgnoreCase(name)).findFirst().orElse(null);
+    }
+
+    private static List<Position> parse(BufferedReader reader) throws IOException {
+        List<Position> positions = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(";");
+            if (fields.length != 3) {
+                throw new IllegalStateException("Invalid perft suite line: " + line);
+            }
+            long[] expected = Arrays.stream(fields[2].trim().split("\\s+")).mapToLong(Long::parseLong).toArray();
+            positions.add(new Position(fields[0].trim(), fields[1].trim(), expected));
+        }
+        return positions;
+    }
+}
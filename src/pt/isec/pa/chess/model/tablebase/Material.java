@@ -0,0 +1,334 @@
+/**
+ * Conjunto de peças de uma tabela de finais (ex: "KQK", "KRKP", "KBNK") e a indexação das suas posições.
+ *
+ * As peças são guardadas pela ordem da tabela: rei branco, rei preto, restantes peças brancas e
+ * restantes peças pretas (cada grupo pela ordem Q, R, B, N, P). As brancas são sempre o lado mais forte;
+ * uma posição com o material trocado é consultada com as cores trocadas e o tabuleiro espelhado
+ * (ver {@link #resolve(PieceType[], boolean[], int)}).
+ *
+ * O índice usa as simetrias do tabuleiro para reduzir o tamanho: sem peões o rei branco fica no
+ * triângulo a1-d1-d4 (10 casas, simetria de ordem 8); com peões só a simetria esquerda/direita é
+ * válida e o rei branco fica nas colunas a-d (32 casas). As restantes peças ocupam 6 bits cada.
+ */
+
+package pt.isec.pa.chess.model.tablebase;
+
+import pt.isec.pa.chess.model.data.Bitboards;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+import java.util.Arrays;
+
+public final class Material {
+
+    public static final int MAX_PIECES = 4;
+
+    private static final String ORDER = "QRBNP";
+    private static final int[] VALUES = {9, 5, 3, 3, 1}; // indexed like ORDER
+    private static final PieceType[] TYPES = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP,
+            PieceType.KNIGHT, PieceType.PAWN};
+
+    // Transformations of a square: bit 0 = mirror files, bit 1 = mirror ranks, bit 2 = mirror on the a1-h8 diagonal
+    private static final int MIRROR_FILES = 1;
+    private static final int MIRROR_RANKS = 2;
+    private static final int MIRROR_DIAGONAL = 4;
+
+    // White king square -> slot in the index (-1 outside the reduced region), and back
+    private static final int[] TRIANGLE_SLOT = new int[64];
+    private static final int[] TRIANGLE_SQUARE = new int[10];
+    private static final int[] HALF_SLOT = new int[64];
+    private static final int[] HALF_SQUARE = new int[32];
+
+    static {
+        Arrays.fill(TRIANGLE_SLOT, -1);
+        Arrays.fill(HALF_SLOT, -1);
+        int triangle = 0;
+        int half = 0;
+        for (int square = 0; square < 64; square++) {
+            int col = Bitboards.column(square);
+            int row = Bitboards.row(square);
+            if (col <= 3) {
+                HALF_SLOT[square] = half;
+                HALF_SQUARE[half++] = square;
+                // a1-d1-d4: ranks 1-4 (rows 4-7), on or below the a1-h8 diagonal (col + row >= 7)
+                if (row >= 4 && col + row >= 7) {
+                    TRIANGLE_SLOT[square] = triangle;
+                    TRIANGLE_SQUARE[triangle++] = square;
+                }
+            }
+        }
+    }
+
+    private final String name;
+    private final PieceType[] types;
+    private final boolean[] white;
+    private final boolean pawns;
+    private final int kingSlots;
+    private final int size;
+
+    private Material(String whitePieces, String blackPieces) {
+        this.name = "K" + whitePieces + "K" + blackPieces;
+        int n = 2 + whitePieces.length() + blackPieces.length();
+        types = new PieceType[n];
+        white = new boolean[n];
+        types[0] = PieceType.KING;
+        white[0] = true;
+        types[1] = PieceType.KING;
+        int i = 2;
+        for (char c : whitePieces.toCharArray()) {
+            types[i] = TYPES[ORDER.indexOf(c)];
+            white[i++] = true;
+        }
+        for (char c : blackPieces.toCharArray()) {
+            types[i++] = TYPES[ORDER.indexOf(c)];
+        }
+        pawns = name.indexOf('P') >= 0;
+        kingSlots = pawns ? 32 : 10;
+        int positions = 2 * kingSlots;
+        for (int p = 1; p < n; p++) {
+            positions *= 64;
+        }
+        size = positions;
+    }
+
+    /**
+     * Material a partir do nome (ex: "KQK", "KBNK", "KRKP"; a ordem das peças e das cores é normalizada).
+     * @throws IllegalArgumentException se o nome não for válido ou tiver mais de {@link #MAX_PIECES} peças
+     */
+    public static Material parse(String name) {
+        String upper = name.toUpperCase();
+        int second = upper.indexOf('K', 1);
+        if (!upper.startsWith("K") || second < 0 || upper.length() > MAX_PIECES
+                || upper.indexOf('K', second + 1) >= 0) {
+            throw new IllegalArgumentException("Invalid material: " + name);
+        }
+        String whitePieces = upper.substring(1, second);
+        String blackPieces = upper.substring(second + 1);
+        for (char c : (whitePieces + blackPieces).toCharArray()) {
+            if (ORDER.indexOf(c) < 0) {
+                throw new IllegalArgumentException("Invalid material: " + name);
+            }
+        }
+        return canonical(sort(whitePieces), sort(blackPieces));
+    }
+
+    private static Material canonical(String whitePieces, String blackPieces) {
+        return compareSides(whitePieces, blackPieces) >= 0
+                ? new Material(whitePieces, blackPieces) : new Material(blackPieces, whitePieces);
+    }
+
+    // Stronger side first: more pieces, then more material, then the stronger pieces
+    private static int compareSides(String a, String b) {
+        if (a.length() != b.length()) {
+            return Integer.compare(a.length(), b.length());
+        }
+        int va = a.chars().map(c -> VALUES[ORDER.indexOf(c)]).sum();
+        int vb = b.chars().map(c -> VALUES[ORDER.indexOf(c)]).sum();
+        if (va != vb) {
+            return Integer.compare(va, vb);
+        }
+        for (int i = 0; i < a.length(); i++) {
+            int ra = ORDER.indexOf(a.charAt(i));
+            int rb = ORDER.indexOf(b.charAt(i));
+            if (ra != rb) {
+                return Integer.compare(rb, ra);
+            }
+        }
+        return 0;
+    }
+
+    private static String sort(String pieces) {
+        char[] chars = pieces.toCharArray();
+        Character[] boxed = new Character[chars.length];
+        for (int i = 0; i < chars.length; i++) {
+            boxed[i] = chars[i];
+        }
+        Arrays.sort(boxed, (x, y) -> Integer.compare(ORDER.indexOf(x), ORDER.indexOf(y)));
+        StringBuilder sb = new StringBuilder();
+        for (Character c : boxed) {
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static char letter(PieceType type) {
+        return switch (type) {
+            case QUEEN -> 'Q';
+            case ROOK -> 'R';
+            case BISHOP -> 'B';
+            case KNIGHT -> 'N';
+            case PAWN -> 'P';
+            case KING -> 'K';
+        };
+    }
+
+    /**
+     * Correspondência entre um conjunto de peças qualquer e a ordem de uma tabela.
+     * @param material Material da tabela
+     * @param flip true se as cores estão trocadas (casas espelhadas com {@code ^ 56} e lado a jogar trocado)
+     * @param order order[i] = índice, no conjunto original, da peça que ocupa a posição i da tabela
+     */
+    public record Mapping(Material material, boolean flip, int[] order) {
+    }
+
+    /**
+     * Encontra a tabela de um conjunto de peças (com exatamente um rei de cada cor).
+     * @param n Número de peças a considerar
+     * @return Correspondência, ou null se o conjunto não tiver um rei de cada cor
+     */
+    public static Mapping resolve(PieceType[] types, boolean[] isWhite, int n) {
+        StringBuilder whitePieces = new StringBuilder();
+        StringBuilder blackPieces = new StringBuilder();
+        int kings = 0;
+        for (int i = 0; i < n; i++) {
+            if (types[i] == PieceType.KING) {
+                kings += isWhite[i] ? 1 : 16;
+            } else {
+                (isWhite[i] ? whitePieces : blackPieces).append(letter(types[i]));
+            }
+        }
+        if (kings != 17) {
+            return null;
+        }
+        String w = sort(whitePieces.toString());
+        String b = sort(blackPieces.toString());
+        boolean flip = compareSides(w, b) < 0;
+        Material material = flip ? new Material(b, w) : new Material(w, b);
+
+        int[] order = new int[n];
+        boolean[] used = new boolean[n];
+        for (int slot = 0; slot < n; slot++) {
+            boolean slotWhite = material.white[slot] != flip; // colour in the original set
+            for (int i = 0; i < n; i++) {
+                if (!used[i] && types[i] == material.types[slot] && isWhite[i] == slotWhite) {
+                    used[i] = true;
+                    order[slot] = i;
+                    break;
+                }
+            }
+        }
+        return new Mapping(material, flip, order);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int pieces() {
+        return types.length;
+    }
+
+    public PieceType type(int piece) {
+        return types[piece];
+    }
+
+    public boolean isWhite(int piece) {
+        return white[piece];
+    }
+
+    public boolean hasPawns() {
+        return pawns;
+    }
+
+    public int countPawns() {
+        int count = 0;
+        for (PieceType type : types) {
+            if (type == PieceType.PAWN) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Número de posições do índice (incluindo as inválidas).
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Índice da posição, depois de aplicar a simetria que leva o rei branco para a região reduzida.
+     * @param squares Casas das peças, pela ordem da tabela (não é alterado)
+     */
+    public int index(int[] squares, boolean whiteToMove) {
+        int t = transformation(squares);
+        int slot = pawns ? HALF_SLOT[transform(squares[0], t)] : TRIANGLE_SLOT[transform(squares[0], t)];
+        int index = (whiteToMove ? 0 : kingSlots) + slot;
+        for (int i = 1; i < squares.length; i++) {
+            index = index * 64 + transform(squares[i], t);
+        }
+        return index;
+    }
+
+    /**
+     * Casas das peças da posição com o índice indicado (na forma reduzida).
+     * @return true se forem as brancas a jogar
+     */
+    public boolean decode(int index, int[] squares) {
+        for (int i = squares.length - 1; i >= 1; i--) {
+            squares[i] = index & 63;
+            index >>>= 6;
+        }
+        squares[0] = pawns ? HALF_SQUARE[index % kingSlots] : TRIANGLE_SQUARE[index % kingSlots];
+        return index < kingSlots;
+    }
+
+    private int transformation(int[] squares) {
+        int king = squares[0];
+        int t = 0;
+        if (Bitboards.column(king) > 3) {
+            t |= MIRROR_FILES;
+        }
+        if (pawns) {
+            return t;
+        }
+        if (Bitboards.row(king) < 4) {
+            t |= MIRROR_RANKS;
+        }
+        int k = transform(king, t);
+        int sum = Bitboards.column(k) + Bitboards.row(k);
+        if (sum < 7) {
+            return t | MIRROR_DIAGONAL;
+        }
+        if (sum == 7) {
+            // King on the diagonal: both forms are in the region, keep the smaller one so each position has one index
+            for (int i = 1; i < squares.length; i++) {
+                int plain = transform(squares[i], t);
+                int mirrored = transform(squares[i], t | MIRROR_DIAGONAL);
+                if (plain != mirrored) {
+                    return mirrored < plain ? t | MIRROR_DIAGONAL : t;
+                }
+            }
+        }
+        return t;
+    }
+
+    private static int transform(int square, int t) {
+        if ((t & MIRROR_FILES) != 0) {
+            square ^= 7;
+        }
+        if ((t & MIRROR_RANKS) != 0) {
+            square ^= 56;
+        }
+        if ((t & MIRROR_DIAGONAL) != 0) {
+            // (col, row) -> (7 - row, 7 - col)
+            square = Bitboards.index(7 - Bitboards.row(square), 7 - Bitboards.column(square));
+        }
+        return square;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Material other && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
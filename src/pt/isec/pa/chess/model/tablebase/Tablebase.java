@@ -0,0 +1,174 @@
+/**
+ * Tabela de finais de um material: resultado e distância até ao mate de cada posição, do ponto de vista
+ * do lado a jogar, em ficheiro binário lido diretamente da memória mapeada.
+ *
+ * <pre>
+ * cabeçalho (24 bytes): magic "PATB", versão, bits por posição, reservado, número de posições (long)
+ * dados: um código por posição (ver {@link Material#index(int[], boolean)}), com o número de bits
+ *        indicado, do bit mais significativo para o menos significativo de cada byte
+ * </pre>
+ * Código 0 = empate (ou posição inválida); código c &gt; 0 = mate em {@code c - 1} meias-jogadas,
+ * ganho para o lado a jogar se esse número for ímpar e perda se for par (0 = já está em xeque-mate).
+ *
+ * O mapeamento de uma tabela aberta de um ficheiro é libertado em {@link #close()}; depois disso as consultas
+ * lançam {@link IllegalStateException}. As tabelas geradas em memória não precisam de ser fechadas.
+ */
+
+package pt.isec.pa.chess.model.tablebase;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class Tablebase implements Closeable {
+
+    public static final String EXTENSION = ".patb";
+    static final int MAGIC = 0x50415442; // "PATB"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+
+    // Same big-endian layout as the ByteBuffer used by write
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private final Material material;
+    private final Arena arena;          // owner of the mapping, or null for a table generated in memory
+    private final MemorySegment data;   // header + data + 8 bytes of padding for the last read
+    private final int bits;
+    private final long mask;
+
+    private Tablebase(Material material, Arena arena, MemorySegment data) {
+        this.material = material;
+        this.arena = arena;
+        this.data = data;
+        this.bits = data.get(INT, 8);
+        this.mask = (1L << bits) - 1;
+    }
+
+    /**
+     * Abre a tabela de um ficheiro (o material é o nome do ficheiro, ex: "KQK.patb").
+     * @throws IOException se o ficheiro não existir ou não for uma tabela válida
+     */
+    public static Tablebase open(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        if (!name.endsWith(EXTENSION)) {
+            throw new IOException("Not a tablebase file: " + file);
+        }
+        Material material;
+        try {
+            material = Material.parse(name.substring(0, name.length() - EXTENSION.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Not a tablebase file: " + file, e);
+        }
+        // Shared: the search threads probe the same table. The mapping outlives the channel, until the arena is closed
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+                throw new IOException("Invalid tablebase size: " + file);
+            }
+            MemorySegment data = channel.map(FileChannel.MapMode.READ_ONLY, 0, length, arena);
+            int bits = data.get(INT, 8);
+            if (data.get(INT, 0) != MAGIC || data.get(INT, 4) != VERSION || bits < 1 || bits > 8
+                    || data.get(LONG, 16) != material.size()
+                    || length != dataBytes(material.size(), bits) + HEADER_BYTES) {
+                throw new IOException("Invalid tablebase: " + file);
+            }
+            return new Tablebase(material, arena, data);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Liberta o mapeamento do ficheiro (sem efeito numa tabela gerada em memória ou já fechada).
+     */
+    @Override
+    public void close() {
+        if (arena != null && arena.scope().isAlive()) {
+            arena.close();
+        }
+    }
+
+    /**
+     * Compacta os códigos gerados ({@code codes[i]} = código da posição i, sem sinal) numa tabela em memória.
+     */
+    static Tablebase pack(Material material, byte[] codes) {
+        int max = 0;
+        for (byte code : codes) {
+            max = Math.max(max, Byte.toUnsignedInt(code));
+        }
+        int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(max));
+        byte[] data = new byte[HEADER_BYTES + (int) dataBytes(codes.length, bits)];
+        long bit = (long) HEADER_BYTES * 8;
+        for (byte code : codes) {
+            int value = Byte.toUnsignedInt(code);
+            for (int b = bits - 1; b >= 0; b--, bit++) {
+                if ((value & (1 << b)) != 0) {
+                    data[(int) (bit >>> 3)] |= (byte) (0x80 >>> (bit & 7));
+                }
+            }
+        }
+        ByteBuffer.wrap(data).putInt(0, MAGIC).putInt(4, VERSION).putInt(8, bits).putInt(12, 0)
+                .putLong(16, codes.length);
+        return new Tablebase(material, null, MemorySegment.ofArray(data).asReadOnly());
+    }
+
+    private static long dataBytes(long positions, int bits) {
+        return (positions * bits + 7) / 8 + Long.BYTES;
+    }
+
+    /**
+     * Grava a tabela no ficheiro indicado (substituindo-o se existir).
+     */
+    public void write(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer all = data.asByteBuffer();
+            while (all.hasRemaining()) {
+                channel.write(all);
+            }
+        }
+    }
+
+    public Material getMaterial() {
+        return material;
+    }
+
+    /**
+     * Bits usados por posição.
+     */
+    public int getBits() {
+        return bits;
+    }
+
+    /**
+     * Código da posição com o índice indicado (ver a descrição da classe).
+     */
+    public int code(int index) {
+        long bit = (long) index * bits;
+        long word = data.get(LONG, HEADER_BYTES + (bit >>> 3));
+        return (int) ((word >>> (64 - bits - (bit & 7))) & mask);
+    }
+
+    /**
+     * Resultado da posição, do ponto de vista do lado a jogar.
+     * @param squares Casas das peças, pela ordem do material (ver {@link Material})
+     */
+    public TablebaseResult probe(int[] squares, boolean whiteToMove) {
+        return TablebaseResult.of(code(material.index(squares, whiteToMove)));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%,d positions, %d bits)", material, material.size(), bits);
+    }
+}
@@ -0,0 +1,445 @@
+/**
+ * Geração de uma tabela de finais por análise retrógrada.
+ *
+ * 1. Cada posição do índice é analisada uma vez (em paralelo): posições inválidas, mates e afogamentos,
+ *    número de jogadas que ficam na tabela e resultado das capturas e promoções, que mudam de material e
+ *    são lidas das tabelas mais pequenas já geradas.
+ * 2. Por níveis de distância d = 0, 1, 2, ... (meias-jogadas até ao mate), a partir de cada posição
+ *    resolvida nesse nível geram-se as jogadas "desfeitas" do adversário: os predecessores de uma perda
+ *    ficam ganhos em d + 1; num predecessor de um ganho desconta-se uma jogada e, quando todas as jogadas
+ *    perdem, fica perdido.
+ * As posições que nunca ficam resolvidas são empates. Não são consideradas capturas en passant nem
+ * roques, nem a regra dos 50 lances.
+ */
+
+package pt.isec.pa.chess.model.tablebase;
+
+import pt.isec.pa.chess.model.data.Bitboards;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+final class TablebaseGenerator {
+
+    private static final int UNKNOWN = 0;
+    private static final int INVALID = 255;
+    private static final int MAX_PLIES = 250;
+    private static final int CHUNK = 1 << 14; // positions per parallel task in the first pass
+    private static final PieceType[] PROMOTIONS = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP,
+            PieceType.KNIGHT};
+
+    private final Material material;
+    private final int n;
+    // state: UNKNOWN, INVALID or the final code (plies to mate + 1, see Tablebase)
+    private final byte[] state;
+    private final byte[] remaining;    // moves not yet known to lose
+    private final byte[] conversionWin;  // plies of the fastest win by capture or promotion (0 = none)
+    private final byte[] conversionLoss; // plies of the slowest loss by capture or promotion (0 = none)
+    private final Conversion[] conversions;
+    private int maxLevel;
+
+    /**
+     * Mudança de material por uma captura e/ou promoção.
+     * @param table Tabela do material resultante, ou null se só restarem os reis (empate)
+     */
+    private record Conversion(Tablebase table, boolean flip, int[] order) {
+    }
+
+    private TablebaseGenerator(Material material, Function<String, Tablebase> tables) {
+        this.material = material;
+        this.n = material.pieces();
+        this.state = new byte[material.size()];
+        this.remaining = new byte[material.size()];
+        this.conversionWin = new byte[material.size()];
+        this.conversionLoss = new byte[material.size()];
+        this.conversions = new Conversion[(n + 1) * (n + 1) * (PROMOTIONS.length + 1)];
+        for (int captured = -1; captured < n; captured++) {
+            for (int promoted = -1; promoted < n; promoted++) {
+                for (int promotion = -1; promotion < PROMOTIONS.length; promotion++) {
+                    if ((captured >= 0 && material.type(captured) == PieceType.KING)
+                            || (captured < 0 && promoted < 0)
+                            || (promoted >= 0) != (promotion >= 0)
+                            || (promoted >= 0 && material.type(promoted) != PieceType.PAWN)
+                            || (captured >= 0 && promoted >= 0
+                                && material.isWhite(captured) == material.isWhite(promoted))) {
+                        continue;
+                    }
+                    conversions[conversionKey(captured, promoted, promotion)] =
+                            conversion(captured, promoted, promotion, tables);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gera a tabela do material indicado.
+     * @param tables Tabelas já geradas, por nome (as capturas e promoções levam a materiais mais pequenos)
+     * @throws IllegalStateException se faltar uma das tabelas necessárias
+     */
+    static Tablebase generate(Material material, Function<String, Tablebase> tables) {
+        TablebaseGenerator generator = new TablebaseGenerator(material, tables);
+        generator.analysePositions();
+        generator.retrograde();
+        return generator.pack();
+    }
+
+    private int conversionKey(int captured, int promoted, int promotion) {
+        return ((captured + 1) * (n + 1) + promoted + 1) * (PROMOTIONS.length + 1) + promotion + 1;
+    }
+
+    private Conversion conversion(int captured, int promoted, int promotion, Function<String, Tablebase> tables) {
+        int count = captured >= 0 ? n - 1 : n;
+        PieceType[] types = new PieceType[count];
+        boolean[] white = new boolean[count];
+        int[] source = new int[count];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            if (i != captured) {
+                types[k] = i == promoted ? PROMOTIONS[promotion] : material.type(i);
+                white[k] = material.isWhite(i);
+                source[k++] = i;
+            }
+        }
+        if (count == 2) {
+            return new Conversion(null, false, null);
+        }
+        Material.Mapping mapping = Material.resolve(types, white, count);
+        Tablebase table = tables.apply(mapping.material().name());
+        if (table == null) {
+            throw new IllegalStateException("Missing tablebase " + mapping.material() + " needed by " + material);
+        }
+        int[] order = new int[count];
+        for (int slot = 0; slot < count; slot++) {
+            order[slot] = source[mapping.order()[slot]];
+        }
+        return new Conversion(table, mapping.flip(), order);
+    }
+
+    private void analysePositions() {
+        int chunks = (material.size() + CHUNK - 1) / CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            Worker worker = new Worker();
+            int end = Math.min(material.size(), (chunk + 1) * CHUNK);
+            for (int index = chunk * CHUNK; index < end; index++) {
+                worker.analyse(index);
+            }
+        });
+        for (int index = 0; index < material.size(); index++) {
+            int code = Byte.toUnsignedInt(state[index]);
+            if (code != INVALID) {
+                maxLevel = Math.max(maxLevel, Math.max(code - 1, Byte.toUnsignedInt(conversionWin[index])));
+            }
+        }
+    }
+
+    private void retrograde() {
+        Worker worker = new Worker();
+        for (int level = 0; level <= maxLevel; level++) {
+            // Wins by capture or promotion first, so a slower win found below cannot overwrite them
+            if (level > 0) {
+                for (int index = 0; index < material.size(); index++) {
+                    if (state[index] == UNKNOWN && Byte.toUnsignedInt(conversionWin[index]) == level) {
+                        state[index] = (byte) (level + 1);
+                    }
+                }
+            }
+            // Positions resolved below always end up at a later level
+            for (int index = 0; index < material.size(); index++) {
+                if (Byte.toUnsignedInt(state[index]) == level + 1) {
+                    worker.propagate(index, level);
+                }
+            }
+        }
+    }
+
+    private Tablebase pack() {
+        byte[] codes = new byte[material.size()];
+        for (int index = 0; index < codes.length; index++) {
+            int code = Byte.toUnsignedInt(state[index]);
+            codes[index] = code == INVALID ? 0 : (byte) code;
+        }
+        return Tablebase.pack(material, codes);
+    }
+
+    private void resolve(int index, int plies) {
+        if (plies > MAX_PLIES) {
+            throw new IllegalStateException("Distance to mate too long for " + material);
+        }
+        state[index] = (byte) (plies + 1);
+        maxLevel = Math.max(maxLevel, plies);
+    }
+
+    /**
+     * Estado de trabalho de uma thread (casas da posição atual e listas temporárias).
+     */
+    private final class Worker {
+
+        private final int[] squares = new int[n];
+        private final int[][] converted = new int[n + 1][];
+        private final int[] found = new int[256];
+        private int foundCount;
+
+        // Results of the moves of the position being analysed
+        private int nonLosing;
+        private int fastestWin;
+        private int slowestLoss;
+        private boolean hasMoves;
+
+        Worker() {
+            for (int count = 1; count <= n; count++) {
+                converted[count] = new int[count];
+            }
+        }
+
+        private long occupancy() {
+            long occupied = 0L;
+            for (int square : squares) {
+                occupied |= Bitboards.bit(square);
+            }
+            return occupied;
+        }
+
+        private long colour(boolean white) {
+            long pieces = 0L;
+            for (int i = 0; i < n; i++) {
+                if (material.isWhite(i) == white) {
+                    pieces |= Bitboards.bit(squares[i]);
+                }
+            }
+            return pieces;
+        }
+
+        private long attacks(int piece, int square, long occupied) {
+            return switch (material.type(piece)) {
+                case KING -> Bitboards.kingAttacks(square);
+                case QUEEN -> Bitboards.queenAttacks(square, occupied);
+                case ROOK -> Bitboards.rookAttacks(square, occupied);
+                case BISHOP -> Bitboards.bishopAttacks(square, occupied);
+                case KNIGHT -> Bitboards.knightAttacks(square);
+                case PAWN -> Bitboards.pawnAttacks(square, material.isWhite(piece));
+            };
+        }
+
+        private boolean attacked(int target, boolean byWhite, long occupied, int skip) {
+            for (int i = 0; i < n; i++) {
+                if (i != skip && material.isWhite(i) == byWhite
+                        && (attacks(i, squares[i], occupied) & Bitboards.bit(target)) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int pieceAt(int square) {
+            for (int i = 0; i < n; i++) {
+                if (squares[i] == square) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean isValid(int index, boolean whiteToMove) {
+            long occupied = occupancy();
+            if (Long.bitCount(occupied) != n) {
+                return false;
+            }
+            for (int i = 0; i < n; i++) {
+                int row = Bitboards.row(squares[i]);
+                if (material.type(i) == PieceType.PAWN && (row == 0 || row == 7)) {
+                    return false;
+                }
+            }
+            // Only the canonical form of each position is used, and the side not to move cannot be in check
+            return material.index(squares, whiteToMove) == index
+                    && !attacked(squares[whiteToMove ? 1 : 0], whiteToMove, occupied, -1);
+        }
+
+        void analyse(int index) {
+            boolean whiteToMove = material.decode(index, squares);
+            if (!isValid(index, whiteToMove)) {
+                state[index] = (byte) INVALID;
+                return;
+            }
+            long occupied = occupancy();
+            long own = colour(whiteToMove);
+            foundCount = 0;
+            nonLosing = 0;
+            fastestWin = Integer.MAX_VALUE;
+            slowestLoss = 0;
+            hasMoves = false;
+
+            for (int i = 0; i < n; i++) {
+                if (material.isWhite(i) != whiteToMove) {
+                    continue;
+                }
+                int from = squares[i];
+                if (material.type(i) == PieceType.PAWN) {
+                    int step = whiteToMove ? -8 : 8;
+                    int one = from + step;
+                    if ((occupied & Bitboards.bit(one)) == 0) {
+                        tryMove(i, one, -1, whiteToMove, occupied);
+                        int startRow = whiteToMove ? 6 : 1;
+                        int two = one + step;
+                        if (Bitboards.row(from) == startRow && (occupied & Bitboards.bit(two)) == 0) {
+                            tryMove(i, two, -1, whiteToMove, occupied);
+                        }
+                    }
+                    long captures = Bitboards.pawnAttacks(from, whiteToMove) & occupied & ~own;
+                    while (captures != 0) {
+                        int to = Bitboards.first(captures);
+                        captures &= captures - 1;
+                        tryMove(i, to, pieceAt(to), whiteToMove, occupied);
+                    }
+                } else {
+                    long targets = attacks(i, from, occupied) & ~own;
+                    while (targets != 0) {
+                        int to = Bitboards.first(targets);
+                        targets &= targets - 1;
+                        tryMove(i, to, pieceAt(to), whiteToMove, occupied);
+                    }
+                }
+            }
+
+            if (!hasMoves) {
+                boolean inCheck = attacked(squares[whiteToMove ? 0 : 1], !whiteToMove, occupied, -1);
+                if (inCheck) {
+                    state[index] = 1; // checkmated: loss in 0 plies
+                }
+                return; // stalemate stays a draw
+            }
+            remaining[index] = (byte) (foundCount + nonLosing);
+            if (fastestWin != Integer.MAX_VALUE) {
+                conversionWin[index] = (byte) fastestWin;
+            }
+            conversionLoss[index] = (byte) slowestLoss;
+            if (foundCount + nonLosing == 0) {
+                state[index] = (byte) (slowestLoss + 1); // every move converts into a lost ending
+            }
+        }
+
+        private void tryMove(int piece, int to, int captured, boolean whiteToMove, long occupied) {
+            if (captured >= 0 && material.type(captured) == PieceType.KING) {
+                return;
+            }
+            int from = squares[piece];
+            squares[piece] = to;
+            long after = (occupied & ~Bitboards.bit(from)) | Bitboards.bit(to);
+            boolean legal = !attacked(squares[whiteToMove ? 0 : 1], !whiteToMove, after, captured);
+            if (legal) {
+                hasMoves = true;
+                boolean promotes = material.type(piece) == PieceType.PAWN
+                        && Bitboards.row(to) == (whiteToMove ? 0 : 7);
+                if (promotes) {
+                    for (int promotion = 0; promotion < PROMOTIONS.length; promotion++) {
+                        convert(conversions[conversionKey(captured, piece, promotion)], !whiteToMove);
+                    }
+                } else if (captured >= 0) {
+                    convert(conversions[conversionKey(captured, -1, -1)], !whiteToMove);
+                } else {
+                    addFound(material.index(squares, !whiteToMove));
+                }
+            }
+            squares[piece] = from;
+        }
+
+        // Result of a move into another table, from the point of view of the side that moved
+        private void convert(Conversion conversion, boolean childWhiteToMove) {
+            int code = 0;
+            if (conversion.table() != null) {
+                int[] child = converted[conversion.order().length];
+                for (int slot = 0; slot < child.length; slot++) {
+                    int square = squares[conversion.order()[slot]];
+                    child[slot] = conversion.flip() ? square ^ 56 : square;
+                }
+                Material target = conversion.table().getMaterial();
+                code = conversion.table().code(target.index(child, childWhiteToMove != conversion.flip()));
+            }
+            if (code == 0) {
+                nonLosing++;
+                return;
+            }
+            int plies = code - 1;
+            if ((plies & 1) == 0) {
+                nonLosing++; // the opponent is lost after this move
+                fastestWin = Math.min(fastestWin, plies + 1);
+            } else {
+                slowestLoss = Math.max(slowestLoss, plies + 1);
+            }
+        }
+
+        private void addFound(int index) {
+            for (int i = 0; i < foundCount; i++) {
+                if (found[i] == index) {
+                    return; // symmetric positions: count each distinct successor once
+                }
+            }
+            found[foundCount++] = index;
+        }
+
+        /**
+         * Atualiza os predecessores de uma posição resolvida com {@code level} meias-jogadas até ao mate.
+         */
+        void propagate(int index, int level) {
+            boolean whiteToMove = material.decode(index, squares);
+            boolean mover = !whiteToMove; // side that made the move leading here
+            collectPredecessors(mover);
+            for (int i = 0; i < foundCount; i++) {
+                int predecessor = found[i];
+                if (state[predecessor] != UNKNOWN) {
+                    continue;
+                }
+                if ((level & 1) == 0) {
+                    resolve(predecessor, level + 1); // a move into a lost position wins
+                } else {
+                    int left = Byte.toUnsignedInt(remaining[predecessor]) - 1;
+                    remaining[predecessor] = (byte) left;
+                    if (left == 0) {
+                        resolve(predecessor, Math.max(level + 1, Byte.toUnsignedInt(conversionLoss[predecessor])));
+                    }
+                }
+            }
+        }
+
+        private void collectPredecessors(boolean mover) {
+            foundCount = 0;
+            long occupied = occupancy();
+            int defenderKing = mover ? 1 : 0;
+            for (int i = 0; i < n; i++) {
+                if (material.isWhite(i) != mover) {
+                    continue;
+                }
+                int to = squares[i];
+                long origins;
+                if (material.type(i) == PieceType.PAWN) {
+                    // White pawns move towards row 0, so they came from the row below
+                    int back = mover ? 8 : -8;
+                    int one = to + back;
+                    int oneRow = Bitboards.row(one);
+                    origins = 0L;
+                    if (oneRow >= 1 && oneRow <= 6 && (occupied & Bitboards.bit(one)) == 0) {
+                        origins |= Bitboards.bit(one);
+                        int two = one + back;
+                        if (Bitboards.row(to) == (mover ? 4 : 3) && (occupied & Bitboards.bit(two)) == 0) {
+                            origins |= Bitboards.bit(two);
+                        }
+                    }
+                } else {
+                    origins = attacks(i, to, occupied) & ~occupied;
+                }
+                while (origins != 0) {
+                    int from = Bitboards.first(origins);
+                    origins &= origins - 1;
+                    squares[i] = from;
+                    long before = (occupied & ~Bitboards.bit(to)) | Bitboards.bit(from);
+                    // Before the move it was the mover's turn, so the other king could not be in check
+                    if (!attacked(squares[defenderKing], mover, before, -1)) {
+                        addFound(material.index(squares, mover));
+                    }
+                    squares[i] = to;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Resultado de uma posição segundo as tabelas de finais, do ponto de vista do lado a jogar.
+ * @param outcome Ganho, empate ou perda com jogo perfeito dos dois lados
+ * @param pliesToMate Meias-jogadas até ao mate (0 se empatada ou se o lado a jogar já está em xeque-mate)
+ */
+
+package pt.isec.pa.chess.model.tablebase;
+
+public record TablebaseResult(Outcome outcome, int pliesToMate) {
+
+    public enum Outcome {
+        WIN, DRAW, LOSS
+    }
+
+    public static final TablebaseResult DRAW = new TablebaseResult(Outcome.DRAW, 0);
+
+    /**
+     * Converte um código de {@link Tablebase}.
+     */
+    static TablebaseResult of(int code) {
+        if (code == 0) {
+            return DRAW;
+        }
+        int plies = code - 1;
+        return new TablebaseResult((plies & 1) != 0 ? Outcome.WIN : Outcome.LOSS, plies);
+    }
+
+    @Override
+    public String toString() {
+        return switch (outcome) {
+            case DRAW -> "draw";
+            case WIN -> "win, mate in " + (pliesToMate + 1) / 2;
+            case LOSS -> pliesToMate == 0 ? "checkmated" : "loss, mated in " + pliesToMate / 2;
+        };
+    }
+}
@@ -0,0 +1,307 @@
+/**
+ * Conjunto de tabelas de finais (até {@link Material#MAX_PIECES} peças), com a geração das tabelas
+ * em falta e a consulta de posições do tabuleiro.
+ *
+ * As tabelas são geradas localmente ({@link #generate(Collection, Path, Consumer)}) e lidas dos ficheiros
+ * mapeados em memória; as consultas só usam leituras absolutas, por isso o conjunto pode ser partilhado
+ * entre threads (ex: as threads de pesquisa do motor). {@link #close()} liberta os mapeamentos de todas as
+ * tabelas; uma consulta que ainda esteja a decorrer noutra thread trata-as como em falta.
+ */
+
+package pt.isec.pa.chess.model.tablebase;
+
+import pt.isec.pa.chess.model.data.Bitboards;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.MoveGenerator;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.UndoInfo;
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+import pt.isec.pa.chess.model.engine.Move;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+public final class Tablebases implements Closeable {
+
+    private static final String PIECES = "QRBNP";
+    private static final PieceType[] PROMOTIONS = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP,
+            PieceType.KNIGHT};
+
+    private final Map<String, Tablebase> tables = new ConcurrentHashMap<>();
+
+    /**
+     * Abre todas as tabelas (ficheiros {@value Tablebase#EXTENSION}) de uma diretoria.
+     * @throws IOException se a diretoria não existir ou algum ficheiro não for uma tabela válida
+     */
+    public static Tablebases open(Path directory) throws IOException {
+        Tablebases tablebases = new Tablebases();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + Tablebase.EXTENSION)) {
+            for (Path file : files) {
+                tablebases.add(Tablebase.open(file));
+            }
+        } catch (IOException | RuntimeException e) {
+            tablebases.close();
+            throw e;
+        }
+        return tablebases;
+    }
+
+    /**
+     * Fecha todas as tabelas do conjunto (ver {@link Tablebase#close()}).
+     */
+    @Override
+    public void close() {
+        for (Tablebase table : tables.values()) {
+            table.close();
+        }
+    }
+
+    public void add(Tablebase table) {
+        tables.put(table.getMaterial().name(), table);
+    }
+
+    /**
+     * Tabela de um material (ex: "KRK"), ou null se não estiver no conjunto.
+     */
+    public Tablebase get(String material) {
+        return tables.get(Material.parse(material).name());
+    }
+
+    public int size() {
+        return tables.size();
+    }
+
+    /**
+     * Nomes de todas as tabelas de 3 e 4 peças: uma peça contra o rei sozinho, duas peças contra o rei
+     * sozinho e uma peça contra uma peça.
+     */
+    public static List<String> standardNames() {
+        Set<String> names = new LinkedHashSet<>();
+        for (char a : PIECES.toCharArray()) {
+            names.add("K" + a + "K");
+        }
+        for (int i = 0; i < PIECES.length(); i++) {
+            for (int j = i; j < PIECES.length(); j++) {
+                names.add(Material.parse("K" + PIECES.charAt(i) + PIECES.charAt(j) + "K").name());
+            }
+        }
+        for (int i = 0; i < PIECES.length(); i++) {
+            for (int j = i; j < PIECES.length(); j++) {
+                names.add(Material.parse("K" + PIECES.charAt(i) + "K" + PIECES.charAt(j)).name());
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Gera as tabelas indicadas e as tabelas de que dependem (capturas e promoções), gravando-as na
+     * diretoria. As tabelas que já existam na diretoria são reutilizadas. As tabelas com o mesmo número de
+     * peças e de peões não dependem umas das outras e são geradas em paralelo.
+     * @param progress Recebe uma mensagem por cada tabela gerada (pode ser null)
+     * @return O conjunto com todas as tabelas geradas e reutilizadas
+     */
+    public static Tablebases generate(Collection<String> materials, Path directory, Consumer<String> progress)
+            throws IOException {
+        Files.createDirectories(directory);
+        Tablebases tablebases = open(directory);
+        Set<Material> needed = new LinkedHashSet<>();
+        for (String name : materials) {
+            addWithDependencies(Material.parse(name), needed);
+        }
+        // Tiers by number of pieces, then by number of pawns: a table only depends on earlier tiers
+        Map<Integer, List<Material>> tiers = new TreeMap<>();
+        for (Material material : needed) {
+            if (!tablebases.tables.containsKey(material.name())) {
+                tiers.computeIfAbsent(material.pieces() * 8 + material.countPawns(), k -> new ArrayList<>())
+                        .add(material);
+            }
+        }
+        for (List<Material> tier : tiers.values()) {
+            tier.sort(Comparator.comparing(Material::name));
+            List<IOException> errors = new ArrayList<>();
+            tier.parallelStream().forEach(material -> {
+                long start = System.nanoTime();
+                Tablebase table = TablebaseGenerator.generate(material, tablebases.tables::get);
+                Path file = directory.resolve(material.name() + Tablebase.EXTENSION);
+                try {
+                    table.write(file);
+                    tablebases.add(Tablebase.open(file));
+                } catch (IOException e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                    return;
+                }
+                if (progress != null) {
+                    progress.accept(String.format("%s: %,d positions, %d bits, %.1f s", material,
+                            material.size(), table.getBits(), (System.nanoTime() - start) / 1e9));
+                }
+            });
+            if (!errors.isEmpty()) {
+                tablebases.close();
+                throw errors.get(0);
+            }
+        }
+        return tablebases;
+    }
+
+    private static void addWithDependencies(Material material, Set<Material> needed) {
+        if (material.pieces() <= 2 || needed.contains(material)) {
+            return;
+        }
+        int n = material.pieces();
+        PieceType[] types = new PieceType[n];
+        boolean[] white = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            types[i] = material.type(i);
+            white[i] = material.isWhite(i);
+        }
+        for (int captured = 2; captured < n; captured++) {
+            addWithDependencies(without(types, white, captured, -1, null), needed);
+        }
+        for (int pawn = 2; pawn < n; pawn++) {
+            if (types[pawn] != PieceType.PAWN) {
+                continue;
+            }
+            for (PieceType promotion : PROMOTIONS) {
+                addWithDependencies(without(types, white, -1, pawn, promotion), needed);
+                for (int captured = 2; captured < n; captured++) {
+                    if (white[captured] != white[pawn]) {
+                        addWithDependencies(without(types, white, captured, pawn, promotion), needed);
+                    }
+                }
+            }
+        }
+        needed.add(material); // after its dependencies
+    }
+
+    private static Material without(PieceType[] types, boolean[] white, int captured, int pawn, PieceType promotion) {
+        PieceType[] childTypes = new PieceType[types.length];
+        boolean[] childWhite = new boolean[types.length];
+        int n = 0;
+        for (int i = 0; i < types.length; i++) {
+            if (i != captured) {
+                childTypes[n] = i == pawn ? promotion : types[i];
+                childWhite[n++] = white[i];
+            }
+        }
+        return Material.resolve(childTypes, childWhite, n).material();
+    }
+
+    /**
+     * Resultado da posição do tabuleiro, do ponto de vista do lado a jogar.
+     * @return O resultado, ou null se a posição não estiver nas tabelas (mais peças, tabela em falta,
+     *         direitos de roque ou captura en passant possível)
+     */
+    public TablebaseResult probe(Board board) {
+        return covers(board) ? probeIgnoringEnPassant(board) : null;
+    }
+
+    /**
+     * Indica se a posição pode estar em alguma tabela (no máximo {@link Material#MAX_PIECES} peças, sem
+     * direitos de roque nem captura en passant possível), sem consultar nenhuma.
+     */
+    public static boolean covers(Board board) {
+        return board.getEnPassantFile() < 0 && board.getCastlingRights() == 0
+                && Long.bitCount(board.occupied()) <= Material.MAX_PIECES;
+    }
+
+    private TablebaseResult probeIgnoringEnPassant(Board board) {
+        long occupied = board.occupied();
+        int n = Long.bitCount(occupied);
+        if (n > Material.MAX_PIECES || board.getCastlingRights() != 0) {
+            return null;
+        }
+        if (n == 2) {
+            return TablebaseResult.DRAW;
+        }
+        PieceType[] types = new PieceType[n];
+        boolean[] white = new boolean[n];
+        int[] squares = new int[n];
+        int k = 0;
+        for (long bits = occupied; bits != 0; bits &= bits - 1) {
+            int square = Bitboards.first(bits);
+            Piece piece = board.getPieceAt(Bitboards.column(square), Bitboards.row(square));
+            types[k] = piece.getType();
+            white[k] = piece.isWhite();
+            squares[k++] = square;
+        }
+        Material.Mapping mapping = Material.resolve(types, white, n);
+        if (mapping == null) {
+            return null;
+        }
+        Tablebase table = tables.get(mapping.material().name());
+        if (table == null) {
+            return null;
+        }
+        int[] ordered = new int[n];
+        for (int slot = 0; slot < n; slot++) {
+            int square = squares[mapping.order()[slot]];
+            ordered[slot] = mapping.flip() ? square ^ 56 : square;
+        }
+        try {
+            return table.probe(ordered, board.isWhiteToMove() != mapping.flip());
+        } catch (IllegalStateException e) {
+            return null; // closed by another thread (the set was replaced during a search): treated as missing
+        }
+    }
+
+    /**
+     * Melhor jogada segundo as tabelas: o ganho mais rápido, senão um empate, senão a perda mais lenta.
+     * @return A jogada, ou null se a posição (ou alguma das posições seguintes) não estiver nas tabelas
+     */
+    public Move bestMove(Board board) {
+        if (probe(board) == null) {
+            return null;
+        }
+        Board copy = new Board(board);
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(copy, copy.isWhiteToMove(), moves);
+        UndoInfo undo = new UndoInfo();
+        int best = 0;
+        int bestRank = Integer.MIN_VALUE;
+        for (int i = 0; i < moves.size(); i++) {
+            copy.makeMove(moves.get(i), undo);
+            // A double push only gives an en passant capture to an adjacent pawn, which the tables ignore
+            TablebaseResult child = probeIgnoringEnPassant(copy);
+            copy.unmakeMove(undo);
+            if (child == null) {
+                return null;
+            }
+            int rank = rank(child);
+            if (rank > bestRank) {
+                bestRank = rank;
+                best = moves.get(i);
+            }
+        }
+        return moves.isEmpty() ? null : Move.of(best);
+    }
+
+    // Preference for a move, from the result of the opponent after it
+    private static int rank(TablebaseResult child) {
+        return switch (child.outcome()) {
+            case LOSS -> 1000 - child.pliesToMate();
+            case DRAW -> 0;
+            case WIN -> -1000 + child.pliesToMate();
+        };
+    }
+
+    @Override
+    public String toString() {
+        return tables.keySet().stream().sorted().toList().toString();
+    }
+}
@@ -1,5 +1,6 @@
 package pt.isec.pa.chess.ui;
 
+import javafx.animation.AnimationTimer;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.ChoiceDialog;
@@ -9,17 +10,22 @@ import pt.isec.pa.chess.ui.Point;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
 import pt.isec.pa.chess.model.ChessGameManager;
 import pt.isec.pa.chess.model.ModelLog;
+import pt.isec.pa.chess.model.book.BookMove;
 import pt.isec.pa.chess.model.data.Board;
 import pt.isec.pa.chess.ui.PromotionHandler;
 import pt.isec.pa.chess.model.data.pieces.PieceType;
+import pt.isec.pa.chess.model.engine.AnalysisInfo;
+import pt.isec.pa.chess.model.engine.Move;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.Optional;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.io.File;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
@@ -36,12 +42,32 @@ public class BoardFx extends Canvas implements PropertyChangeListener, Promotion
     private final Color PIECE_BLACK = Color.BLACK;
     private final Color HIGHLIGHT = Color.web("#ff494980"); // Semi-transparent red
     private final Color MOVE_INDICATOR = Color.web("#00ff007f"); // Semi-transparent green
+    private final Color WINNABLE = Color.web("#ffd700"); // Gold outline
+    private final Color BOOK_MOVE = Color.web("#1e90ffb0"); // Semi-transparent blue arrow
+    private final Color ANALYSIS_MOVE = Color.web("#8a2be2b0"); // Semi-transparent violet arrow
 
     private Point selectedSquare = null;
     private ArrayList<Point> validMoves = new ArrayList<>(); // Store valid moves for highlighting
     private int BOARD_SIZE;
     private String whiteName, blackName;
     private boolean showMoves = false;
+    private boolean showWinnable = false;
+    private ArrayList<Point> winnablePieces = new ArrayList<>(); // Enemy pieces that can be won
+    private boolean showBook = false;
+    private List<BookMove> bookMoves = List.of(); // Opening book moves for the current position
+    private AnalysisInfo analysis; // Latest analysis shown, for the position on the board
+    // Written by the analysis thread, taken by the timer: at most one redraw per frame however fast it reports
+    private final AtomicReference<AnalysisInfo> latestAnalysis = new AtomicReference<>();
+    private final AnimationTimer analysisTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            AnalysisInfo latest = latestAnalysis.getAndSet(null);
+            if (latest != null && latest.positionKey() == gameManager.getGame().getBoard().getZobristKey()) {
+                analysis = latest;
+                draw();
+            }
+        }
+    };
     private boolean soundEnabled = true; // O som está ligado por default
     private boolean isWhiteTurn = true; // Track the current turn
 
@@ -175,10 +201,14 @@ public class BoardFx extends Canvas implements PropertyChangeListener, Promotion
         gc.clearRect(0, 0, getWidth(), getHeight());
         final double padding = 30;
         final double effectiveCellSize = (Math.min(getWidth(), getHeight()) - 2 * padding) / BOARD_SIZE;
+        winnablePieces = showWinnable ? gameManager.getWinnablePieces() : new ArrayList<>();
+        bookMoves = showBook ? gameManager.getBookMoves() : List.of();
 
         // Draw board elements
         drawCoordinates(gc, padding, effectiveCellSize);
         drawBoardAndPieces(gc, padding, effectiveCellSize);
+        drawBookMoves(gc, padding, effectiveCellSize);
+        drawAnalysis(gc, padding, effectiveCellSize);
         drawTurnIndicator(gc);
     }
 
@@ -236,6 +266,18 @@ public class BoardFx extends Canvas implements PropertyChangeListener, Promotion
             );
         }
 
+        // Highlight enemy pieces that can be won (learning mode)
+        if (winnablePieces.stream().anyMatch(s -> s.x() == col && s.y() == row)) {
+            gc.setStroke(WINNABLE);
+            gc.setLineWidth(3);
+            gc.strokeRect(
+                    padding + col * effectiveCellSize + 1.5,
+                    padding + row * effectiveCellSize + 1.5,
+                    effectiveCellSize - 3,
+                    effectiveCellSize - 3
+            );
+        }
+
         // Highlight valid moves
         if (validMoves.stream().anyMatch(s -> s.x() == col && s.y() == row)) {
             gc.setFill(MOVE_INDICATOR);
@@ -248,6 +290,59 @@ public class BoardFx extends Canvas implements PropertyChangeListener, Promotion
         }
     }
 
+    // Arrow from origin to destination for each book move, thicker for the more played ones
+    private void drawBookMoves(GraphicsContext gc, double padding, double effectiveCellSize) {
+        int total = bookMoves.stream().mapToInt(BookMove::weight).sum();
+        if (total == 0) {
+            return;
+        }
+        for (BookMove bookMove : bookMoves) {
+            double share = (double) bookMove.weight() / total;
+            drawArrow(gc, bookMove.move(), BOOK_MOVE, 2 + share * effectiveCellSize * 0.2,
+                    Math.round(share * 100) + "%", padding, effectiveCellSize);
+        }
+    }
+
+    // Best move of the analysis, with its evaluation and depth at the bottom right
+    private void drawAnalysis(GraphicsContext gc, double padding, double effectiveCellSize) {
+        if (analysis == null || analysis.positionKey() != gameManager.getGame().getBoard().getZobristKey()) {
+            return;
+        }
+        Move best = analysis.search().bestMove();
+        if (best != null) {
+            drawArrow(gc, best, ANALYSIS_MOVE, 2 + effectiveCellSize * 0.1, null, padding, effectiveCellSize);
+        }
+        gc.setFont(Font.font("System", FontWeight.BOLD, 14));
+        gc.setFill(Color.BLACK);
+        gc.setTextAlign(TextAlignment.RIGHT);
+        gc.fillText(analysis.toString(), getWidth() - padding, getHeight() - 10);
+        gc.setTextAlign(TextAlignment.LEFT);
+    }
+
+    private void drawArrow(GraphicsContext gc, Move move, Color color, double width, String label,
+                           double padding, double effectiveCellSize) {
+        double x1 = padding + (move.from().column() + 0.5) * effectiveCellSize;
+        double y1 = padding + (move.from().row() + 0.5) * effectiveCellSize;
+        double x2 = padding + (move.to().column() + 0.5) * effectiveCellSize;
+        double y2 = padding + (move.to().row() + 0.5) * effectiveCellSize;
+        gc.setStroke(color);
+        gc.setFill(color);
+        gc.setLineWidth(width);
+        gc.strokeLine(x1, y1, x2, y2);
+
+        // Arrow head
+        double angle = Math.atan2(y2 - y1, x2 - x1);
+        double head = effectiveCellSize * 0.25;
+        gc.fillPolygon(
+                new double[]{x2, x2 - head * Math.cos(angle - 0.4), x2 - head * Math.cos(angle + 0.4)},
+                new double[]{y2, y2 - head * Math.sin(angle - 0.4), y2 - head * Math.sin(angle + 0.4)},
+                3);
+        if (label != null) {
+            gc.setFont(Font.font("System", FontWeight.BOLD, 12));
+            gc.fillText(label, x2 + 4, y2 - 4);
+        }
+    }
+
     private void drawPieceAt(GraphicsContext gc, int col, int row, double padding, double effectiveCellSize) {
         // Draw pieces
         if (gameManager != null) {
@@ -366,6 +461,7 @@ public class BoardFx extends Canvas implements PropertyChangeListener, Promotion
 
 
     public void cleanup() {
+        setShowAnalysis(false);
         gameManager.removePropertyChangeListener(this);
         ModelLog.getInstance().removePropertyChangeListener(this);
     }
@@ -374,6 +470,33 @@ public class BoardFx extends Canvas implements PropertyChangeListener, Promotion
         showMoves = b;
     }
 
+    public void setShowWinnable(boolean b) {
+        showWinnable = b;
+        draw();
+    }
+
+    public void setShowBook(boolean b) {
+        showBook = b;
+        draw();
+    }
+
+    /**
+     * Liga ou desliga o modo de análise: a posição é analisada continuamente numa thread de fundo e a
+     * melhor jogada, a avaliação e a profundidade são mostradas sobre o tabuleiro.
+     */
+    public void setShowAnalysis(boolean enabled) {
+        if (enabled) {
+            gameManager.startAnalysis(latestAnalysis::set);
+            analysisTimer.start();
+        } else {
+            analysisTimer.stop();
+            gameManager.stopAnalysis();
+            latestAnalysis.set(null);
+            analysis = null;
+        }
+        draw();
+    }
+
     public void setSoundEnabled(boolean enabled) {
         soundEnabled = enabled;
     }
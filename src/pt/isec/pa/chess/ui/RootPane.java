@@ -9,6 +9,7 @@ import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import pt.isec.pa.chess.model.ChessGameManager;
 import pt.isec.pa.chess.model.ModelLog;
@@ -24,8 +25,8 @@ import java.io.IOException;
 public class RootPane extends BorderPane { //View-Controller
     ModelData data;
     MenuBar menuBar;
-    MenuItem miNew, miOpen, miSave, miImport, miExport, miQuit,miUndo,miRedo;
-    CheckMenuItem miShowMoves;
+    MenuItem miNew, miOpen, miSave, miImport, miExport, miQuit,miUndo,miRedo, miOpenBook, miOpenTablebases;
+    CheckMenuItem miShowMoves, miShowWinnable, miShowBook, miAnalyse, miComputer, miPonder;
     RadioMenuItem miNormal, miLearning;
     ChessGameManager gameManager;
     Canvas canvas;
@@ -40,6 +41,10 @@ public class RootPane extends BorderPane { //View-Controller
     public RootPane(ModelData data) {
         this.data = data;
         this.gameManager = data.getGameManager();
+        // The computer's moves are computed off the JavaFX thread and applied back on it
+        gameManager.setEventExecutor(Platform::runLater);
+        loadDefaultBook();
+        loadDefaultTablebases();
         createViews();
         registerHandlers();
         update();
@@ -202,6 +207,44 @@ public class RootPane extends BorderPane { //View-Controller
                 }
             }
         });
+        miOpenBook.setOnAction(e -> {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Open opening book");
+            fileChooser.setInitialDirectory(new File("."));
+            fileChooser.getExtensionFilters().addAll(
+                    new FileChooser.ExtensionFilter("Opening book (*.bin)", "*.bin"),
+                    new FileChooser.ExtensionFilter("All Files", "*.*")
+            );
+            File file = fileChooser.showOpenDialog(this.getScene().getWindow());
+            if (file != null) {
+                try {
+                    gameManager.loadOpeningBook(file.getAbsolutePath());
+                } catch (IOException ex) {
+                    Alert alert = new Alert(Alert.AlertType.ERROR);
+                    alert.setTitle("Opening Book Error");
+                    alert.setHeaderText("Erro a abrir o livro de aberturas");
+                    alert.setContentText(ex.getMessage());
+                    alert.showAndWait();
+                }
+            }
+        });
+        miOpenTablebases.setOnAction(e -> {
+            DirectoryChooser directoryChooser = new DirectoryChooser();
+            directoryChooser.setTitle("Open tablebases");
+            directoryChooser.setInitialDirectory(new File("."));
+            File directory = directoryChooser.showDialog(this.getScene().getWindow());
+            if (directory != null) {
+                try {
+                    gameManager.loadTablebases(directory.getAbsolutePath());
+                } catch (IOException ex) {
+                    Alert alert = new Alert(Alert.AlertType.ERROR);
+                    alert.setTitle("Tablebase Error");
+                    alert.setHeaderText("Erro a abrir as tabelas de finais");
+                    alert.setContentText(ex.getMessage());
+                    alert.showAndWait();
+                }
+            }
+        });
         miQuit.setOnAction(actionEvent -> {
             Platform.exit();
         });
@@ -210,6 +253,17 @@ public class RootPane extends BorderPane { //View-Controller
             miUndo.setDisable(true);
             miRedo.setDisable(true);
             miShowMoves.setDisable(true);
+            miShowWinnable.setDisable(true);
+            miShowWinnable.setSelected(false);
+            ((BoardFx)canvas).setShowWinnable(false);
+            miShowBook.setDisable(true);
+            miShowBook.setSelected(false);
+            ((BoardFx)canvas).setShowBook(false);
+            miAnalyse.setDisable(true);
+            if (miAnalyse.isSelected()) {
+                miAnalyse.setSelected(false);
+                ((BoardFx)canvas).setShowAnalysis(false);
+            }
 
         });
 
@@ -217,6 +271,9 @@ public class RootPane extends BorderPane { //View-Controller
             miUndo.setDisable(false);
             miRedo.setDisable(false);
             miShowMoves.setDisable(false);
+            miShowWinnable.setDisable(false);
+            miShowBook.setDisable(false);
+            miAnalyse.setDisable(false);
         });
 
         gameManager.addPropertyChangeListener(evt -> {
@@ -251,6 +308,21 @@ public class RootPane extends BorderPane { //View-Controller
             ((BoardFx)canvas).setShowMoves(miShowMoves.isSelected());
         });
 
+        miShowWinnable.setOnAction(e -> {
+            ((BoardFx)canvas).setShowWinnable(miShowWinnable.isSelected());
+        });
+
+        miShowBook.setOnAction(e -> {
+            ((BoardFx)canvas).setShowBook(miShowBook.isSelected());
+        });
+
+        miAnalyse.setOnAction(e -> {
+            ((BoardFx)canvas).setShowAnalysis(miAnalyse.isSelected());
+        });
+
+        miComputer.setOnAction(e -> gameManager.setComputerOpponent(miComputer.isSelected()));
+        miPonder.setOnAction(e -> gameManager.setPondering(miPonder.isSelected()));
+
         miUndo.setOnAction(e -> gameManager.undo());
         miRedo.setOnAction(e -> gameManager.redo());
 
@@ -266,6 +338,30 @@ public class RootPane extends BorderPane { //View-Controller
 
 
 
+    // Opening the book only maps the file, so it costs the same whatever its size
+    private void loadDefaultBook() {
+        File book = new File("book.bin");
+        if (book.isFile()) {
+            try {
+                gameManager.loadOpeningBook(book.getAbsolutePath());
+            } catch (IOException e) {
+                System.err.println("Erro ao abrir o livro de aberturas: " + e.getMessage());
+            }
+        }
+    }
+
+    // Tables are generated with TablebaseMain; opening them only maps the files
+    private void loadDefaultTablebases() {
+        File directory = new File("tablebases");
+        if (directory.isDirectory()) {
+            try {
+                gameManager.loadTablebases(directory.getAbsolutePath());
+            } catch (IOException e) {
+                System.err.println("Erro ao abrir as tabelas de finais: " + e.getMessage());
+            }
+        }
+    }
+
     private MenuBar createMenu() {
         menuBar = new MenuBar();
 
@@ -275,6 +371,8 @@ public class RootPane extends BorderPane { //View-Controller
         miSave = new MenuItem("Save");
         miImport = new MenuItem("Import");
         miExport = new MenuItem("Export");
+        miOpenBook = new MenuItem("Open opening book");
+        miOpenTablebases = new MenuItem("Open tablebases");
         miQuit = new MenuItem("Quit");
         miLogs = new MenuItem("Logs");
         miNotifications = new MenuItem("Notifications");
@@ -282,7 +380,7 @@ public class RootPane extends BorderPane { //View-Controller
 
         menuGame.getItems().addAll(
             miNew, miOpen, miSave, new SeparatorMenuItem(),
-            miImport, miExport, new SeparatorMenuItem(),
+            miImport, miExport, miOpenBook, miOpenTablebases, new SeparatorMenuItem(),
             miLogs, miNotifications,
             new SeparatorMenuItem(),
             miSound,
@@ -298,15 +396,25 @@ public class RootPane extends BorderPane { //View-Controller
         miLearning.setToggleGroup(toggleMode);
         miNormal.setSelected(true);
 
+        miComputer = new CheckMenuItem("Play vs computer");
+        miPonder = new CheckMenuItem("Think on my time (ponder)");
+        miPonder.setSelected(gameManager.isPondering());
         miShowMoves = new CheckMenuItem("Show possible moves");
+        miShowWinnable = new CheckMenuItem("Show winnable pieces");
+        miShowBook = new CheckMenuItem("Show book moves");
+        miAnalyse = new CheckMenuItem("Analyse");
         miUndo = new MenuItem("Undo");
         miRedo = new MenuItem("Redo");
         miShowMoves.setDisable(true);
+        miShowWinnable.setDisable(true);
+        miShowBook.setDisable(true);
+        miAnalyse.setDisable(true);
         miUndo.setDisable(true);
         miRedo.setDisable(true);
 
 
-        menuMode.getItems().addAll(miNormal, miLearning, new SeparatorMenuItem(), miShowMoves, miUndo, miRedo);
+        menuMode.getItems().addAll(miNormal, miLearning, new SeparatorMenuItem(), miComputer, miPonder,
+                new SeparatorMenuItem(), miShowMoves, miShowWinnable, miShowBook, miAnalyse, miUndo, miRedo);
 
         menuBar.getMenus().addAll(menuGame, menuMode);
         return menuBar;
@@ -0,0 +1,101 @@
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.engine.AnalysisInfo;
+import pt.isec.pa.chess.model.engine.Analyser;
+import pt.isec.pa.chess.model.perft.PerftSuite;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalyserTest {
+
+    // Next result for the position with the given key, skipping late results of earlier positions
+    private static AnalysisInfo next(BlockingQueue<AnalysisInfo> results, long key) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            AnalysisInfo info = results.poll(100, TimeUnit.MILLISECONDS);
+            if (info != null && info.positionKey() == key) {
+                return info;
+            }
+        }
+        fail("No analysis for the position");
+        return null;
+    }
+
+    @Test
+    void testStreamsDeeperIterations() throws InterruptedException {
+        BlockingQueue<AnalysisInfo> results = new LinkedBlockingQueue<>();
+        Board board = new Board();
+        try (Analyser analyser = new Analyser(results::add)) {
+            analyser.analyse(board);
+            AnalysisInfo first = next(results, board.getZobristKey());
+            AnalysisInfo second = next(results, board.getZobristKey());
+            assertTrue(second.search().depth() > first.search().depth());
+            assertTrue(first.whiteToMove());
+            assertNotNull(first.search().bestMove());
+        }
+    }
+
+    @Test
+    void testRestartsOnNewPosition() throws InterruptedException {
+        BlockingQueue<AnalysisInfo> results = new LinkedBlockingQueue<>();
+        Board start = new Board();
+        Board mate = Board.fromFen("6k1/5ppp/8/8/8/8/8/R5K1 b - - 0 1");
+        Board kiwipete = Board.fromFen(PerftSuite.find("kiwipete").fen());
+        try (Analyser analyser = new Analyser(results::add)) {
+            analyser.analyse(start);
+            next(results, start.getZobristKey());
+            analyser.analyse(kiwipete);
+            analyser.analyse(mate); // replaces kiwipete before it is searched
+            AnalysisInfo info = next(results, mate.getZobristKey());
+            assertFalse(info.whiteToMove());
+            assertTrue(info.search().isMate() || info.whiteScore() > 0);
+
+            // Once the new position is reported, nothing from the old ones follows
+            results.clear();
+            next(results, mate.getZobristKey());
+            for (AnalysisInfo late : results) {
+                assertEquals(mate.getZobristKey(), late.positionKey());
+            }
+        }
+    }
+
+    @Test
+    void testCloseEndsTheThread() throws InterruptedException {
+        Analyser analyser = new Analyser(info -> { });
+        analyser.analyse(Board.fromFen(PerftSuite.find("kiwipete").fen()));
+        Thread.sleep(50);
+        long start = System.nanoTime();
+        analyser.close(); // does not wait for the search
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(50));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (analyser.isAlive() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertFalse(analyser.isAlive());
+        analyser.analyse(new Board()); // ignored after close
+        assertFalse(analyser.isAlive());
+    }
+
+    @Test
+    void testStopKeepsTheThreadForTheNextPosition() throws InterruptedException {
+        BlockingQueue<AnalysisInfo> results = new LinkedBlockingQueue<>();
+        Board board = new Board();
+        try (Analyser analyser = new Analyser(results::add)) {
+            analyser.analyse(board);
+            next(results, board.getZobristKey());
+            analyser.stop();
+            Thread.sleep(50);
+            results.clear();
+            Thread.sleep(100);
+            assertTrue(results.isEmpty());
+            assertTrue(analyser.isAlive());
+
+            analyser.analyse(board);
+            next(results, board.getZobristKey());
+        }
+    }
+}
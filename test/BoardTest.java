@@ -0,0 +1,102 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.Bitboards;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Moves;
+import pt.isec.pa.chess.model.data.Square;
+import pt.isec.pa.chess.model.data.UndoInfo;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardTest {
+    ChessGame game;
+
+    @BeforeEach
+    void setUp() {
+        game = new ChessGame();
+        game.startGame("White", "Black");
+    }
+
+    @Test
+    void testInitialBitboards() {
+        Board board = game.getBoard();
+        assertEquals(32, Long.bitCount(board.occupied()));
+        assertEquals(16, Long.bitCount(board.occupied(true)));
+        assertEquals(0xFFFFL, board.occupied(false)); // rows 0 and 1
+        assertEquals(Bitboards.bit(4, 7), board.piecesOf(PieceType.KING, true));
+        assertEquals(Bitboards.bit(3, 0), board.piecesOf(PieceType.QUEEN, false));
+    }
+
+    @Test
+    void testBitboardsFollowMoves() {
+        assertTrue(game.move(new Square(4, 6), new Square(4, 4))); // e2-e4
+        Board board = game.getBoard();
+        long pawns = board.piecesOf(PieceType.PAWN, true);
+        assertEquals(0L, pawns & Bitboards.bit(4, 6));
+        assertNotEquals(0L, pawns & Bitboards.bit(4, 4));
+        assertEquals(32, Long.bitCount(board.occupied()));
+    }
+
+    @Test
+    void testClearBoard() {
+        Board board = game.getBoard();
+        board.clearBoard();
+        assertEquals(0L, board.occupied());
+        board.setPieceFromChar(0, 0, 'k');
+        assertEquals(Bitboards.bit(0, 0), board.piecesOf(PieceType.KING, false));
+    }
+
+    @Test
+    void testAttackersTo() {
+        game.importGame("WHITE,Ke1*,Ra1,Bc3,ke8*,qe5");
+        Board board = game.getBoard();
+        // Black queen on e5 gives check along the e-file
+        assertTrue(game.isPlayerInCheck(true));
+        assertEquals(Bitboards.bit(4, 3), board.attackersTo(Bitboards.index(4, 7), false));
+        // White bishop on c3 attacks the queen
+        assertEquals(Bitboards.bit(2, 5), board.attackersTo(Bitboards.index(4, 3), true));
+        assertTrue(board.isSquareUnderAttack(new Square(0, 3), true)); // a5 seen by the queen
+        assertFalse(board.isSquareUnderAttack(new Square(0, 7), true)); // a1 shielded by the bishop
+    }
+
+    @Test
+    void testAttackMapsFollowMoves() {
+        int[][] moves = {{4, 6, 4, 4}, {4, 1, 4, 3}, {5, 7, 2, 4}, {1, 0, 2, 2}, {3, 7, 7, 3}, {6, 0, 5, 2}, {7, 3, 5, 1}};
+        assertAttackMapsMatch(game.getBoard());
+        for (int[] m : moves) {
+            assertTrue(game.move(new Square(m[0], m[1]), new Square(m[2], m[3])));
+            assertAttackMapsMatch(game.getBoard());
+        }
+        assertTrue(game.isPlayerInCheck(false)); // Qxf7#
+    }
+
+    private static void assertAttackMapsMatch(Board board) {
+        for (int square = 0; square < 64; square++) {
+            assertEquals(board.attackersTo(square, true) != 0, board.isSquareAttacked(square, true));
+            assertEquals(board.attackersTo(square, false) != 0, board.isSquareAttacked(square, false));
+        }
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        ChessGame game = new ChessGame();
+        game.importFen("r3k2r/8/8/3pP3/8/8/8/R3K2R w KQkq d6 0 1");
+        Board original = game.getBoard();
+        Board copy = new Board(original);
+
+        assertEquals(original.getZobristKey(), copy.getZobristKey());
+        assertEquals(original.occupied(), copy.occupied());
+        assertEquals(original.attackedBy(true), copy.attackedBy(true));
+        assertNotSame(original.getPieceAt(4, 7), copy.getPieceAt(4, 7));
+        assertSame(copy.getPieceAt(3, 3), copy.getLastMovedPiece()); // en passant still recognised
+
+        copy.makeMove(Moves.encode(Square.of(4, 7).index(), Square.of(6, 7).index(),
+                Moves.CASTLING), new UndoInfo());
+        assertFalse(original.getPieceAt(4, 7).hasMoved());
+        assertNotNull(original.getPieceAt(7, 7));
+        assertEquals(original.computeZobristKey(), original.getZobristKey());
+        assertEquals(copy.computeZobristKey(), copy.getZobristKey());
+    }
+}
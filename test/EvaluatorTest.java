@@ -0,0 +1,80 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.MoveGenerator;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.PieceSquareTables;
+import pt.isec.pa.chess.model.data.UndoInfo;
+import pt.isec.pa.chess.model.engine.Evaluator;
+import pt.isec.pa.chess.model.perft.PerftSuite;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EvaluatorTest {
+
+    @AfterEach
+    void tearDown() {
+        Board.setHashDebug(false);
+    }
+
+    @Test
+    void testStartPositionIsBalanced() {
+        Board board = Board.fromFen(PerftSuite.find("startpos").fen());
+        assertEquals(0, Evaluator.evaluate(board));
+        assertEquals(PieceSquareTables.MAX_PHASE, board.getGamePhase());
+    }
+
+    @Test
+    void testIncrementalMatchesFullThroughMakeUnmake() {
+        // In debug mode every makeMove/unmakeMove and evaluate() compares against the full computation
+        Board.setHashDebug(true);
+        for (PerftSuite.Position position : PerftSuite.positions()) {
+            Board board = Board.fromFen(position.fen());
+            int before = Evaluator.evaluate(board);
+            walk(board, 3, new MoveList[]{new MoveList(), new MoveList(), new MoveList()});
+            assertEquals(before, Evaluator.evaluate(board), position.name());
+        }
+    }
+
+    private static void walk(Board board, int depth, MoveList[] lists) {
+        MoveList moves = lists[depth - 1];
+        moves.clear();
+        MoveGenerator.generateLegalMoves(board, board.isWhiteToMove(), moves);
+        UndoInfo undo = new UndoInfo();
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i), undo);
+            Evaluator.evaluate(board);
+            if (depth > 1) {
+                walk(board, depth - 1, lists);
+            }
+            board.unmakeMove(undo);
+        }
+    }
+
+    @Test
+    void testCopyKeepsScores() {
+        Board board = Board.fromFen(PerftSuite.find("kiwipete").fen());
+        Board copy = new Board(board);
+        assertEquals(board.getMidgameScore(), copy.getMidgameScore());
+        assertEquals(board.getEndgameScore(), copy.getEndgameScore());
+        assertEquals(board.getGamePhase(), copy.getGamePhase());
+        assertEquals(Evaluator.evaluateFull(board), Evaluator.evaluateFull(copy));
+    }
+
+    @Test
+    void testEndgameRewardsCentralKing() {
+        Board central = Board.fromFen("8/8/8/3k4/8/8/4P3/4K3 w - - 0 1");
+        Board corner = Board.fromFen("k7/8/8/8/8/8/4P3/4K3 w - - 0 1");
+        assertEquals(0, central.getGamePhase());
+        // White is better when the black king is stuck in the corner
+        assertTrue(Evaluator.evaluate(corner) > Evaluator.evaluate(central));
+    }
+
+    @Test
+    void testScoreIsFromSideToMove() {
+        Board white = Board.fromFen("4k3/8/8/8/8/8/8/3QK3 w - - 0 1");
+        Board black = Board.fromFen("4k3/8/8/8/8/8/8/3QK3 b - - 0 1");
+        assertTrue(Evaluator.evaluate(white) > 800);
+        assertEquals(-Evaluator.evaluate(white), Evaluator.evaluate(black));
+    }
+}
@@ -0,0 +1,77 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Square;
+import pt.isec.pa.chess.model.data.memento.ChessGameCaretaker;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KingSquareTest {
+    ChessGame game;
+
+    @BeforeEach
+    void setUp() {
+        game = new ChessGame();
+        game.startGame("White", "Black");
+    }
+
+    @Test
+    void testInitialKingSquares() {
+        assertSame(Square.of(4, 7), game.getBoard().getKingSquare(true));   // e1
+        assertSame(Square.of(4, 0), game.getBoard().getKingSquare(false));  // e8
+    }
+
+    @Test
+    void testKingSquareAfterCastling() {
+        assertTrue(game.move(Square.of(6, 7), Square.of(5, 5))); // Ng1-f3
+        assertTrue(game.move(Square.of(0, 1), Square.of(0, 2))); // a7-a6
+        assertTrue(game.move(Square.of(4, 6), Square.of(4, 5))); // e2-e3
+        assertTrue(game.move(Square.of(0, 2), Square.of(0, 3))); // a6-a5
+        assertTrue(game.move(Square.of(5, 7), Square.of(4, 6))); // Bf1-e2
+        assertTrue(game.move(Square.of(0, 3), Square.of(0, 4))); // a5-a4
+        assertTrue(game.move(Square.of(4, 7), Square.of(6, 7))); // O-O
+
+        assertSame(Square.of(6, 7), game.getBoard().getKingSquare(true));
+        assertSame(Square.of(4, 0), game.getBoard().getKingSquare(false));
+        assertNotNull(game.getPieceAt(5, 7)); // rook on f1
+    }
+
+    @Test
+    void testKingSquareAfterImport() {
+        game.importGame("BLACK,Kg1*,Rf1*,kb8*,pa7");
+        assertSame(Square.of(6, 7), game.getBoard().getKingSquare(true));
+        assertSame(Square.of(1, 0), game.getBoard().getKingSquare(false));
+
+        game.importGame("WHITE,Ka1*");
+        assertSame(Square.of(0, 7), game.getBoard().getKingSquare(true));
+        assertNull(game.getBoard().getKingSquare(false));
+        assertFalse(game.isPlayerInCheck(false));
+    }
+
+    @Test
+    void testKingSquareAfterUndoAndRedo() {
+        ChessGameCaretaker caretaker = new ChessGameCaretaker(game);
+        caretaker.save();
+        assertTrue(game.move(Square.of(4, 6), Square.of(4, 4))); // e2-e4
+        caretaker.save();
+        assertTrue(game.move(Square.of(4, 1), Square.of(4, 3))); // e7-e5
+        caretaker.save();
+        assertTrue(game.move(Square.of(4, 7), Square.of(4, 6))); // Ke1-e2
+        assertSame(Square.of(4, 6), game.getBoard().getKingSquare(true));
+
+        caretaker.undo();
+        assertSame(Square.of(4, 7), game.getBoard().getKingSquare(true));
+        caretaker.redo();
+        assertSame(Square.of(4, 6), game.getBoard().getKingSquare(true));
+        assertSame(Square.of(4, 0), game.getBoard().getKingSquare(false));
+    }
+
+    @Test
+    void testKingSquareDuringLegalityChecks() {
+        // Probing king moves while looking for legal moves must leave the tracked square intact
+        game.importGame("WHITE,Ke1*,Ra1*,ke8*,ra8*");
+        game.getGameResult();
+        assertSame(Square.of(4, 7), game.getBoard().getKingSquare(true));
+        assertSame(Square.of(4, 0), game.getBoard().getKingSquare(false));
+    }
+}
@@ -0,0 +1,185 @@
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Moves;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+import pt.isec.pa.chess.model.engine.LazySmpSearch;
+import pt.isec.pa.chess.model.engine.Move;
+import pt.isec.pa.chess.model.engine.Ponder;
+import pt.isec.pa.chess.model.engine.SearchEngine;
+import pt.isec.pa.chess.model.engine.SearchLimits;
+import pt.isec.pa.chess.model.engine.SearchRequest;
+import pt.isec.pa.chess.model.engine.TranspositionTable;
+import pt.isec.pa.chess.model.perft.PerftSuite;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazySmpSearchTest {
+
+    @Test
+    void testTableEntryRoundTrip() {
+        TranspositionTable table = new TranspositionTable(1);
+        int move = Moves.encode(12, 4, PieceType.QUEEN, Moves.CAPTURE);
+        int[] scores = {0, 35, -35, SearchEngine.MATE - 3, -SearchEngine.MATE + 7};
+        for (int i = 0; i < scores.length; i++) {
+            long key = 0x9E3779B97F4A7C15L * (i + 1);
+            table.store(key, move, scores[i], 12, TranspositionTable.LOWER);
+            long entry = table.probe(key);
+            assertEquals(move, TranspositionTable.move(entry));
+            assertEquals(scores[i], TranspositionTable.score(entry));
+            assertEquals(12, TranspositionTable.depth(entry));
+            assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(entry));
+        }
+        assertEquals(0, table.probe(0x1234L));
+    }
+
+    @Test
+    void testFindsMateWithSeveralThreads() {
+        ChessGame game = new ChessGame();
+        game.importFen("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        try (LazySmpSearch search = new LazySmpSearch(4)) {
+            assertEquals("a1a8", search.findBestMove(game, SearchLimits.depth(4)).toString());
+            assertTrue(search.getLastInfo().isMate());
+        }
+    }
+
+    @Test
+    void testAllThreadsSearchAndResultIsLegal() {
+        ChessGame game = new ChessGame();
+        game.importFen(PerftSuite.find("kiwipete").fen());
+        String before = game.exportGame();
+        try (LazySmpSearch search = new LazySmpSearch(3, 4)) {
+            Move best = search.findBestMove(game, SearchLimits.depth(4));
+            assertEquals(before, game.exportGame());
+
+            long[] nodes = search.getThreadNodes();
+            assertEquals(3, nodes.length);
+            assertTrue(nodes[0] > 0);
+            assertEquals(nodes[0] + nodes[1] + nodes[2], search.getLastInfo().nodes());
+            assertEquals(4, search.getLastInfo().depth());
+            assertTrue(game.move(best.from(), best.to(), best.promotion()));
+        }
+    }
+
+    @Test
+    void testSearchCanBeRepeated() {
+        ChessGame game = new ChessGame();
+        game.startGame("White", "Black");
+        try (LazySmpSearch search = new LazySmpSearch(2, 1)) {
+            for (int i = 0; i < 5; i++) {
+                assertNotNull(search.findBestMove(game, SearchLimits.depth(1 + i % 3)));
+            }
+            assertNotNull(search.findBestMove(game, SearchLimits.time(50)));
+        }
+    }
+
+    // Runs a ponder search on another thread, returning its move once it ends
+    private static CompletableFuture<Move> ponderAsync(LazySmpSearch search, Board position, Ponder request) {
+        return CompletableFuture.supplyAsync(() -> search.ponder(position, request));
+    }
+
+    @Test
+    void testPonderHitContinuesWithNormalLimits() throws Exception {
+        ChessGame game = new ChessGame();
+        game.importFen(PerftSuite.find("kiwipete").fen());
+        try (LazySmpSearch search = new LazySmpSearch(2, 4)) {
+            AtomicInteger depth = new AtomicInteger();
+            search.setInfoListener(info -> depth.set(info.depth()));
+            Ponder request = new Ponder(SearchLimits.time(200));
+            CompletableFuture<Move> result = ponderAsync(search, game.getBoard(), request);
+            Thread.sleep(300);
+            assertFalse(result.isDone()); // no limits while pondering
+            int depthBeforeHit = depth.get();
+            assertTrue(depthBeforeHit > 0);
+
+            long hit = System.nanoTime();
+            request.hit();
+            Move best = result.get(5, TimeUnit.SECONDS);
+            long afterHit = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - hit);
+            assertTrue(afterHit <= 200 + 100, "took " + afterHit + " ms after the hit");
+            // The search did not restart at the hit: it kept the depth reached while pondering
+            assertTrue(search.getLastInfo().depth() >= depthBeforeHit);
+            assertTrue(search.getLastInfo().nanos() >= TimeUnit.MILLISECONDS.toNanos(100));
+            assertTrue(game.move(best.from(), best.to(), best.promotion()));
+        }
+    }
+
+    @Test
+    void testPonderMissAbortsTheSearch() throws Exception {
+        ChessGame game = new ChessGame();
+        game.importFen(PerftSuite.find("kiwipete").fen());
+        try (LazySmpSearch search = new LazySmpSearch(2, 4)) {
+            Ponder request = new Ponder(SearchLimits.time(10_000));
+            CompletableFuture<Move> result = ponderAsync(search, game.getBoard(), request);
+            Thread.sleep(100);
+            long cancel = System.nanoTime();
+            request.cancel();
+            result.get(5, TimeUnit.SECONDS);
+            assertTrue(System.nanoTime() - cancel < TimeUnit.MILLISECONDS.toNanos(100));
+
+            // The engine is usable right after
+            assertNotNull(search.findBestMove(game, SearchLimits.depth(2)));
+        }
+    }
+
+    @Test
+    void testCancelledSearchRequestEndsTheSearch() throws Exception {
+        ChessGame game = new ChessGame();
+        game.importFen(PerftSuite.find("kiwipete").fen());
+        try (LazySmpSearch search = new LazySmpSearch(2, 4)) {
+            // Cancelled while waiting to start: a stop() at that point would be cleared by the search
+            SearchRequest queued = new SearchRequest();
+            queued.cancel();
+            assertTimeoutPreemptively(Duration.ofMillis(500),
+                    () -> assertNull(search.findBestMove(game.getBoard(), SearchLimits.time(10_000), queued)));
+
+            SearchRequest running = new SearchRequest();
+            CompletableFuture<Move> result = CompletableFuture.supplyAsync(
+                    () -> search.findBestMove(game.getBoard(), SearchLimits.time(10_000), running));
+            Thread.sleep(100);
+            long cancel = System.nanoTime();
+            running.cancel();
+            result.get(5, TimeUnit.SECONDS);
+            assertTrue(System.nanoTime() - cancel < TimeUnit.MILLISECONDS.toNanos(100));
+        }
+    }
+
+    @Test
+    void testRequestsBeforeTheSearchStartsAreKept() throws Exception {
+        ChessGame game = new ChessGame();
+        game.startGame("White", "Black");
+        try (LazySmpSearch search = new LazySmpSearch(1, 1)) {
+            Ponder cancelled = new Ponder(SearchLimits.time(10_000));
+            cancelled.cancel();
+            search.stop(); // cleared when the search starts, unlike the cancellation
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () -> search.ponder(game.getBoard(), cancelled));
+
+            Ponder hit = new Ponder(SearchLimits.time(100));
+            hit.hit();
+            assertTimeoutPreemptively(Duration.ofSeconds(2),
+                    () -> assertNotNull(search.ponder(game.getBoard(), hit)));
+        }
+    }
+
+    @Test
+    void testExpectedMoveComesFromTheTable() {
+        ChessGame game = new ChessGame();
+        game.startGame("White", "Black");
+        try (LazySmpSearch search = new LazySmpSearch(1, 4)) {
+            Move best = search.findBestMove(game, SearchLimits.depth(5));
+            assertTrue(game.move(best.from(), best.to(), best.promotion()));
+            Move reply = search.expectedMove(game.getBoard());
+            assertNotNull(reply);
+            assertTrue(game.move(reply.from(), reply.to(), reply.promotion()));
+
+            ChessGame other = new ChessGame();
+            other.importFen("4k3/8/8/8/8/8/8/4K2R w K - 0 1"); // never searched
+            assertNull(search.expectedMove(other.getBoard()));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.MoveGenerator;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Moves;
+import pt.isec.pa.chess.model.data.Square;
+import pt.isec.pa.chess.model.data.UndoInfo;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MakeUnmakeTest {
+    private static final String MIDDLEGAME =
+        "WHITE,ra8*,ke8,rh8,pa7,pc7*,pd7,qe7*,pf7,bg7*,ba6*,ne6*,pg6*,pb4*,nf6*,pe4*,ph3*,"
+            + "Pd5*,Pe5*,Nc3*,Qf3*,Pg2,Pa2,Pb2,Pc2,Bd2*,Be2*,Pf2,Ph2,Ra1,Ke1,Rh1";
+    // Castling both ways, promotion with capture on b8/a8, and (after e2-e4) dxe3 en passant
+    private static final String SPECIAL_MOVES = "WHITE,Ke1,Ra1,Rh1,Pb7*,Pe2,ke8,ra8,rh8,nc8*,pd4*";
+
+    ChessGame game;
+
+    @BeforeEach
+    void setUp() {
+        Board.setHashDebug(true);
+        game = new ChessGame();
+        game.startGame("White", "Black");
+    }
+
+    @AfterEach
+    void tearDown() {
+        Board.setHashDebug(false);
+    }
+
+    @Test
+    void testMakeUnmakeRestoresStartPosition() {
+        assertMakeUnmakeRestores(3);
+    }
+
+    @Test
+    void testMakeUnmakeRestoresMiddlegame() {
+        game.importGame(MIDDLEGAME);
+        assertMakeUnmakeRestores(2);
+    }
+
+    @Test
+    void testMakeUnmakeRestoresSpecialMoves() {
+        game.importGame(SPECIAL_MOVES);
+        assertMakeUnmakeRestores(3);
+        assertTrue(game.move(Square.of(4, 6), Square.of(4, 4))); // e2-e4, black may take en passant
+        assertMakeUnmakeRestores(3);
+    }
+
+    @Test
+    void testSpecialMovesAreApplied() {
+        game.importGame(SPECIAL_MOVES);
+        UndoInfo castle = game.makeMove(Moves.encode(Square.of(4, 7).index(), Square.of(2, 7).index(), Moves.CASTLING));
+        assertEquals("Rook", game.getPieceAt(3, 7).getClass().getSimpleName());
+        assertNull(game.getPieceAt(0, 7));
+        assertFalse(game.getCurrentPlayer().isWhite());
+        game.unmakeMove(castle);
+        assertFalse(game.getPieceAt(0, 7).hasMoved());
+        assertFalse(game.getPieceAt(4, 7).hasMoved());
+
+        int promotion = Moves.encode(Square.of(1, 1).index(), Square.of(0, 0).index(), PieceType.KNIGHT, Moves.CAPTURE);
+        UndoInfo undo = game.makeMove(promotion);
+        assertEquals(PieceType.KNIGHT, game.getPieceAt(0, 0).getType());
+        assertEquals(PieceType.ROOK, undo.getCapturedPiece().getType());
+        game.unmakeMove(undo);
+        assertEquals(PieceType.PAWN, game.getPieceAt(1, 1).getType());
+        assertEquals(PieceType.ROOK, game.getPieceAt(0, 0).getType());
+        assertFalse(game.getPieceAt(0, 0).isWhite());
+    }
+
+    @Test
+    void testSecondPromotionGetsItsOwnPiece() {
+        game.importFen("4k3/PP6/8/8/8/8/8/4K3 w - - 0 1");
+        assertTrue(game.move(Square.of(0, 1), Square.of(0, 0), PieceType.QUEEN)); // a7-a8=Q
+        assertTrue(game.move(Square.of(4, 0), Square.of(4, 1))); // Ke8-e7
+        assertTrue(game.move(Square.of(1, 1), Square.of(1, 0), PieceType.QUEEN)); // b7-b8=Q
+
+        assertNotSame(game.getPieceAt(0, 0), game.getPieceAt(1, 0));
+        assertEquals(Square.of(0, 0), game.getPieceAt(0, 0).getPosition());
+        assertEquals(Square.of(1, 0), game.getPieceAt(1, 0).getPosition());
+
+        // Same directly on the board, with a record that is reused without being unmade
+        UndoInfo undo = new UndoInfo();
+        ChessGame other = new ChessGame();
+        other.importFen("4k3/PP6/8/8/8/8/8/4K3 w - - 0 1");
+        Board twice = other.getBoard();
+        twice.makeMove(Moves.encode(Square.of(0, 1).index(), Square.of(0, 0).index(), PieceType.QUEEN, 0), undo);
+        twice.makeMove(Moves.encode(Square.of(4, 0).index(), Square.of(4, 1).index(), 0), new UndoInfo());
+        twice.makeMove(Moves.encode(Square.of(1, 1).index(), Square.of(1, 0).index(), PieceType.QUEEN, 0), undo);
+        assertNotSame(twice.getPieceAt(0, 0), twice.getPieceAt(1, 0));
+        assertEquals(Square.of(0, 0), twice.getPieceAt(0, 0).getPosition());
+    }
+
+    @Test
+    void testUnmakeOutOfOrderIsRejected() {
+        UndoInfo first = game.makeMove(Moves.encode(Square.of(4, 6).index(), Square.of(4, 4).index(), Moves.DOUBLE_PUSH));
+        game.makeMove(Moves.encode(Square.of(4, 1).index(), Square.of(4, 3).index(), Moves.DOUBLE_PUSH));
+        assertThrows(IllegalStateException.class, () -> game.unmakeMove(first));
+    }
+
+    @Test
+    void testMakeUnmakeDoesNotAllocate() {
+        game.importGame(MIDDLEGAME);
+        MoveList[] lists = {new MoveList(), new MoveList()};
+        for (int i = 0; i < 200; i++) {
+            walk(2, lists);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        long nodes = 0;
+        for (int i = 0; i < 200; i++) {
+            nodes += walk(2, lists);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertTrue(nodes > 0);
+        assertTrue(allocated < 16 * 1024, "allocated " + allocated + " bytes for " + nodes + " moves");
+    }
+
+    private long walk(int depth, MoveList[] lists) {
+        MoveList moves = lists[depth - 1];
+        moves.clear();
+        MoveGenerator.generateLegalMoves(game.getBoard(), game.getBoard().isWhiteToMove(), moves);
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            UndoInfo undo = game.makeMove(moves.get(i));
+            nodes += depth > 1 ? walk(depth - 1, lists) : 1;
+            game.unmakeMove(undo);
+        }
+        return nodes;
+    }
+
+    /**
+     * Applies and undoes every legal sequence up to the given depth, checking after each
+     * unmake that the position (pieces, moved flags, last move, hash, attack maps) is intact.
+     */
+    private void assertMakeUnmakeRestores(int depth) {
+        if (depth == 0) {
+            return;
+        }
+        String before = snapshot();
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(game.getBoard(), game.getBoard().isWhiteToMove(), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            UndoInfo undo = game.makeMove(move);
+            assertEquals(game.getBoard().computeZobristKey(), game.getBoard().getZobristKey(), Moves.toString(move));
+            assertMakeUnmakeRestores(depth - 1);
+            game.unmakeMove(undo);
+            assertEquals(before, snapshot(), "after unmaking " + Moves.toString(move));
+        }
+    }
+
+    private String snapshot() {
+        Board board = game.getBoard();
+        return game.exportGame()
+                + "|" + board.getLastMoveFrom() + board.getLastMoveTo() + board.getLastMovedPiece()
+                + "|" + board.getZobristKey()
+                + "|" + board.attackedBy(true) + "," + board.attackedBy(false)
+                + "|" + board.getKingIndex(true) + "," + board.getKingIndex(false);
+    }
+}
@@ -0,0 +1,108 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.Bitboards;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.GameResult;
+import pt.isec.pa.chess.model.data.MoveGenerator;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Moves;
+import pt.isec.pa.chess.model.data.Square;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveGeneratorTest {
+    ChessGame game;
+    MoveList moves;
+
+    @BeforeEach
+    void setUp() {
+        game = new ChessGame();
+        game.startGame("White", "Black");
+        moves = new MoveList();
+    }
+
+    @Test
+    void testInitialPosition() {
+        MoveGenerator.generateLegalMoves(game.getBoard(), true, moves);
+        assertEquals(20, moves.size());
+    }
+
+    @Test
+    void testDoubleCheckOnlyKingMoves() {
+        // Black king e8 checked by the rook on e1 and the knight on d6
+        game.importGame("BLACK,Ka1*,Re1*,Nd6*,ke8*,qd8*,rh8*");
+        MoveGenerator.generateLegalMoves(game.getBoard(), false, moves);
+        assertFalse(moves.isEmpty());
+        for (int i = 0; i < moves.size(); i++) {
+            assertEquals(Bitboards.index(4, 0), Moves.from(moves.get(i)), Moves.toString(moves.get(i)));
+        }
+    }
+
+    @Test
+    void testPinnedPieceMovesAlongPin() {
+        // White rook e2 pinned by the black rook e8: only moves on the e-file
+        game.importGame("WHITE,Ke1*,Re2*,ka8*,re8*");
+        MoveGenerator.generateLegalMoves(game.getBoard(), Bitboards.index(4, 6), moves);
+        assertEquals(6, moves.size()); // e3..e7 and Rxe8
+        for (int i = 0; i < moves.size(); i++) {
+            assertEquals(4, Bitboards.column(Moves.to(moves.get(i))));
+        }
+    }
+
+    @Test
+    void testEnPassantDiscoveredCheckIsIllegal() {
+        // White king a5 and pawn b5; black pawn c7-c5 and rook h5 on the same rank
+        game.importGame("BLACK,Ka5*,Pb5*,pc7,rh5*,ke8*");
+        assertTrue(game.move(Square.of(2, 1), Square.of(2, 3))); // c7-c5
+        MoveGenerator.generateLegalMoves(game.getBoard(), Bitboards.index(1, 3), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            assertFalse(Moves.isEnPassant(moves.get(i)), "bxc6 e.p. exposes the king");
+        }
+        assertFalse(game.move(Square.of(1, 3), Square.of(2, 2)));
+    }
+
+    @Test
+    void testEnPassantCapturesChecker() {
+        // Black d7-d5 gives check to the king on e4; exd6 e.p. removes the checker
+        game.importGame("BLACK,Ke4*,Pe5*,pd7,ke8*");
+        assertTrue(game.move(Square.of(3, 1), Square.of(3, 3))); // d7-d5+
+        assertTrue(game.isPlayerInCheck(true));
+        assertTrue(game.move(Square.of(4, 3), Square.of(3, 2))); // exd6 e.p.
+        assertNull(game.getPieceAt(3, 3));
+    }
+
+    @Test
+    void testCannotCastleThroughCheck() {
+        // Black rook on f8 covers f1
+        game.importGame("WHITE,Ke1,Rh1,Ra1,rf8*,ke8*");
+        MoveGenerator.generateLegalMoves(game.getBoard(), Bitboards.index(4, 7), moves);
+        boolean kingside = false;
+        boolean queenside = false;
+        for (int i = 0; i < moves.size(); i++) {
+            if (Moves.isCastling(moves.get(i))) {
+                kingside |= Moves.to(moves.get(i)) == Bitboards.index(6, 7);
+                queenside |= Moves.to(moves.get(i)) == Bitboards.index(2, 7);
+            }
+        }
+        assertFalse(kingside);
+        assertTrue(queenside);
+    }
+
+    @Test
+    void testKingCannotRetreatAlongCheckingRay() {
+        game.importGame("WHITE,Ke2*,re8*,ka8*");
+        assertFalse(game.move(Square.of(4, 6), Square.of(4, 7))); // Ke1 stays on the e-file
+        assertTrue(game.move(Square.of(4, 6), Square.of(3, 7)));  // Kd1
+    }
+
+    @Test
+    void testCheckmateDetected() {
+        // Fool's mate
+        game.move(Square.of(5, 6), Square.of(5, 5)); // f3
+        game.move(Square.of(4, 1), Square.of(4, 3)); // e5
+        game.move(Square.of(6, 6), Square.of(6, 4)); // g4
+        game.move(Square.of(3, 0), Square.of(7, 4)); // Qh4#
+        assertEquals(GameResult.BLACK_WINS, game.getGameResult());
+        assertTrue(game.isGameOver());
+    }
+}
@@ -0,0 +1,101 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.Bitboards;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.GameResult;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Moves;
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveListTest {
+    private static final String MIDDLEGAME =
+        "WHITE,ra8*,ke8,rh8,pa7,pc7*,pd7,qe7*,pf7,bg7*,ba6*,ne6*,pg6*,pb4*,nf6*,pe4*,ph3*,"
+            + "Pd5*,Pe5*,Nc3*,Qf3*,Pg2,Pa2,Pb2,Pc2,Bd2*,Be2*,Pf2,Ph2,Ra1,Ke1,Rh1";
+
+    ChessGame game;
+
+    @BeforeEach
+    void setUp() {
+        game = new ChessGame();
+        game.startGame("White", "Black");
+    }
+
+    @Test
+    void testInitialPositionMoveCount() {
+        MoveList moves = new MoveList();
+        generateAll(game.getBoard(), true, moves);
+        assertEquals(20, moves.size());
+    }
+
+    @Test
+    void testMoveEncoding() {
+        int move = Moves.encode(Bitboards.index(4, 1), Bitboards.index(3, 0), PieceType.KNIGHT, Moves.CAPTURE);
+        assertEquals(Bitboards.index(4, 1), Moves.from(move));
+        assertEquals(Bitboards.index(3, 0), Moves.to(move));
+        assertEquals(PieceType.KNIGHT, Moves.promotion(move));
+        assertTrue(Moves.isCapture(move));
+        assertFalse(Moves.isEnPassant(move));
+        assertEquals("e7d8n", Moves.toString(move));
+    }
+
+    @Test
+    void testPromotionGeneratesFourMoves() {
+        game.importGame("WHITE,Ke1*,Pa7*,kh8*");
+        MoveList moves = new MoveList();
+        game.getPieceAt(0, 1).generateMoves(game.getBoard(), moves);
+        assertEquals(4, moves.size());
+        assertEquals(1, game.getPieceAt(0, 1).getMoves(game.getBoard()).size());
+    }
+
+    @Test
+    void testMoveGenerationDoesNotAllocate() {
+        game.importGame(MIDDLEGAME);
+        Board board = game.getBoard();
+        MoveList moves = new MoveList();
+
+        // Warm up (class loading, lazily created buffers)
+        for (int i = 0; i < 10_000; i++) {
+            runHotPath(board, moves);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        long generated = 0;
+        for (int i = 0; i < 10_000; i++) {
+            generated += runHotPath(board, moves);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        // A single Square or ArrayList per move would cost at least 16 bytes per move; allow only
+        // a constant amount of noise (JIT deoptimisation, safepoint bookkeeping)
+        assertTrue(generated > 0);
+        assertTrue(allocated < 16 * 1024, "allocated " + allocated + " bytes for " + generated + " moves");
+    }
+
+    private int runHotPath(Board board, MoveList moves) {
+        moves.clear();
+        generateAll(board, true, moves);
+        generateAll(board, false, moves);
+        assertEquals(GameResult.IN_PROGRESS, game.getGameResult());
+        game.isPlayerInCheck(true);
+        return moves.size();
+    }
+
+    private static void generateAll(Board board, boolean isWhite, MoveList moves) {
+        long pieces = board.occupied(isWhite);
+        while (pieces != 0) {
+            int square = Bitboards.first(pieces);
+            Piece piece = board.getPieceAt(Bitboards.column(square), Bitboards.row(square));
+            piece.generateMoves(board, moves);
+            pieces &= pieces - 1;
+        }
+    }
+}
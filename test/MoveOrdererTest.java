@@ -0,0 +1,79 @@
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.MoveGenerator;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Moves;
+import pt.isec.pa.chess.model.engine.MoveOrderer;
+import pt.isec.pa.chess.model.engine.SearchEngine;
+import pt.isec.pa.chess.model.engine.SearchLimits;
+import pt.isec.pa.chess.model.engine.TranspositionTable;
+import pt.isec.pa.chess.model.perft.PerftSuite;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveOrdererTest {
+    // White can take the queen on d5 with the pawn or the queen, the knight on f5 with the pawn
+    // and the pawn on a6 with the rook
+    private static final String CAPTURES = "4k3/8/p7/3q1n2/4P3/8/3Q4/R3K3 w - - 0 1";
+
+    private List<String> ordered(ChessGame game, MoveOrderer orderer, int hashMove) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(game.getBoard(), true, moves);
+        orderer.score(game.getBoard(), moves, hashMove, 0);
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < moves.size(); i++) {
+            result.add(Moves.toString(orderer.pickNext(moves, i, 0)));
+        }
+        return result;
+    }
+
+    @Test
+    void testCapturesOrderedByMvvLva() {
+        ChessGame game = new ChessGame();
+        game.importFen(CAPTURES);
+        List<String> order = ordered(game, new MoveOrderer(8), Moves.NONE);
+
+        assertEquals(List.of("e4d5", "d2d5", "e4f5", "a1a6"), order.subList(0, 4));
+    }
+
+    @Test
+    void testHashMoveAndKillersComeFirst() {
+        ChessGame game = new ChessGame();
+        game.importFen(CAPTURES);
+        MoveOrderer orderer = new MoveOrderer(8);
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(game.getBoard(), true, moves);
+        int quiet = Moves.NONE;
+        int hash = Moves.NONE;
+        for (int i = 0; i < moves.size(); i++) {
+            String move = Moves.toString(moves.get(i));
+            if (move.equals("e1f1")) quiet = moves.get(i);
+            if (move.equals("a1b1")) hash = moves.get(i);
+        }
+        orderer.onCutoff(game.getBoard(), quiet, 0, 3);
+
+        List<String> order = ordered(game, orderer, hash);
+        assertEquals("a1b1", order.get(0));
+        assertEquals("e4d5", order.get(1));
+        assertEquals("e1f1", order.get(5), order.toString()); // killer right after the four captures
+    }
+
+    @Test
+    void testOrderingReducesSearchedNodes() {
+        ChessGame game = new ChessGame();
+        game.importFen(PerftSuite.find("kiwipete").fen());
+
+        SearchEngine unordered = new SearchEngine(new TranspositionTable(4));
+        unordered.setMoveOrdering(false);
+        unordered.findBestMove(game, SearchLimits.depth(3));
+        SearchEngine ordered = new SearchEngine(new TranspositionTable(4));
+        ordered.findBestMove(game, SearchLimits.depth(3));
+
+        assertTrue(ordered.getNodes() * 4 < unordered.getNodes(),
+                ordered.getNodes() + " vs " + unordered.getNodes());
+        assertTrue(ordered.getFirstMoveCutoffRate() > 0.8, "rate " + ordered.getFirstMoveCutoffRate());
+    }
+}
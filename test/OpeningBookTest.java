@@ -0,0 +1,163 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pt.isec.pa.chess.model.book.BookMove;
+import pt.isec.pa.chess.model.book.OpeningBook;
+import pt.isec.pa.chess.model.book.OpeningBookBuilder;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Moves;
+import pt.isec.pa.chess.model.data.Notation;
+import pt.isec.pa.chess.model.data.UndoInfo;
+import pt.isec.pa.chess.model.engine.Move;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OpeningBookTest {
+
+    private static final String PGN = """
+            [Event "Test"]
+            [White "A"]
+            [Black "B"]
+
+            1. e4 e5 2. Nf3 {main line} Nc6 3. Bb5 (3. Bc4 Bc5) a6 1-0
+
+            [Event "Test"]
+
+            1.e4 c5 2.Nf3 d6 3.d4 cxd4 4.Nxd4 Nf6 5.Nc3 a6 1/2-1/2
+
+            [Event "Test"]
+
+            1. d4 d5 2. c4 e6 3. Nc3 Nf6 4. Bg5 Be7 5. e3 O-O 0-1
+            """;
+
+    private static final String COORDINATES = """
+            e2e4 e7e5 g1f3 b8c6
+            d2d4 g8f6 c2c4 e7e6
+            """;
+
+    private static Path buildBook(Path dir, int maxPly) throws IOException {
+        Files.writeString(dir.resolve("games.pgn"), PGN);
+        Files.writeString(dir.resolve("more.txt"), COORDINATES);
+        Files.writeString(dir.resolve("ignored.csv"), "e2e4");
+        OpeningBookBuilder builder = new OpeningBookBuilder(maxPly);
+        assertEquals(5, builder.addDirectory(dir));
+        assertEquals(0, builder.getRejectedGames());
+        Path book = dir.resolve("book.bin");
+        builder.write(book);
+        return book;
+    }
+
+    private static Board play(String... moves) {
+        Board board = new Board();
+        MoveList scratch = new MoveList();
+        UndoInfo undo = new UndoInfo();
+        for (String text : moves) {
+            int move = Notation.parse(board, text, scratch);
+            assertNotEquals(Moves.NONE, move, text);
+            board.makeMove(move, undo);
+        }
+        return board;
+    }
+
+    @Test
+    void testStartPositionWeights(@TempDir Path dir) throws IOException {
+        try (OpeningBook book = OpeningBook.open(buildBook(dir, 24))) {
+            List<BookMove> moves = book.getMoves(new Board());
+            assertEquals(2, moves.size());
+            // e4 in three games, d4 in two, ordered by decreasing weight
+            assertEquals("e2e4", moves.get(0).move().toString());
+            assertEquals(3, moves.get(0).weight());
+            assertEquals("d2d4", moves.get(1).move().toString());
+            assertEquals(2, moves.get(1).weight());
+        }
+    }
+
+    @Test
+    void testTranspositionsAndVariations(@TempDir Path dir) throws IOException {
+        try (OpeningBook book = OpeningBook.open(buildBook(dir, 24))) {
+            // After 1.e4 e5 2.Nf3 Nc6 only the main line 3.Bb5 counts, not the variation 3.Bc4
+            List<BookMove> moves = book.getMoves(play("e4", "e5", "Nf3", "Nc6"));
+            assertEquals(1, moves.size());
+            assertEquals("f1b5", moves.get(0).move().toString());
+            // Castling keeps its flag when read back from the book
+            Board board = play("d4", "d5", "c4", "e6", "Nc3", "Nf6", "Bg5", "Be7", "e3");
+            assertEquals("e8g8", book.getMoves(board).get(0).move().toString());
+            assertTrue(book.getMoves(play("a3")).isEmpty());
+        }
+    }
+
+    @Test
+    void testMaxPly(@TempDir Path dir) throws IOException {
+        try (OpeningBook book = OpeningBook.open(buildBook(dir, 2))) {
+            assertEquals(2, book.getMaxPly());
+            assertFalse(book.getMoves(play("e4")).isEmpty());
+            assertTrue(book.getMoves(play("e4", "e5")).isEmpty());
+        }
+    }
+
+    @Test
+    void testPickMoveFollowsWeights(@TempDir Path dir) throws IOException {
+        try (OpeningBook book = OpeningBook.open(buildBook(dir, 24))) {
+            Random random = new Random(1);
+            int e4 = 0;
+            for (int i = 0; i < 1000; i++) {
+                Move move = book.pickMove(new Board(), random);
+                assertNotNull(move);
+                if (move.toString().equals("e2e4")) {
+                    e4++;
+                }
+            }
+            assertTrue(e4 > 520 && e4 < 680, "e4 picked " + e4 + " times");
+            assertNull(book.pickMove(play("h4"), random));
+        }
+    }
+
+    @Test
+    void testUnreadableGameKeepsEarlierMoves() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder();
+        assertEquals(1, builder.addGames(new StringReader("1. e4 e5 2. Ke3 Nc6 *"), false));
+        assertEquals(1, builder.getRejectedGames());
+        assertEquals(2, builder.getPositions());
+    }
+
+    @Test
+    void testCloseReleasesTheMapping(@TempDir Path dir) throws IOException {
+        OpeningBook book = OpeningBook.open(buildBook(dir, 24));
+        assertTrue(book.contains(new Board().getZobristKey()));
+        book.close();
+        book.close(); // no effect
+        assertThrows(IllegalStateException.class, () -> book.contains(new Board().getZobristKey()));
+    }
+
+    @Test
+    void testRejectsInvalidFile(@TempDir Path dir) throws IOException {
+        Path junk = dir.resolve("junk.bin");
+        Files.write(junk, new byte[40]);
+        assertThrows(IOException.class, () -> OpeningBook.open(junk));
+    }
+
+    @Test
+    void testSanParsing() {
+        ChessGame game = new ChessGame();
+        game.importFen("r3k2r/1P6/8/3pP3/8/2N1N3/8/R3K2R w KQkq d6 0 1");
+        Board board = game.getBoard();
+        MoveList scratch = new MoveList();
+        assertTrue(Moves.isEnPassant(Notation.parse(board, "exd6", scratch)));
+        assertTrue(Moves.isCastling(Notation.parse(board, "O-O-O", scratch)));
+        assertEquals("b7a8q", Moves.toString(Notation.parse(board, "bxa8=Q+", scratch)));
+        assertEquals("b7b8n", Moves.toString(Notation.parse(board, "b8N", scratch)));
+        // Both knights reach d1 and d5: the origin file is needed
+        assertEquals(Moves.NONE, Notation.parse(board, "Nd1", scratch));
+        assertEquals("c3d1", Moves.toString(Notation.parse(board, "Ncd1", scratch)));
+        assertEquals("e3d5", Moves.toString(Notation.parse(board, "Nexd5", scratch)));
+        assertEquals(Moves.NONE, Notation.parse(board, "Qd4", scratch));
+    }
+}
@@ -0,0 +1,125 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.MoveGenerator;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.UndoInfo;
+import pt.isec.pa.chess.model.engine.PawnHashTable;
+import pt.isec.pa.chess.model.engine.PawnStructure;
+import pt.isec.pa.chess.model.engine.SearchEngine;
+import pt.isec.pa.chess.model.engine.SearchLimits;
+import pt.isec.pa.chess.model.perft.PerftSuite;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PawnStructureTest {
+
+    @AfterEach
+    void tearDown() {
+        Board.setHashDebug(false);
+    }
+
+    private static int mg(String fen) {
+        return PawnStructure.midgame(PawnStructure.evaluate(Board.fromFen(fen)));
+    }
+
+    private static int eg(String fen) {
+        return PawnStructure.endgame(PawnStructure.evaluate(Board.fromFen(fen)));
+    }
+
+    @Test
+    void testStartPositionIsBalanced() {
+        assertEquals(0L, PawnStructure.evaluate(Board.fromFen(PerftSuite.find("startpos").fen())));
+        assertEquals(0, PawnStructure.kingShield(Board.fromFen(PerftSuite.find("startpos").fen())));
+    }
+
+    @Test
+    void testDoubledAndIsolated() {
+        // White: doubled, isolated c-pawns; black: healthy b/c pawns blocking them
+        String doubled = "4k3/1pp5/8/8/8/2P5/2P5/4K3 w - - 0 1";
+        String single = "4k3/1pp5/8/8/8/8/2P5/4K3 w - - 0 1";
+        assertTrue(eg(doubled) < 0);
+        assertTrue(mg("4k3/8/8/8/8/8/P1P5/4K3 w - - 0 1") < mg("4k3/8/8/8/8/8/PP6/4K3 w - - 0 1"));
+        // The extra pawn is penalised for being doubled and isolated
+        assertEquals(-20 - 15, eg(doubled) - eg(single));
+    }
+
+    @Test
+    void testPassedPawnGrowsWithRank() {
+        int far = eg("4k3/8/8/8/8/8/P7/4K3 w - - 0 1");
+        int near = eg("4k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+        assertTrue(near > far);
+        // A pawn on the adjacent file in front stops it from being passed: only the isolated pawns remain
+        assertEquals(0, eg("4k3/1p6/8/8/8/8/P7/4K3 w - - 0 1"));
+        assertEquals(10 - 15, far);
+    }
+
+    @Test
+    void testBackwardPawn() {
+        // d3 cannot be supported (c4 and e4 have advanced) and its stop square d4 is controlled from e5;
+        // with the black pawn on e6 instead, d4 is safe and nothing else changes
+        int backward = mg("4k3/8/8/4p3/2P1P3/3P4/8/4K3 w - - 0 1");
+        int safe = mg("4k3/8/4p3/8/2P1P3/3P4/8/4K3 w - - 0 1");
+        assertEquals(-8, backward - safe);
+    }
+
+    @Test
+    void testColourSymmetry() {
+        long white = PawnStructure.evaluate(Board.fromFen("4k3/8/8/8/2P1P3/3P4/P7/4K3 w - - 0 1"));
+        long black = PawnStructure.evaluate(Board.fromFen("4k3/p7/3p4/2p1p3/8/8/8/4K3 w - - 0 1"));
+        assertEquals(PawnStructure.midgame(white), -PawnStructure.midgame(black));
+        assertEquals(PawnStructure.endgame(white), -PawnStructure.endgame(black));
+    }
+
+    @Test
+    void testKingShield() {
+        int sheltered = PawnStructure.kingShield(Board.fromFen("4k3/8/8/8/8/8/5PPP/6K1 w - - 0 1"));
+        int exposed = PawnStructure.kingShield(Board.fromFen("4k3/8/8/8/8/8/PPP5/6K1 w - - 0 1"));
+        assertEquals(30, sheltered);
+        assertEquals(0, exposed);
+    }
+
+    @Test
+    void testPawnKeyFollowsMakeUnmake() {
+        // In debug mode every makeMove/unmakeMove recomputes the pawn key from scratch
+        Board.setHashDebug(true);
+        Board board = Board.fromFen(PerftSuite.find("kiwipete").fen());
+        long before = board.getPawnKey();
+        assertEquals(board.computePawnKey(), before);
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(board, board.isWhiteToMove(), moves);
+        UndoInfo undo = new UndoInfo();
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i), undo);
+            board.unmakeMove(undo);
+            assertEquals(before, board.getPawnKey());
+        }
+    }
+
+    @Test
+    void testPawnKeyIgnoresPieces() {
+        Board a = Board.fromFen("4k3/8/8/8/8/8/PPP5/4K3 w - - 0 1");
+        Board b = Board.fromFen("r3k3/8/8/8/8/2N5/PPP5/4K3 b - - 0 1");
+        assertEquals(a.getPawnKey(), b.getPawnKey());
+        assertNotEquals(a.getPawnKey(), Board.fromFen("4k3/8/8/8/8/P7/1PP5/4K3 w - - 0 1").getPawnKey());
+    }
+
+    @Test
+    void testTableMatchesDirectEvaluation() {
+        PawnHashTable table = new PawnHashTable(1);
+        Board board = Board.fromFen(PerftSuite.find("kiwipete").fen());
+        assertEquals(PawnStructure.evaluate(board), table.evaluate(board));
+        assertEquals(PawnStructure.evaluate(board), table.evaluate(board));
+        assertEquals(2, table.getProbes());
+        assertEquals(1, table.getHits());
+    }
+
+    @Test
+    void testSearchHitRate() {
+        SearchEngine engine = new SearchEngine();
+        engine.findBestMove(Board.fromFen(PerftSuite.find("kiwipete").fen()), SearchLimits.depth(4));
+        PawnHashTable table = engine.getPawnTable();
+        assertTrue(table.getProbes() > 1000);
+        assertTrue(table.getHitRate() > 0.8, table.toString());
+    }
+}
@@ -0,0 +1,57 @@
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.perft.ParallelPerft;
+import pt.isec.pa.chess.model.perft.Perft;
+import pt.isec.pa.chess.model.perft.PerftCache;
+import pt.isec.pa.chess.model.perft.PerftSuite;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerftCacheTest {
+
+    @Test
+    void testStoreAndProbe() {
+        PerftCache cache = new PerftCache(1);
+        assertEquals(1024 * 1024 / 16, cache.capacity());
+        cache.store(0x1234_5678_9ABCL, 4, 197_281);
+        assertEquals(197_281, cache.probe(0x1234_5678_9ABCL, 4));
+        assertEquals(-1, cache.probe(0x1234_5678_9ABCL, 3)); // other depth
+        assertEquals(-1, cache.probe(0x1234_5678_9ABDL, 4)); // other key
+        assertEquals(3, cache.getProbes());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void testDeeperEntryIsKept() {
+        PerftCache cache = new PerftCache(1);
+        long stride = cache.capacity() / 2; // number of buckets: these keys share one bucket
+        long deep = 7;
+        cache.store(deep, 5, 5_000);
+        cache.store(deep + stride, 2, 20);
+        cache.store(deep + 2 * stride, 3, 300); // replaces the always-replace slot only
+        assertEquals(5_000, cache.probe(deep, 5));
+        assertEquals(-1, cache.probe(deep + stride, 2));
+        assertEquals(300, cache.probe(deep + 2 * stride, 3));
+    }
+
+    @Test
+    void testCachedPerftMatchesReference() {
+        ChessGame game = new ChessGame();
+        game.importFen(PerftSuite.find("kiwipete").fen());
+        PerftCache cache = new PerftCache(4);
+        assertEquals(4_085_603, new Perft(game.getBoard(), cache).count(4));
+        assertTrue(cache.getHits() > 0);
+        // Second run is answered almost entirely from the table
+        assertEquals(4_085_603, new Perft(game.getBoard(), cache).count(4));
+    }
+
+    @Test
+    void testSharedCacheAcrossThreads() {
+        ChessGame game = new ChessGame();
+        game.importFen(PerftSuite.find("position5").fen());
+        try (ParallelPerft perft = new ParallelPerft(4, new PerftCache(2))) {
+            assertEquals(2_103_487, perft.run(game, 4).nodes());
+            assertTrue(perft.getCache().getHitRate() > 0);
+        }
+    }
+}
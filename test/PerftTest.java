@@ -0,0 +1,95 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Square;
+import pt.isec.pa.chess.model.perft.ParallelPerft;
+import pt.isec.pa.chess.model.perft.Perft;
+import pt.isec.pa.chess.model.perft.PerftResult;
+import pt.isec.pa.chess.model.perft.PerftSuite;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerftTest {
+    // Keep the unit test run short; deeper counts can be checked with PerftMain
+    private static final long NODE_BUDGET = 250_000;
+
+    static List<PerftSuite.Position> positions() {
+        return PerftSuite.positions();
+    }
+
+    @ParameterizedTest
+    @MethodSource("positions")
+    void testReferencePosition(PerftSuite.Position position) {
+        ChessGame game = new ChessGame();
+        game.importFen(position.fen());
+        Perft perft = new Perft(game);
+        for (int depth = 1; depth <= position.maxDepth() && position.expected(depth) <= NODE_BUDGET; depth++) {
+            PerftResult result = perft.run(depth);
+            assertEquals(position.expected(depth), result.nodes(), position.name() + " depth " + depth);
+        }
+    }
+
+    @Test
+    void testParallelPerftMatchesSequential() {
+        ChessGame game = new ChessGame();
+        game.importFen(PerftSuite.find("kiwipete").fen());
+        String before = game.exportGame();
+        try (ParallelPerft parallel = new ParallelPerft(4)) {
+            PerftResult result = parallel.run(game, 3);
+            assertEquals(97862, result.nodes());
+            assertEquals(new Perft(game).divide(3).divide(), result.divide());
+        }
+        assertEquals(before, game.exportGame());
+    }
+
+    @Test
+    void testDivideSumsToTotal() {
+        ChessGame game = new ChessGame();
+        game.importFen(PerftSuite.find("kiwipete").fen());
+        PerftResult result = new Perft(game).divide(2);
+        assertEquals(48, result.divide().size());
+        assertEquals(2039, result.nodes());
+        assertEquals(result.nodes(), result.divide().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(43L, result.divide().get("e1g1")); // kingside castling
+    }
+
+    @Test
+    void testPerftLeavesPositionUnchanged() {
+        ChessGame game = new ChessGame();
+        game.importFen(PerftSuite.find("position4").fen());
+        String before = game.exportGame();
+        long key = game.getBoard().getZobristKey();
+        new Perft(game).count(3);
+        assertEquals(before, game.exportGame());
+        assertEquals(key, game.getBoard().getZobristKey());
+    }
+
+    @Test
+    void testImportFen() {
+        ChessGame game = new ChessGame();
+        game.importFen("r3k2r/8/8/3pP3/8/8/8/R3K2R w Kq d6 0 1");
+        assertTrue(game.getCurrentPlayer().isWhite());
+        assertFalse(game.getPieceAt(4, 7).hasMoved()); // Ke1 may castle kingside
+        assertFalse(game.getPieceAt(7, 7).hasMoved());
+        assertTrue(game.getPieceAt(0, 7).hasMoved());
+        assertFalse(game.getPieceAt(0, 0).hasMoved());
+        assertTrue(game.getPieceAt(7, 0).hasMoved());
+        assertEquals(Square.of(3, 3), game.getBoard().getLastMoveTo());
+        assertTrue(game.move(Square.of(4, 3), Square.of(3, 2))); // exd6 e.p.
+        assertNull(game.getPieceAt(3, 3));
+
+        ChessGame start = new ChessGame();
+        start.importFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+        assertEquals(new ChessGame().getBoard().getZobristKey(), start.getBoard().getZobristKey());
+    }
+
+    @Test
+    void testInvalidFenIsRejected() {
+        ChessGame game = new ChessGame();
+        assertThrows(IllegalArgumentException.class, () -> game.importFen("8/8/8 w - -"));
+        assertThrows(IllegalArgumentException.class, () -> game.importFen("8/8/8/8/8/8/8/8 x - -"));
+    }
+}
@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.engine.Move;
+import pt.isec.pa.chess.model.engine.SearchEngine;
+import pt.isec.pa.chess.model.engine.SearchInfo;
+import pt.isec.pa.chess.model.engine.SearchLimits;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchEngineTest {
+    ChessGame game;
+    SearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        game = new ChessGame();
+        game.startGame("White", "Black");
+        engine = new SearchEngine();
+    }
+
+    @Test
+    void testFindsBackRankMate() {
+        game.importFen("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        Move best = engine.findBestMove(game, SearchLimits.depth(3));
+        assertEquals("a1a8", best.toString());
+        assertTrue(engine.getLastInfo().isMate());
+        assertEquals(1, engine.getLastInfo().mateIn());
+    }
+
+    @Test
+    void testFindsMateForBlack() {
+        game.importFen("r5k1/8/8/8/8/8/5PPP/6K1 b - - 0 1");
+        assertEquals("a8a1", engine.findBestMove(game, SearchLimits.depth(3)).toString());
+    }
+
+    @Test
+    void testCapturesHangingQueen() {
+        game.importFen("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1");
+        assertEquals("d2d5", engine.findBestMove(game, SearchLimits.depth(3)).toString());
+    }
+
+    @Test
+    void testSearchDoesNotModifyGameAndMoveIsLegal() {
+        String before = game.exportGame();
+        Move best = engine.findBestMove(game, SearchLimits.depth(3));
+        assertEquals(before, game.exportGame());
+        assertTrue(game.move(best.from(), best.to(), best.promotion()));
+    }
+
+    @Test
+    void testIterationsRespectDepthLimit() {
+        List<SearchInfo> iterations = new ArrayList<>();
+        engine.setInfoListener(iterations::add);
+        engine.findBestMove(game, SearchLimits.depth(4));
+
+        assertEquals(4, iterations.size());
+        for (int i = 0; i < iterations.size(); i++) {
+            assertEquals(i + 1, iterations.get(i).depth());
+        }
+        SearchInfo last = engine.getLastInfo();
+        assertEquals(4, last.depth());
+        assertTrue(last.nodes() > 0);
+        assertTrue(last.nodesPerSecond() > 0);
+    }
+
+    @Test
+    void testNodeLimitStopsSearch() {
+        Move best = engine.findBestMove(game, SearchLimits.nodes(10_000));
+        assertNotNull(best);
+        assertTrue(engine.getNodes() < 10_000 + 2048, "nodes: " + engine.getNodes());
+    }
+
+    @Test
+    void testNoMoveWhenCheckmated() {
+        game.importFen("R5k1/5ppp/8/8/8/8/8/6K1 b - - 0 1");
+        assertNull(engine.findBestMove(game, SearchLimits.depth(2)));
+    }
+}
@@ -0,0 +1,21 @@
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.Bitboards;
+import pt.isec.pa.chess.model.data.pieces.SliderAttacks;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SliderAttacksTest {
+
+    @Test
+    void testMagicMatchesRayWalk() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 20_000; i++) {
+            int square = random.nextInt(64);
+            long occupied = random.nextLong() & random.nextLong();
+            assertEquals(Bitboards.rookRayAttacks(square, occupied), SliderAttacks.rookAttacks(square, occupied));
+            assertEquals(Bitboards.bishopRayAttacks(square, occupied), SliderAttacks.bishopAttacks(square, occupied));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Square;
+import pt.isec.pa.chess.model.data.memento.Memento;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SquareTest {
+
+    @Test
+    void testCanonicalInstances() {
+        assertSame(Square.of(4, 6), Square.of(4, 6));
+        assertSame(Square.of(52), Square.of(4, 6));
+        assertEquals(52, Square.of(4, 6).index());
+        assertEquals(new Square(4, 6), Square.of(4, 6));
+        assertThrows(IllegalArgumentException.class, () -> Square.of(8, 0));
+    }
+
+    @Test
+    void testDeserializationResolvesCanonicalSquares() {
+        ChessGame game = new ChessGame();
+        game.startGame("White", "Black");
+        game.move(Square.of(4, 6), Square.of(4, 4));
+
+        ChessGame copy = (ChessGame) new Memento(game).getSnapshot();
+        assertSame(Square.of(4, 4), copy.getPieceAt(4, 4).getPosition());
+        assertSame(Square.of(4, 4), copy.getBoard().getLastMoveTo());
+    }
+}
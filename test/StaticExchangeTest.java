@@ -0,0 +1,74 @@
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Square;
+import pt.isec.pa.chess.model.engine.SearchEngine;
+import pt.isec.pa.chess.model.engine.SearchLimits;
+import pt.isec.pa.chess.model.perft.PerftSuite;
+import pt.isec.pa.chess.ui.Point;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StaticExchangeTest {
+
+    private static int see(String fen, String from, String to) {
+        return ChessGame.fromFen(fen).staticExchange(square(from), square(to));
+    }
+
+    private static Square square(String name) {
+        return Square.of(name.charAt(0) - 'a', '8' - name.charAt(1));
+    }
+
+    @Test
+    void testUndefendedPieceIsWon() {
+        assertEquals(100, see("4k3/8/8/3p4/8/8/8/3RK3 w - - 0 1", "d1", "d5"));
+    }
+
+    @Test
+    void testDefendedPawnLosesTheQueen() {
+        assertEquals(100 - 900, see("4k3/8/4p3/3p4/8/8/8/3QK3 w - - 0 1", "d1", "d5"));
+    }
+
+    @Test
+    void testPawnTakesDefendedKnight() {
+        assertEquals(320 - 100, see("4k3/8/4p3/3n4/4P3/8/8/4K3 w - - 0 1", "e4", "d5"));
+    }
+
+    @Test
+    void testXRayAttackerBehindRook() {
+        // Rxd5 Rxd5 Rxd5: the second white rook recaptures through the first one
+        assertEquals(100, see("3rk3/8/8/3p4/8/8/3R4/3RK3 w - - 0 1", "d2", "d5"));
+        // Without the second rook the exchange loses the rook for a pawn
+        assertEquals(100 - 500, see("3rk3/8/8/3p4/8/8/3R4/4K3 w - - 0 1", "d2", "d5"));
+    }
+
+    @Test
+    void testKingCannotRecaptureDefendedPiece() {
+        // Rxe2 is answered by Kxe2 unless the queen behind the rook defends e2
+        assertEquals(100 - 500, see("4r1k1/8/8/8/8/8/4P3/4K3 b - - 0 1", "e8", "e2"));
+        assertEquals(100, see("4q1k1/4r3/8/8/8/8/4P3/4K3 b - - 0 1", "e7", "e2"));
+    }
+
+    @Test
+    void testQuietAndIllegalMoves() {
+        assertEquals(0, see(PerftSuite.find("startpos").fen(), "e2", "e4"));
+        assertEquals(Integer.MIN_VALUE, see(PerftSuite.find("startpos").fen(), "e2", "e5"));
+    }
+
+    @Test
+    void testWinnablePieces() {
+        ChessGame game = new ChessGame();
+        // The pawn on d5 is defended (not winnable with the queen), the knight on g4 is hanging
+        game.importFen("4k3/8/4p3/3p4/6n1/8/8/3QK3 w - - 0 1");
+        assertEquals(List.of(new Point(6, 4)), game.getWinnablePieces());
+    }
+
+    @Test
+    void testQuiescenceAvoidsPoisonedPawn() {
+        ChessGame game = new ChessGame();
+        game.importFen("4k3/8/4p3/3p4/8/8/8/3QK3 w - - 0 1");
+        // At depth 1 a plain material count would grab the pawn and lose the queen
+        assertNotEquals("d1d5", new SearchEngine().findBestMove(game, SearchLimits.depth(1)).toString());
+    }
+}
@@ -0,0 +1,284 @@
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.GameResult;
+import pt.isec.pa.chess.model.data.MoveGenerator;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.UndoInfo;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+import pt.isec.pa.chess.model.engine.Move;
+import pt.isec.pa.chess.model.engine.SearchEngine;
+import pt.isec.pa.chess.model.engine.SearchLimits;
+import pt.isec.pa.chess.model.tablebase.Material;
+import pt.isec.pa.chess.model.tablebase.Tablebase;
+import pt.isec.pa.chess.model.tablebase.TablebaseResult;
+import pt.isec.pa.chess.model.tablebase.TablebaseResult.Outcome;
+import pt.isec.pa.chess.model.tablebase.Tablebases;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TablebaseTest {
+
+    @TempDir
+    static Path dir;
+    private static Tablebases tablebases;
+    private static final List<String> generated = new ArrayList<>();
+
+    @BeforeAll
+    static void generate() throws IOException {
+        tablebases = Tablebases.generate(List.of("KQK", "KRK", "KPK"), dir, generated::add);
+    }
+
+    @AfterAll
+    static void close() {
+        tablebases.close();
+    }
+
+    // Longest forced win (in plies) of a table
+    private static int longestWin(Tablebase table) {
+        int longest = 0;
+        for (int index = 0; index < table.getMaterial().size(); index++) {
+            int code = table.code(index);
+            if (code > 0 && ((code - 1) & 1) != 0) {
+                longest = Math.max(longest, code - 1);
+            }
+        }
+        return longest;
+    }
+
+    private static String toFen(Material material, int[] squares, boolean whiteToMove) {
+        char[] board = new char[64];
+        for (int i = 0; i < squares.length; i++) {
+            char letter = switch (material.type(i)) {
+                case KING -> 'K';
+                case QUEEN -> 'Q';
+                case ROOK -> 'R';
+                case BISHOP -> 'B';
+                case KNIGHT -> 'N';
+                case PAWN -> 'P';
+            };
+            board[squares[i]] = material.isWhite(i) ? letter : Character.toLowerCase(letter);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int row = 0; row < 8; row++) {
+            int empty = 0;
+            for (int col = 0; col < 8; col++) {
+                char c = board[row * 8 + col];
+                if (c == 0) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    sb.append(empty);
+                    empty = 0;
+                }
+                sb.append(c);
+            }
+            if (empty > 0) {
+                sb.append(empty);
+            }
+            if (row < 7) {
+                sb.append('/');
+            }
+        }
+        return sb + (whiteToMove ? " w" : " b") + " - - 0 1";
+    }
+
+    // Result of the position from the results of its children, one ply deep
+    private static TablebaseResult fromChildren(Board board) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(board, board.isWhiteToMove(), moves);
+        if (moves.isEmpty()) {
+            boolean inCheck = board.isSquareAttacked(board.getKingIndex(board.isWhiteToMove()), !board.isWhiteToMove());
+            return inCheck ? new TablebaseResult(Outcome.LOSS, 0) : TablebaseResult.DRAW;
+        }
+        UndoInfo undo = new UndoInfo();
+        int fastestWin = Integer.MAX_VALUE;
+        int slowestLoss = -1;
+        boolean draw = false;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i), undo);
+            TablebaseResult child = tablebases.probe(board);
+            board.unmakeMove(undo);
+            assertNotNull(child);
+            switch (child.outcome()) {
+                case LOSS -> fastestWin = Math.min(fastestWin, child.pliesToMate() + 1);
+                case DRAW -> draw = true;
+                case WIN -> slowestLoss = Math.max(slowestLoss, child.pliesToMate() + 1);
+            }
+        }
+        if (fastestWin != Integer.MAX_VALUE) {
+            return new TablebaseResult(Outcome.WIN, fastestWin);
+        }
+        return draw ? TablebaseResult.DRAW : new TablebaseResult(Outcome.LOSS, slowestLoss);
+    }
+
+    @Test
+    void testDependenciesAreGenerated() {
+        assertEquals(5, tablebases.size()); // KPK promotes into KQK, KRK, KBK and KNK
+        assertEquals(5, generated.size());
+        assertNotNull(tablebases.get("KBK"));
+        assertNotNull(tablebases.get("knk"));
+        assertEquals(35, Tablebases.standardNames().size());
+    }
+
+    @Test
+    void testMaterialIsCanonical() {
+        assertEquals("KRK", Material.parse("KKR").name());
+        assertEquals("KRKP", Material.parse("KPKR").name());
+        assertEquals("KQBK", Material.parse("kbqk").name());
+        assertThrows(IllegalArgumentException.class, () -> Material.parse("KQRKR"));
+        assertThrows(IllegalArgumentException.class, () -> Material.parse("QK"));
+    }
+
+    @Test
+    void testLongestMates() {
+        // Known values: KQK is mate in 10 and KRK mate in 16 from the worst position
+        assertEquals(19, longestWin(tablebases.get("KQK")));
+        assertEquals(31, longestWin(tablebases.get("KRK")));
+        assertEquals(0, longestWin(tablebases.get("KBK")));
+        assertEquals(0, longestWin(tablebases.get("KNK")));
+    }
+
+    @Test
+    void testProbeFromBoard() {
+        // Rook pawn with the defending king in front of it
+        assertEquals(Outcome.DRAW, tablebases.probe(Board.fromFen("7k/8/8/8/8/8/7P/7K w - - 0 1")).outcome());
+        // King on the sixth rank in front of its pawn wins with either side to move
+        assertEquals(Outcome.WIN, tablebases.probe(Board.fromFen("4k3/8/4K3/4P3/8/8/8/8 w - - 0 1")).outcome());
+        assertEquals(Outcome.LOSS, tablebases.probe(Board.fromFen("4k3/8/4K3/4P3/8/8/8/8 b - - 0 1")).outcome());
+        // Colours swapped: black pawn, white defending king
+        assertEquals(Outcome.WIN, tablebases.probe(Board.fromFen("8/8/8/8/4p3/4k3/8/4K3 b - - 0 1")).outcome());
+        // Already checkmated
+        TablebaseResult mated = tablebases.probe(Board.fromFen("k7/2K5/8/8/8/8/8/R7 b - - 0 1"));
+        assertEquals(new TablebaseResult(Outcome.LOSS, 0), mated);
+        // Positions outside the tables
+        assertNull(tablebases.probe(new Board()));
+        assertNull(tablebases.probe(Board.fromFen("4k3/8/8/8/8/8/8/R3K3 w Q - 0 1"))); // castling rights
+        assertNull(tablebases.probe(Board.fromFen("3rk3/8/8/8/8/8/8/Q3K3 w - - 0 1"))); // KQKR was not generated
+        assertEquals(TablebaseResult.DRAW, tablebases.probe(Board.fromFen("4k3/8/8/8/8/8/8/1B2K3 w - - 0 1")));
+        assertEquals(TablebaseResult.DRAW, tablebases.probe(Board.fromFen("4k3/8/8/8/8/8/8/4K3 w - - 0 1")));
+    }
+
+    @Test
+    void testConsistentWithChildren() {
+        for (String name : List.of("KRK", "KPK")) {
+            Material material = tablebases.get(name).getMaterial();
+            int[] squares = new int[material.pieces()];
+            int checked = 0;
+            for (int index = 0; index < material.size(); index += 97) {
+                boolean whiteToMove = material.decode(index, squares);
+                if (!isLegal(material, squares, whiteToMove)) {
+                    continue;
+                }
+                Board board = Board.fromFen(toFen(material, squares, whiteToMove));
+                assertEquals(fromChildren(board), tablebases.probe(board), () -> toFen(material, squares, whiteToMove));
+                checked++;
+            }
+            assertTrue(checked > 100, name);
+        }
+    }
+
+    private static boolean isLegal(Material material, int[] squares, boolean whiteToMove) {
+        for (int i = 0; i < squares.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (squares[i] == squares[j]) {
+                    return false;
+                }
+            }
+            if (material.type(i) == PieceType.PAWN
+                    && (squares[i] < 8 || squares[i] >= 56)) {
+                return false;
+            }
+        }
+        Board board = Board.fromFen(toFen(material, squares, whiteToMove));
+        return !board.isSquareAttacked(board.getKingIndex(!whiteToMove), whiteToMove);
+    }
+
+    @Test
+    void testBestMoveConvertsTheWin() {
+        Board board = Board.fromFen("4k3/8/4K3/4P3/8/8/8/8 w - - 0 1");
+        TablebaseResult result = tablebases.probe(board);
+        Move best = tablebases.bestMove(board);
+        assertNotNull(best);
+        UndoInfo undo = new UndoInfo();
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(board, true, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (best.matches(moves.get(i))) {
+                board.makeMove(moves.get(i), undo);
+            }
+        }
+        assertEquals(new TablebaseResult(Outcome.LOSS, result.pliesToMate() - 1), tablebases.probe(board));
+    }
+
+    @Test
+    void testSearchUsesTheTables() {
+        Board board = Board.fromFen("8/8/8/3k4/8/8/8/R3K3 w - - 0 1");
+        TablebaseResult result = tablebases.probe(board);
+        assertEquals(Outcome.WIN, result.outcome());
+        SearchEngine engine = new SearchEngine();
+        engine.setTablebases(tablebases);
+        assertNotNull(engine.findBestMove(board, SearchLimits.depth(2)));
+        assertEquals(SearchEngine.MATE - result.pliesToMate(), engine.getLastInfo().score());
+    }
+
+    @Test
+    void testGameIsAdjudicated() {
+        ChessGame game = new ChessGame();
+        game.importFen("4k3/8/4K3/4P3/8/8/8/8 w - - 0 1");
+        assertEquals(GameResult.IN_PROGRESS, game.getGameResult());
+        assertFalse(game.isAdjudicated());
+
+        game.setTablebases(tablebases);
+        assertEquals(GameResult.WHITE_WINS, game.getGameResult());
+        assertTrue(game.isAdjudicated());
+        assertTrue(game.getGameStatus().contains("tablebase"));
+
+        game.importFen("7k/8/8/8/8/8/7P/7K w - - 0 1");
+        assertEquals(GameResult.DRAW, game.getGameResult());
+        game.setTablebases(null); // the result of the position is recomputed
+        assertEquals(GameResult.IN_PROGRESS, game.getGameResult());
+        assertFalse(game.isAdjudicated());
+        game.setTablebases(tablebases);
+
+        // Checkmate is still reported as such
+        game.importFen("k7/2K5/8/8/8/8/8/R7 b - - 0 1");
+        assertEquals(GameResult.WHITE_WINS, game.getGameResult());
+        assertFalse(game.isAdjudicated());
+    }
+
+    @Test
+    void testOpenValidatesFiles() throws IOException {
+        Tablebases reopened = Tablebases.open(dir);
+        assertEquals(5, reopened.size());
+        Tablebase krk = reopened.get("KRK");
+        Tablebase generatedKrk = tablebases.get("KRK");
+        for (int index = 0; index < krk.getMaterial().size(); index += 31) {
+            assertEquals(generatedKrk.code(index), krk.code(index));
+        }
+        Board board = Board.fromFen("8/8/8/3k4/8/8/8/R3K3 w - - 0 1");
+        assertNotNull(reopened.probe(board));
+        reopened.close();
+        reopened.close(); // no effect
+        assertThrows(IllegalStateException.class, () -> krk.code(0));
+        assertNull(reopened.probe(board)); // closed tables are treated as missing
+        assertNotNull(tablebases.probe(board));
+
+        Path truncated = Files.createTempDirectory(dir, "bad").resolve("KQK.patb");
+        byte[] bytes = Files.readAllBytes(dir.resolve("KQK.patb"));
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 10));
+        assertThrows(IOException.class, () -> Tablebase.open(truncated));
+        assertThrows(IOException.class, () -> Tablebase.open(dir.resolve("missing.patb")));
+    }
+}
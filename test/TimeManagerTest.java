@@ -0,0 +1,78 @@
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.engine.Move;
+import pt.isec.pa.chess.model.engine.SearchEngine;
+import pt.isec.pa.chess.model.engine.SearchLimits;
+import pt.isec.pa.chess.model.engine.TimeManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeManagerTest {
+    // Allowed lateness over the hard deadline (stop latency plus scheduling noise on a busy machine)
+    private static final long TOLERANCE_MILLIS = 15;
+
+    @Test
+    void testFixedMoveTimeLeavesOverhead() {
+        TimeManager tm = TimeManager.start(SearchLimits.time(1000));
+        assertEquals(1000 - TimeManager.MOVE_OVERHEAD_MILLIS, tm.getHardMillis());
+        assertTrue(tm.getSoftMillis() < tm.getHardMillis());
+    }
+
+    @Test
+    void testClockBudgetsStayWithinRemainingTime() {
+        long[][] clocks = {{60_000, 0}, {60_000, 2_000}, {1_000, 0}, {100, 2_000}, {25, 0}};
+        for (long[] clock : clocks) {
+            TimeManager tm = TimeManager.start(SearchLimits.clock(clock[0], clock[1]));
+            assertTrue(tm.getSoftMillis() >= 1);
+            assertTrue(tm.getSoftMillis() <= tm.getHardMillis());
+            assertTrue(tm.getHardMillis() <= Math.max(1, clock[0] - TimeManager.MOVE_OVERHEAD_MILLIS),
+                    "hard " + tm.getHardMillis() + " for clock " + clock[0]);
+        }
+        // More time on the clock or a larger increment never means a smaller budget
+        assertTrue(TimeManager.start(SearchLimits.clock(60_000, 2_000)).getSoftMillis()
+                > TimeManager.start(SearchLimits.clock(60_000, 0)).getSoftMillis());
+    }
+
+    @Test
+    void testUnlimitedSearchHasNoDeadline() {
+        TimeManager tm = TimeManager.start(SearchLimits.infinite());
+        assertFalse(tm.isLimited());
+        assertFalse(tm.isHardExpired(System.nanoTime() + 1_000_000_000_000L));
+    }
+
+    @Test
+    void testSearchStopsAtHardDeadline() {
+        ChessGame game = new ChessGame();
+        game.startGame("White", "Black");
+        SearchEngine engine = new SearchEngine();
+
+        for (long millis : new long[]{50, 200}) {
+            long start = System.nanoTime();
+            Move best = engine.findBestMove(game, SearchLimits.time(millis));
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            assertNotNull(best);
+            assertTrue(elapsed <= millis + TOLERANCE_MILLIS, "took " + elapsed + " ms for " + millis + " ms");
+        }
+    }
+
+    @Test
+    void testStopFromAnotherThread() throws InterruptedException {
+        ChessGame game = new ChessGame();
+        game.startGame("White", "Black");
+        SearchEngine engine = new SearchEngine();
+        Move[] result = new Move[1];
+
+        Thread search = new Thread(() -> result[0] = engine.findBestMove(game, SearchLimits.infinite()));
+        search.setDaemon(true);
+        search.start();
+        Thread.sleep(100);
+        long stopAt = System.nanoTime();
+        engine.stop();
+        search.join(1000);
+
+        assertFalse(search.isAlive());
+        assertTrue((System.nanoTime() - stopAt) / 1_000_000 <= TOLERANCE_MILLIS);
+        assertNotNull(result[0]);
+        assertTrue(engine.getLastInfo().depth() >= 1);
+    }
+}
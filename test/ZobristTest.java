@@ -0,0 +1,114 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Square;
+import pt.isec.pa.chess.model.data.memento.ChessGameCaretaker;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZobristTest {
+    ChessGame game;
+
+    @BeforeEach
+    void setUp() {
+        Board.setHashDebug(true); // every move recomputes the key from scratch
+        game = new ChessGame();
+        game.startGame("White", "Black");
+    }
+
+    @AfterEach
+    void tearDown() {
+        Board.setHashDebug(false);
+    }
+
+    private long key() {
+        return game.getBoard().getZobristKey();
+    }
+
+    @Test
+    void testTranspositionsHaveSameKey() {
+        assertTrue(game.move(Square.of(6, 7), Square.of(5, 5))); // Ng1-f3
+        assertTrue(game.move(Square.of(6, 0), Square.of(5, 2))); // Ng8-f6
+        assertTrue(game.move(Square.of(1, 7), Square.of(2, 5))); // Nb1-c3
+        long viaKingside = key();
+
+        ChessGame other = new ChessGame();
+        assertTrue(other.move(Square.of(1, 7), Square.of(2, 5))); // Nb1-c3
+        assertTrue(other.move(Square.of(6, 0), Square.of(5, 2))); // Ng8-f6
+        assertTrue(other.move(Square.of(6, 7), Square.of(5, 5))); // Ng1-f3
+        assertEquals(viaKingside, other.getBoard().getZobristKey());
+    }
+
+    @Test
+    void testSideToMoveChangesKey() {
+        long start = key();
+        assertTrue(game.move(Square.of(6, 7), Square.of(5, 5))); // Ng1-f3
+        assertTrue(game.move(Square.of(6, 0), Square.of(5, 2))); // Ng8-f6
+        assertTrue(game.move(Square.of(5, 5), Square.of(6, 7))); // Nf3-g1
+        assertTrue(game.move(Square.of(5, 2), Square.of(6, 0))); // Nf6-g8
+        assertEquals(start, key());
+
+        game.importGame("BLACK" + game.exportGame().substring("WHITE".length()));
+        assertNotEquals(start, key());
+    }
+
+    @Test
+    void testLostCastlingRightChangesKey() {
+        assertTrue(game.move(Square.of(7, 6), Square.of(7, 4))); // h2-h4
+        assertTrue(game.move(Square.of(7, 1), Square.of(7, 3))); // h7-h5
+        long withRights = key();
+        assertTrue(game.move(Square.of(7, 7), Square.of(7, 6))); // Rh1-h2
+        assertTrue(game.move(Square.of(6, 0), Square.of(5, 2))); // Ng8-f6
+        assertTrue(game.move(Square.of(7, 6), Square.of(7, 7))); // Rh2-h1
+        assertTrue(game.move(Square.of(5, 2), Square.of(6, 0))); // Nf6-g8
+        assertNotEquals(withRights, key()); // same pieces, but White can no longer castle kingside
+
+        long incremental = key();
+        game.importGame(game.exportGame());
+        assertEquals(incremental, key());
+    }
+
+    @Test
+    void testEnPassantFileOnlyWhenCapturable() {
+        game.importGame("BLACK,Ke1*,ke8*,Pe5*,pd7,pa7");
+        long before = key();
+        assertTrue(game.move(Square.of(0, 1), Square.of(0, 3))); // a7-a5: no pawn can take en passant
+        long noEnPassant = key();
+        assertNotEquals(before, noEnPassant);
+
+        game.importGame("WHITE,Ke1*,ke8*,Pe5*,pd7,pa5*");
+        assertEquals(noEnPassant, key());
+
+        game.importGame("BLACK,Ke1*,ke8*,Pe5*,pd7,pa7");
+        assertEquals(before, key());
+        assertTrue(game.move(Square.of(3, 1), Square.of(3, 3))); // d7-d5: exd6 e.p. is possible
+        long withEnPassant = key();
+        game.importGame("WHITE,Ke1*,ke8*,Pe5*,pd5*,pa7");
+        assertNotEquals(withEnPassant, key());
+    }
+
+    @Test
+    void testKeyMatchesAfterCastlingEnPassantAndPromotion() {
+        game.importGame("WHITE,Ke1,Rh1,Pb7*,ke8*,pd4*,Pe2");
+        assertTrue(game.move(Square.of(4, 7), Square.of(6, 7))); // O-O
+        assertTrue(game.move(Square.of(4, 0), Square.of(3, 0))); // Ke8-d8
+        assertTrue(game.move(Square.of(4, 6), Square.of(4, 4))); // e2-e4
+        assertTrue(game.move(Square.of(3, 4), Square.of(4, 5))); // dxe3 e.p.
+        assertTrue(game.move(Square.of(1, 1), Square.of(1, 0))); // b8=Q
+        assertEquals(game.getBoard().computeZobristKey(), key());
+    }
+
+    @Test
+    void testKeySurvivesUndo() {
+        ChessGameCaretaker caretaker = new ChessGameCaretaker(game);
+        long start = key();
+        caretaker.save();
+        assertTrue(game.move(Square.of(4, 6), Square.of(4, 4))); // e2-e4
+        assertNotEquals(start, key());
+        caretaker.undo();
+        assertEquals(start, key());
+        assertEquals(game.getBoard().computeZobristKey(), key());
+    }
+}